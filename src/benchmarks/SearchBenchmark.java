@@ -0,0 +1,79 @@
+package benchmarks;
+
+import game.model.rules.Position;
+import game.model.search.ParallelSearch;
+import game.model.search.TranspositionTable;
+
+import java.util.Random;
+
+/**
+ * Allows to measure how the parallel search scales with the number of threads. The same positions
+ * (the starting position and positions obtained after random moves, always the same ones) are
+ * searched at a fixed depth with 1, 2, 4 ... threads and for each number of threads the time to
+ * reach the depth, the number of nodes per second, the speedup compared to one thread and the
+ * part of the cutoffs that happened at the first move (which shows how good the move ordering is)
+ * are printed. Each number of threads starts with an empty transposition table.
+ * Usage : java benchmarks.SearchBenchmark [maximal threads] [depth] [hash size in megabytes]
+ */
+public class SearchBenchmark {
+
+    /**
+     * The number of positions searched
+     */
+    private final static int POSITIONS = 6;
+    /**
+     * The seed of the random moves used to create the positions
+     */
+    private final static long SEED = 2020;
+
+    /**
+     * Allows to run the benchmark.
+     *
+     * @param args the maximal number of threads (default : number of processors), the depth
+     *             (default : 7) and the size of the table in megabytes (default : 64)
+     */
+    public static void main(String[] args) {
+        int maxThreads = (args.length > 0) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int depth = (args.length > 1) ? Integer.parseInt(args[1]) : 7;
+        int megabytes = (args.length > 2) ? Integer.parseInt(args[2]) : 64;
+        Position[] positions = createPositions();
+        System.out.println("threads  time-to-depth(ms)  nodes/s  speedup  first-move-cutoffs");
+        double reference = 0;
+        for (int threads = 1; threads <= maxThreads; threads = (threads * 2 <= maxThreads || threads == maxThreads) ? threads * 2 : maxThreads) {
+            ParallelSearch search = new ParallelSearch(threads, new TranspositionTable(megabytes));
+            long nodes = 0, cutoffs = 0, firstMoveCutoffs = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < positions.length; i++) {
+                search.run(positions[i], positions[i].getSideToMove(), depth, 0, 0);
+                nodes += search.getNodes();
+                cutoffs += search.getCutoffs();
+                firstMoveCutoffs += search.getFirstMoveCutoffs();
+            }
+            double millis = (System.nanoTime() - start) / 1e6;
+            search.close();
+            if (threads == 1) reference = millis;
+            System.out.printf("%7d  %17.0f  %7.0f  %7.2f  %17.1f%%%n", threads, millis, nodes * 1000 / millis,
+                    reference / millis, (cutoffs == 0) ? 0 : 100.0 * firstMoveCutoffs / cutoffs);
+        }
+    }
+
+    /**
+     * Allows to create the positions searched by playing random moves from the starting position.
+     *
+     * @return the positions
+     */
+    private static Position[] createPositions() {
+        Random random = new Random(SEED);
+        int[] moves = new int[Position.MAX_MOVES];
+        Position[] positions = new Position[POSITIONS];
+        Position position = Position.start();
+        for (int i = 0; i < POSITIONS; i++) {
+            positions[i] = position.copy();
+            for (int ply = 0; ply < 2; ply++) {
+                int count = position.generateMoves(position.getSideToMove(), moves);
+                if (count > 0) position.makeMove(moves[random.nextInt(count)]);
+            }
+        }
+        return positions;
+    }
+}
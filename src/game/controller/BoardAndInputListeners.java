@@ -54,7 +54,7 @@ public class BoardAndInputListeners {
                     boolean found = false;
                     int i = 0;
                     while (!found && i < graphicalInterface.getPlayer().getPawns().size()) {
-                        if (graphicalInterface.getPlayer().getPawns().get(i).getRectangle().contains(e.getX(), e.getY())) {
+                        if (graphicalInterface.getPlayer().getPawns().get(i).contains(e.getX(), e.getY())) {
                             graphicalInterface.getPawn().setText(graphicalInterface.getPlayer().getPawns().get(i).toString());
                             found = true;
                         }
@@ -66,7 +66,7 @@ public class BoardAndInputListeners {
                         while (!found && i < board.length) {
                             j = 0;
                             while (!found && j < board[i].length) {
-                                if (board[i][j].getRectangle().contains(e.getX(), e.getY())) {
+                                if (board[i][j].contains(e.getX(), e.getY())) {
                                     line.setText(Integer.toString(board[i][j].getLineIndex()));
                                     column.setText(Character.toString(InputUtilities.intToChar(board[i][j].getColumnIndex())));
                                     found = true;
@@ -93,7 +93,7 @@ public class BoardAndInputListeners {
         return e -> {
             graphicalInterface.getSelectedPawn();
             if (graphicalInterface.getCoordinates()[0] < Player.getPAWNS_NUMBER() && graphicalInterface.getCoordinates()[0] >= 0 || graphicalInterface.getCoordinates()[0] == -1) {
-                Pawn p = graphicalInterface.getPlayer().getPawn(graphicalInterface.getCoordinates()[0]);
+                Pawn p = graphicalInterface.getPlayerPawn(graphicalInterface.getCoordinates()[0]);
                 graphicalInterface.getCoordinates()[1] = p.getLineIndex();
                 graphicalInterface.getCoordinates()[2] = p.getColumnIndex();
                 switch (((JButton) e.getSource()).getName()) {
@@ -2,19 +2,22 @@ package game.controller;
 
 import game.model.*;
 import game.model.artificialPlayers.ArtificialPlayer;
+import game.model.rules.Move;
+import game.model.rules.Position;
 import game.view.Console;
 import game.view.GameMode;
 import game.view.Graphic;
+import game.view.Headless;
 import utilities.InputUtilities;
 import utilities.Language;
-import utilities.MatrixUtilities;
 import utilities.Sound;
 
 import javax.swing.*;
 import java.io.FileOutputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Java class that controls the games. Several parts can be made in the
@@ -23,6 +26,16 @@ import java.util.ArrayList;
  */
 public class Game implements Serializable {
 
+    /**
+     * The default minimal time between the beginning of the turn of an artificial player and its move (in milliseconds)
+     */
+    private final static long DEFAULT_DISPLAY_DELAY = 1000;
+    /**
+     * The number of times a position must be reached for a game without view to be a draw (the
+     * games displayed never end by repetition unless setRepetitions() is called)
+     */
+    private final static int HEADLESS_REPETITIONS = 3;
+
     /**
      * The view in which the game will be display
      */
@@ -49,18 +62,19 @@ public class Game implements Serializable {
      */
     private GameBoard gameBoard;
     /**
-     * The array containing the last positions of the Zen pawn for controlling its displacements
+     * The minimal time between the beginning of the turn of an artificial player and its move
+     * (in milliseconds), so that the users can follow the game
      */
-    private int[] zenMoves = {GameBoard.getDIMENSION() / 2, GameBoard.getDIMENSION() / 2, -1, -1};
+    private long displayDelay = DEFAULT_DISPLAY_DELAY;
     /**
-     * Indicates whether the Zen was moved or not at the last turn
+     * The number of times a position must be reached for the game to be a draw (0 if the game
+     * can't end by repetition)
      */
-    private boolean zenMoved = false;
+    private int repetitions;
     /**
-     * Allows to know who moved the Zen the last time
+     * The move that an artificial player is computing (null if no artificial player is playing)
      */
-    private Player lastPlayerZ = null;
-
+    transient private volatile CompletableFuture<Integer> thinking;
     /**
      * Constructor of the class that allows to initialize the game with
      * the two players, the mode and the level. Depending of the mode the
@@ -73,11 +87,39 @@ public class Game implements Serializable {
      * @param level        the level of the game
      */
     public Game(GameMode mode, Player firstPlayer, Player secondPlayer, Level level) {
+        this(mode, firstPlayer, secondPlayer, level, true);
+    }
+
+    /**
+     * Constructor of the class that allows to create a game between two artificial players that
+     * is not displayed, for tournaments for example. The players are kept as they are (the second
+     * player is not created again, so its settings are kept) and they play their moves at once.
+     * A position reached HEADLESS_REPETITIONS times is a draw, so that the game can't last forever.
+     *
+     * @param firstPlayer  the first player of the game
+     * @param secondPlayer the second player of the game
+     */
+    public Game(ArtificialPlayer firstPlayer, ArtificialPlayer secondPlayer) {
+        this(new Headless(), firstPlayer, secondPlayer, Level.HARD, false);
+        this.displayDelay = 0;
+        this.repetitions = HEADLESS_REPETITIONS;
+    }
+
+    /**
+     * Allows to initialize the game with the two players, the mode and the level.
+     *
+     * @param mode         the view mode used
+     * @param firstPlayer  the first player of the game
+     * @param secondPlayer the second player of the game
+     * @param level        the level of the game
+     * @param createSecond true if an artificial second player must be created again by its createPlayer() method
+     */
+    private Game(GameMode mode, Player firstPlayer, Player secondPlayer, Level level, boolean createSecond) {
         if (firstPlayer != null && secondPlayer != null && mode != null && level != null) {
             this.level = level;
             this.mode = mode;
             this.firstPlayer = firstPlayer;
-            if (secondPlayer instanceof ArtificialPlayer) {
+            if (createSecond && secondPlayer instanceof ArtificialPlayer) {
                 this.secondPlayer = ((ArtificialPlayer) secondPlayer).createPlayer(firstPlayer.getColor());
             } else {
                 this.secondPlayer = secondPlayer;
@@ -129,6 +171,7 @@ public class Game implements Serializable {
      * Allows to go from graphic mode to console mode
      */
     public void goToConsole() {
+        this.stopThinking();
         this.mode = new Console(this.level);
         this.mode.restartGame(this, this.gameBoard.getBoard());
     }
@@ -137,6 +180,7 @@ public class Game implements Serializable {
      * Allows to go from console mode to graphic mode
      */
     public void goToGraphic() {
+        this.stopThinking();
         this.mode = new Graphic(this.level);
         this.mode.restartGame(this, this.gameBoard.getBoard());
     }
@@ -145,18 +189,20 @@ public class Game implements Serializable {
      * Allows the user to save its game before quitting the application if it is not already done.
      */
     public void quit() {
+        this.stopThinking();
         if (!this.saved) this.mode.quit();
         System.exit(0);
     }
 
     /**
      * Allows to end a part. Sends a message to the view mode with the winner, the looser
-     * and a boolean that indicates whether there is an equality or not.
+     * and a boolean that indicates whether there is an equality or not. A part that ends
+     * by repetition is an equality.
      */
     private void endGame() {
-        boolean firstWin = MatrixUtilities.pointsConnected(this.gameBoard.getBoard(), this.firstPlayer.getPawns());
-        boolean secondWin = MatrixUtilities.pointsConnected(this.gameBoard.getBoard(), this.secondPlayer.getPawns());
-        if (firstWin && secondWin) {
+        boolean firstWin = this.gameBoard.isConnected(this.firstPlayer);
+        boolean secondWin = this.gameBoard.isConnected(this.secondPlayer);
+        if (firstWin == secondWin) {
             this.firstPlayer.addPoint();
             this.secondPlayer.addPoint();
             this.mode.endGame(this.firstPlayer, this.secondPlayer, true);
@@ -174,6 +220,7 @@ public class Game implements Serializable {
      * it only resets de pawns of both players and create a new GameBoard object.
      */
     public void replay() {
+        this.stopThinking();
         this.firstPlayer.resetPawns();
         this.secondPlayer.resetPawns();
         this.gameBoard = new GameBoard(this.firstPlayer.getPawns(), this.secondPlayer.getPawns());
@@ -189,13 +236,16 @@ public class Game implements Serializable {
      * Game loop that asks turn by turn players to play depending on the view mode chosen and
      * on whether the second player is an artificial player or not. The loop is over when one
      * of the players wins. Every displacement proposed is checked and while the displacement is
-     * not correct, this method ask one more time the player to play.
+     * not correct, this method ask one more time the player to play. The moves of the artificial
+     * players are computed on their shared threads, the loop stops if the move is cancelled. While a
+     * human player is thinking, an artificial adverse prepares its next move. The loop is also over
+     * when the same position is reached too many times (see setRepetitions()).
      */
     public void play() {
-        while (!MatrixUtilities.pointsConnected(this.gameBoard.getBoard(), this.firstPlayer.getPawns())
-                && !MatrixUtilities.pointsConnected(this.gameBoard.getBoard(), this.secondPlayer.getPawns())) {
+        while (!this.gameBoard.isConnected(this.firstPlayer) && !this.gameBoard.isConnected(this.secondPlayer)
+                && !this.isDrawByRepetition()) {
 
-            int[] move;
+            int move;
             Player player, adverse;
             if (this.firstPlayer.isPlaying()) {
                 player = this.firstPlayer;
@@ -204,23 +254,29 @@ public class Game implements Serializable {
                 adverse = this.firstPlayer;
                 player = this.secondPlayer;
             }
+            boolean pondering = !player.isArtificialPlayer() && adverse.isArtificialPlayer();
+            if (pondering) ((ArtificialPlayer) adverse).startPondering(this);
             do {
-                if (player.isArtificialPlayer())
-                    move = ((ArtificialPlayer) player).play(this.gameBoard.getBoard(), adverse, this);
-                else move = this.mode.play(player, this.gameBoard.getBoard());
+                if (player.isArtificialPlayer()) {
+                    long start = System.nanoTime();
+                    CompletableFuture<Integer> thinking = ((ArtificialPlayer) player).playAsync(this.gameBoard.getBoard(), adverse, this);
+                    this.thinking = thinking;
+                    try {
+                        move = thinking.join();
+                    } catch (CancellationException e) {
+                        return;
+                    } finally {
+                        this.thinking = null;
+                    }
+                    this.waitDisplayDelay(start);
+                } else move = this.gameBoard.toMove(player, this.mode.play(player, this.gameBoard.getBoard()));
             } while (!checkMove(player, move, adverse));
+            if (pondering) ((ArtificialPlayer) adverse).stopPondering();
 
-            Pawn pawn = player.getPawn(move[0]);
-            this.eatAdversePawn(move[1], move[2], adverse, player);
-            if (pawn.getNUMBER() == -1) {
-                this.zenMoved = true;
-                this.zenMoves = new int[]{move[1], move[2], this.zenMoves[0], this.zenMoves[1]};
-                this.lastPlayerZ = player;
-            } else {
-                this.zenMoved = false;
-            }
-            this.gameBoard.movePawn(pawn.getLineIndex(), pawn.getColumnIndex(), move[1], move[2]);
-            this.mode.movePawn(player, move, this.gameBoard.getBoard());
+            int[] coordinates = this.gameBoard.getCoordinates(move);
+            if (this.gameBoard.getPosition().isOccupied(Move.to(move))) Sound.play(Sound.Sounds.EAT);
+            this.gameBoard.makeMove(move);
+            this.mode.movePawn(player, coordinates, this.gameBoard.getBoard());
             if (Sound.isOn()) Sound.play(Sound.Sounds.MOVE);
 
             this.firstPlayer.setPlaying(!this.firstPlayer.isPlaying());
@@ -231,29 +287,90 @@ public class Game implements Serializable {
     }
 
     /**
-     * Allows to eat a pawn of the adverse if the player puts its pawn on one of
-     * the adverse's pawn. The eaten pawn is removed from the list of pawns of the adverse.
+     * Allows to cancel the move that an artificial player is computing and to stop the artificial
+     * players that compute during the turn of their adverse. The loop of the game that was waiting
+     * for the move stops, so that another loop can be started (in another view for example).
+     */
+    private void stopThinking() {
+        CompletableFuture<Integer> thinking = this.thinking;
+        if (thinking != null) thinking.cancel(true);
+        if (this.firstPlayer.isArtificialPlayer()) ((ArtificialPlayer) this.firstPlayer).stopPondering();
+        if (this.secondPlayer.isArtificialPlayer()) ((ArtificialPlayer) this.secondPlayer).stopPondering();
+    }
+
+    /**
+     * Allows to wait until the display delay is over. The time spent by the artificial player to
+     * compute its move is part of the delay, so a player that thinks longer than the delay plays
+     * at once.
      *
-     * @param line    the line where the player is putting its pawn.
-     * @param column  the columns where the player is putting its pawn.
-     * @param adverse the adverse of the player.
-     * @param player  the player playing.
-     */
-    private void eatAdversePawn(int line, int column, Player adverse, Player player) {
-        if (this.gameBoard.getBoard()[line][column] instanceof Pawn) {
-            Sound.play(Sound.Sounds.EAT);
-            adverse.getPawns().remove(this.gameBoard.getBoard()[line][column]);
-            if (((Pawn) this.gameBoard.getBoard()[line][column]).getNUMBER() == -1) {
-                player.getPawns().remove(this.gameBoard.getBoard()[line][column]);
+     * @param start the value of System.nanoTime() at the beginning of the turn
+     */
+    private void waitDisplayDelay(long start) {
+        long remaining = this.displayDelay - (System.nanoTime() - start) / 1000000;
+        if (remaining > 0) {
+            try {
+                Thread.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
         }
     }
 
+    /**
+     * Allows to set the minimal time between the beginning of the turn of an artificial player
+     * and its move. It should be 0 when nobody watches the game.
+     *
+     * @param displayDelay the delay in milliseconds (0 to play the moves at once)
+     */
+    public void setDisplayDelay(long displayDelay) {
+        if (displayDelay >= 0) this.displayDelay = displayDelay;
+        else throw new IllegalArgumentException("Display delay error");
+    }
+
+    /**
+     * @return the minimal time between the beginning of the turn of an artificial player and its move (in milliseconds)
+     */
+    public long getDisplayDelay() {
+        return this.displayDelay;
+    }
+
+    /**
+     * Allows to set the rule of the draw by repetition : the game is a draw when the same position
+     * (the same pawns on the same squares, the same player to play and the same square where the
+     * Zen can't go back) is reached a number of times since the last pawn eaten. The positions are
+     * compared with the keys kept by the Position of the game board for each move. The rule is
+     * only used by default in the games without view, since the views don't tell the players why
+     * the game ends.
+     *
+     * @param repetitions the number of times (at least 2, or 0 so that the game never ends by repetition)
+     */
+    public void setRepetitions(int repetitions) {
+        if (repetitions == 0 || repetitions >= 2) this.repetitions = repetitions;
+        else throw new IllegalArgumentException("Repetitions number error");
+    }
+
+    /**
+     * @return the number of times a position must be reached for the game to be a draw (0 if there's no such rule)
+     */
+    public int getRepetitions() {
+        return this.repetitions;
+    }
+
+    /**
+     * Allows to know whether the game is a draw because the current position was reached too many times.
+     *
+     * @return true if the game is a draw by repetition
+     */
+    public boolean isDrawByRepetition() {
+        return this.repetitions > 0 && this.gameBoard.getPosition().getRepetitions() + 1 >= this.repetitions;
+    }
+
     /**
      * Allows to check whether the displacement is correct or not. To be correct, the pawn must move as
      * many squares as there are pawns on the chosen line, it must not eat one of its own pawns, it must
-     * not pass over one of the opponent's pawns. In the case of Zen, he may not return to the square on
-     * which he was just before if he has just been moved.
+     * not pass over one of the opponent's pawns. In the case of Zen, it must be in contact with another pawn
+     * and he may not return to the square on which he was just before if he has just been moved. The rules
+     * are checked by the Position of the game board.
      *
      * @param player  the player paying
      * @param move    the move he decides to do according to format [pawn, line, column]
@@ -261,34 +378,27 @@ public class Game implements Serializable {
      * @return true if the move is correct, false otherwise
      */
     public boolean checkMove(Player player, int[] move, Player adverse) {
-        boolean okay;
-        Pawn pawn = player.getPawn(move[0]);
-        if (MatrixUtilities.isOutOfMatrix(this.gameBoard.getBoard(), move[1], move[2]) || (this.gameBoard.getBoard()[move[1]][move[2]]
-                instanceof Pawn && player.getPawns().contains(this.gameBoard.getBoard()[move[1]][move[2]])
-                && ((Pawn) this.gameBoard.getBoard()[move[1]][move[2]]).getNUMBER() != -1)) {
-            okay = false;
-        } else {
-            int line = pawn.getLineIndex() - move[1];
-            int column = pawn.getColumnIndex() - move[2];
-            boolean notEquals = Math.abs(line) != Math.abs(column);
-
-            if ((line > 0 && column > 0) || (line < 0 && column < 0)) {
-                okay = !notEquals && (Math.abs(column) == MatrixUtilities.countObjectDiagDesc(this.gameBoard.getBoard(), pawn.getLineIndex(), pawn.getColumnIndex()));
-            } else if (line != 0 && column != 0) {
-                okay = !notEquals && (Math.abs(column) == MatrixUtilities.countObjectDiagAsc(this.gameBoard.getBoard(), pawn.getLineIndex(), pawn.getColumnIndex()));
-            } else if (column != 0) {
-                okay = (Math.abs(column) == MatrixUtilities.countObjectLine(this.gameBoard.getBoard(), move[1]));
-            } else {
-                okay = (Math.abs(line) == MatrixUtilities.countObjectColumn(this.gameBoard.getBoard(), move[2]));
-            }
-            okay = (okay && !MatrixUtilities.meetAdverse(this.gameBoard.getBoard(), adverse.getPawns(), pawn.getLineIndex(), pawn.getColumnIndex(), move[1], move[2]));
-        }
-        if (okay && pawn.getNUMBER() == -1) {
-            ArrayList<Pawn> allPawns = new ArrayList<>(player.getPawns());
-            allPawns.addAll(adverse.getPawns());
-            okay = !MatrixUtilities.getNeighbours(this.gameBoard.getBoard(), pawn.getColumnIndex(), pawn.getLineIndex(), allPawns).isEmpty();
-            if (this.zenMoved && move[2] == this.zenMoves[3] && move[1] == this.zenMoves[2] && this.lastPlayerZ != null && this.lastPlayerZ != player) {
-                okay = false;
+        return this.checkMove(player, this.gameBoard.toMove(player, move), adverse);
+    }
+
+    /**
+     * Allows to check whether a move written as in the Move class is correct or not, the rules
+     * are the same as for the moves written according to the format [pawn, line, column] and
+     * the flags of the move are not used.
+     *
+     * @param player  the player paying
+     * @param move    the move he decides to do (or Move.NONE)
+     * @param adverse the adverse of the player
+     * @return true if the move is correct, false otherwise
+     */
+    public boolean checkMove(Player player, int move, Player adverse) {
+        boolean okay = false;
+        if (move != Move.NONE) {
+            Position position = this.gameBoard.getPosition();
+            int from = Move.from(move);
+            int to = Move.to(move);
+            okay = position.isLegal(this.getSide(player), from, to);
+            if (!okay && from == position.getZenSquare() && to == position.getForbiddenZen()) {
                 this.mode.zenAlreadyPlaced();
             }
         }
@@ -299,6 +409,16 @@ public class Game implements Serializable {
         return okay;
     }
 
+    /**
+     * Allows to know which side of the position a player is playing.
+     *
+     * @param player one of the players of the game
+     * @return Position.FIRST for the first player and Position.SECOND for the second one
+     */
+    private int getSide(Player player) {
+        return player == this.firstPlayer ? Position.FIRST : Position.SECOND;
+    }
+
     /**
      * Allows to save the game in the same file that is identified by the path.
      * If the path is null, the method saveAs() is called.
@@ -0,0 +1,134 @@
+package game.controller;
+
+/**
+ * Java class that allows to decide as soon as possible whether a player is stronger than another
+ * one with a sequential probability ratio test. Two hypotheses are compared : the Elo difference
+ * between the players is elo0 (H0) or elo1 (H1). After each game, the log-likelihood ratio of
+ * the results is computed and the match stops when it goes out of its bounds : H1 is accepted
+ * when it is above the upper bound and H0 when it is below the lower bound. alpha is the
+ * probability to accept H1 when H0 is true and beta the probability to accept H0 when H1 is true.
+ * The ratio uses the normal approximation of the score of a game (win, draw or loss), so the
+ * draws are counted without any model of their probability.
+ */
+public class Sprt {
+
+    /**
+     * The result of the test when H0 is accepted
+     */
+    public final static int H0 = -1;
+    /**
+     * The result of the test when more games are needed
+     */
+    public final static int CONTINUE = 0;
+    /**
+     * The result of the test when H1 is accepted
+     */
+    public final static int H1 = 1;
+
+    /**
+     * The expected score of a game under H0 and under H1
+     */
+    private final double score0, score1;
+    /**
+     * The bounds of the log-likelihood ratio
+     */
+    private final double lowerBound, upperBound;
+    /**
+     * The Elo differences of the hypotheses
+     */
+    private final double elo0, elo1;
+
+    /**
+     * Allows to create a test.
+     *
+     * @param elo0  the Elo difference of H0
+     * @param elo1  the Elo difference of H1 (greater than elo0)
+     * @param alpha the probability to accept H1 when H0 is true (between 0 and 1)
+     * @param beta  the probability to accept H0 when H1 is true (between 0 and 1)
+     */
+    public Sprt(double elo0, double elo1, double alpha, double beta) {
+        if (elo0 < elo1 && alpha > 0 && alpha < 1 && beta > 0 && beta < 1 && alpha + beta < 1) {
+            this.elo0 = elo0;
+            this.elo1 = elo1;
+            this.score0 = score(elo0);
+            this.score1 = score(elo1);
+            this.lowerBound = Math.log(beta / (1 - alpha));
+            this.upperBound = Math.log((1 - beta) / alpha);
+        } else {
+            throw new IllegalArgumentException("SPRT parameters error");
+        }
+    }
+
+    /**
+     * @param elo an Elo difference
+     * @return the expected score of a game for this difference
+     */
+    private static double score(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    /**
+     * Allows to compute the log-likelihood ratio of results. If all the games have the same
+     * result, their variance is 0 and half a game of each result is added to compute it.
+     *
+     * @param wins   the number of games won
+     * @param draws  the number of draws
+     * @param losses the number of games lost
+     * @return the log-likelihood ratio (0 if there's no game)
+     */
+    public double llr(int wins, int draws, int losses) {
+        int games = wins + draws + losses;
+        if (games == 0) return 0;
+        double w = wins, d = draws, l = losses;
+        if (wins == games || draws == games || losses == games) {
+            w += 0.5;
+            d += 0.5;
+            l += 0.5;
+        }
+        double total = w + d + l;
+        double score = (w + 0.5 * d) / total;
+        double variance = (w * Math.pow(1 - score, 2) + d * Math.pow(0.5 - score, 2) + l * Math.pow(score, 2)) / total;
+        return games * (this.score1 - this.score0) * (2 * score - this.score0 - this.score1) / (2 * variance);
+    }
+
+    /**
+     * Allows to know whether the match can stop.
+     *
+     * @param match the results of the match, from the point of view of the player tested
+     * @return H0, H1 or CONTINUE
+     */
+    public int status(Tournament.Match match) {
+        double llr = this.llr(match.getWins(), match.getDraws(), match.getLosses());
+        if (llr >= this.upperBound) return H1;
+        else if (llr <= this.lowerBound) return H0;
+        else return CONTINUE;
+    }
+
+    /**
+     * @return the bound under which H0 is accepted
+     */
+    public double getLowerBound() {
+        return this.lowerBound;
+    }
+
+    /**
+     * @return the bound above which H1 is accepted
+     */
+    public double getUpperBound() {
+        return this.upperBound;
+    }
+
+    /**
+     * @return the Elo difference of H0
+     */
+    public double getElo0() {
+        return this.elo0;
+    }
+
+    /**
+     * @return the Elo difference of H1
+     */
+    public double getElo1() {
+        return this.elo1;
+    }
+}
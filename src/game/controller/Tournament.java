@@ -0,0 +1,437 @@
+package game.controller;
+
+import game.model.GameBoard;
+import game.model.Player;
+import game.model.artificialPlayers.ArtificialPlayer;
+import game.model.rules.Move;
+import game.model.rules.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Java class that allows to play games between artificial players without any view, to compare
+ * them. Each player plays the same number of games against each other player, half of them as
+ * the first player. The games are played at the same time by several threads and each game
+ * uses new players, created by the factories of the players, so the players of a game don't
+ * share anything with the other games. A game that lasts too long or that reaches the same
+ * position too many times (see Game.setRepetitions()) is a draw.
+ * So that the games are not all the same, the first moves of each game are random moves played
+ * from the starting position. They are chosen with random numbers given by a seed, so the same
+ * openings are played again with the same seed, and each opening is played twice with the
+ * players swapped so that no player is favoured by a good opening. Two players can also play a
+ * match that stops as soon as a sequential probability ratio test (see Sprt) gives its result.
+ */
+public class Tournament {
+
+    /**
+     * The default maximal number of moves of a game, after which the game is a draw
+     */
+    private final static int DEFAULT_MAX_PLIES = 300;
+    /**
+     * The default number of random moves played at the beginning of each game
+     */
+    private final static int DEFAULT_OPENING_PLIES = 4;
+
+    /**
+     * The names of the players
+     */
+    private final List<String> names = new ArrayList<>();
+    /**
+     * The factories that create the players
+     */
+    private final List<Supplier<? extends ArtificialPlayer>> factories = new ArrayList<>();
+    /**
+     * The number of threads that play the games
+     */
+    private final int threads;
+    /**
+     * The maximal number of moves of a game, after which the game is a draw
+     */
+    private int maxPlies = DEFAULT_MAX_PLIES;
+    /**
+     * The number of random moves played at the beginning of each game
+     */
+    private int openingPlies = DEFAULT_OPENING_PLIES;
+    /**
+     * The seed of the random numbers used to choose the openings
+     */
+    private long seed;
+    /**
+     * The number of games played per second during the last tournament
+     */
+    private double gamesPerSecond;
+
+    /**
+     * Allows to create a tournament without any player.
+     *
+     * @param threads the number of threads that play the games (at least 1)
+     */
+    public Tournament(int threads) {
+        if (threads >= 1) this.threads = threads;
+        else throw new IllegalArgumentException("Tournament threads number error");
+    }
+
+    /**
+     * Allows to add a player to the tournament. The factory is called for each game, from the
+     * threads of the tournament, and must create a new player each time.
+     *
+     * @param name    the name of the player in the results
+     * @param factory the factory that creates the player
+     */
+    public void addPlayer(String name, Supplier<? extends ArtificialPlayer> factory) {
+        if (name != null && factory != null) {
+            this.names.add(name);
+            this.factories.add(factory);
+        } else throw new IllegalArgumentException("Tournament player error");
+    }
+
+    /**
+     * Allows to set the maximal number of moves of a game, after which the game is a draw.
+     *
+     * @param maxPlies the maximal number of moves (at least 1)
+     */
+    public void setMaxPlies(int maxPlies) {
+        if (maxPlies >= 1) this.maxPlies = maxPlies;
+        else throw new IllegalArgumentException("Maximal number of moves error");
+    }
+
+    /**
+     * Allows to set how the openings of the games are chosen.
+     *
+     * @param plies the number of random moves played at the beginning of each game (0 to play from the starting position)
+     * @param seed  the seed of the random numbers used to choose the moves
+     */
+    public void setOpenings(int plies, long seed) {
+        if (plies >= 0 && plies < this.maxPlies) {
+            this.openingPlies = plies;
+            this.seed = seed;
+        } else throw new IllegalArgumentException("Opening plies error");
+    }
+
+    /**
+     * Allows to play the tournament : each player plays a number of games against each other
+     * player, alternating the first player. The games k and k + 1 of each pair of players (k even)
+     * begin with the same opening.
+     *
+     * @param games the number of games of each pair of players (at least 1)
+     * @return the results of each pair of players
+     */
+    public List<Match> run(int games) {
+        if (games < 1 || this.names.size() < 2) throw new IllegalArgumentException("Tournament games error");
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < this.names.size(); i++) {
+            for (int j = i + 1; j < this.names.size(); j++) matches.add(new Match(this.names.get(i), this.names.get(j)));
+        }
+        ExecutorService executor = this.createExecutor();
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            int index = 0;
+            for (int i = 0; i < this.names.size(); i++) {
+                for (int j = i + 1; j < this.names.size(); j++) {
+                    Match match = matches.get(index++);
+                    Supplier<? extends ArtificialPlayer> first = this.factories.get(i);
+                    Supplier<? extends ArtificialPlayer> second = this.factories.get(j);
+                    for (int game = 0; game < games; game++) {
+                        boolean swapped = game % 2 == 1;
+                        int opening = game / 2;
+                        futures.add(executor.submit(() -> match.add(swapped, this.play(swapped ? second : first, swapped ? first : second, opening))));
+                    }
+                }
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Tournament game error", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        int played = 0;
+        for (Match match : matches) played += match.getGames();
+        this.gamesPerSecond = played * 1e9 / Math.max(1, System.nanoTime() - start);
+        return matches;
+    }
+
+    /**
+     * Allows to play a match between the two players of the tournament until the test gives its
+     * result or until the maximal number of games is reached. The games are played in pairs
+     * (each opening is played with both players as first player) and the results are given to a
+     * listener after each game, so that long matches can be followed. When the test gives its
+     * result, the games that are still being played are finished but not counted.
+     *
+     * @param sprt     the test
+     * @param maxGames the maximal number of games (at least 2)
+     * @param listener the listener called after each game with the results so far (or null)
+     * @return the results of the match, from the point of view of the first player added
+     */
+    public Match runSprt(Sprt sprt, int maxGames, Consumer<Match> listener) {
+        if (sprt == null || maxGames < 2 || this.names.size() != 2) throw new IllegalArgumentException("SPRT match error");
+        Match match = new Match(this.names.get(0), this.names.get(1));
+        Supplier<? extends ArtificialPlayer> first = this.factories.get(0);
+        Supplier<? extends ArtificialPlayer> second = this.factories.get(1);
+        ExecutorService executor = this.createExecutor();
+        CompletionService<int[]> results = new ExecutorCompletionService<>(executor);
+        long start = System.nanoTime();
+        int submitted = 0;
+        int running = 0;
+        try {
+            do {
+                while (running < 2 * this.threads && submitted < maxGames && sprt.status(match) == Sprt.CONTINUE) {
+                    int game = submitted++;
+                    boolean swapped = game % 2 == 1;
+                    results.submit(() -> new int[]{swapped ? 1 : 0,
+                            this.play(swapped ? second : first, swapped ? first : second, game / 2)});
+                    running++;
+                }
+                int[] result = results.take().get();
+                running--;
+                if (sprt.status(match) == Sprt.CONTINUE) {
+                    match.add(result[0] == 1, result[1]);
+                    if (listener != null) listener.accept(match);
+                }
+            } while (running > 0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tournament game error", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        this.gamesPerSecond = match.getGames() * 1e9 / Math.max(1, System.nanoTime() - start);
+        return match;
+    }
+
+    /**
+     * Allows to create the threads that play the games, they don't prevent the application from stopping.
+     *
+     * @return the threads
+     */
+    private ExecutorService createExecutor() {
+        return Executors.newFixedThreadPool(this.threads, runnable -> {
+            Thread thread = new Thread(runnable, "tournament");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Allows to play a game between two new players. The game begins with the random moves of an
+     * opening, then a player that gives an incorrect move (or no move) loses the game. The game is
+     * a draw when a position is repeated as many times as the rule of the Game allows.
+     *
+     * @param firstFactory  the factory of the player that plays first
+     * @param secondFactory the factory of the other player
+     * @param opening       the number of the opening (the same number always gives the same moves)
+     * @return Position.FIRST or Position.SECOND for the side that won or Position.EMPTY for a draw
+     */
+    public int play(Supplier<? extends ArtificialPlayer> firstFactory, Supplier<? extends ArtificialPlayer> secondFactory, int opening) {
+        ArtificialPlayer first = firstFactory.get();
+        ArtificialPlayer second = secondFactory.get();
+        first.setPondering(false);
+        second.setPondering(false);
+        Game game = new Game(first, second);
+        GameBoard gameBoard = game.getGameBoard();
+        for (int ply = this.playOpening(gameBoard, opening); ply < this.maxPlies; ply++) {
+            ArtificialPlayer player = (ply % 2 == 0) ? first : second;
+            Player adverse = (ply % 2 == 0) ? second : first;
+            int move = player.playMove(gameBoard.getBoard(), adverse, game);
+            if (move == Move.NONE || !game.checkMove(player, move, adverse)) return (ply % 2 == 0) ? Position.SECOND : Position.FIRST;
+            gameBoard.makeMove(move);
+            boolean firstWins = gameBoard.isConnected(first);
+            boolean secondWins = gameBoard.isConnected(second);
+            if (firstWins && secondWins) return Position.EMPTY;
+            else if (firstWins) return Position.FIRST;
+            else if (secondWins) return Position.SECOND;
+            else if (game.isDrawByRepetition()) return Position.EMPTY;
+        }
+        return Position.EMPTY;
+    }
+
+    /**
+     * Allows to play the random moves of an opening from the starting position of a game. The
+     * moves that would end the game are not played.
+     *
+     * @param gameBoard the board of the game, with the pawns on their starting squares
+     * @param opening   the number of the opening
+     * @return the number of moves played
+     */
+    private int playOpening(GameBoard gameBoard, int opening) {
+        Random random = new Random(this.seed + opening);
+        Position position = gameBoard.getPosition();
+        int[] moves = new int[Position.MAX_MOVES];
+        int ply = 0;
+        while (ply < this.openingPlies) {
+            int count = position.generateMoves(ply % 2, moves);
+            boolean played = false;
+            for (int tries = 0; tries < count && !played; tries++) {
+                gameBoard.makeMove(moves[random.nextInt(count)]);
+                played = !position.isConnected(Position.FIRST) && !position.isConnected(Position.SECOND);
+                if (!played) gameBoard.unmakeMove();
+            }
+            if (!played) break;
+            ply++;
+        }
+        return ply;
+    }
+
+    /**
+     * @return the number of games played per second during the last tournament or match
+     */
+    public double getGamesPerSecond() {
+        return this.gamesPerSecond;
+    }
+
+    /**
+     * Java class that contains the results of the games between two players of a tournament,
+     * from the point of view of the first one. The results can be added by several threads.
+     */
+    public static class Match {
+
+        /**
+         * The names of the players
+         */
+        private final String player, adverse;
+        /**
+         * The numbers of games won, drawn and lost by the first player
+         */
+        private int wins, draws, losses;
+
+        /**
+         * Allows to create a match without any game.
+         *
+         * @param player  the name of the first player
+         * @param adverse the name of the second player
+         */
+        public Match(String player, String adverse) {
+            this.player = player;
+            this.adverse = adverse;
+        }
+
+        /**
+         * Allows to add the result of a game.
+         *
+         * @param swapped true if the first player of the match played second in the game
+         * @param result  the side that won the game (Position.FIRST or Position.SECOND) or Position.EMPTY for a draw
+         */
+        public synchronized void add(boolean swapped, int result) {
+            if (result == Position.EMPTY) this.draws++;
+            else if ((result == Position.FIRST) != swapped) this.wins++;
+            else this.losses++;
+        }
+
+        /**
+         * @return the name of the first player
+         */
+        public String getPlayer() {
+            return this.player;
+        }
+
+        /**
+         * @return the name of the second player
+         */
+        public String getAdverse() {
+            return this.adverse;
+        }
+
+        /**
+         * @return the number of games won by the first player
+         */
+        public synchronized int getWins() {
+            return this.wins;
+        }
+
+        /**
+         * @return the number of draws
+         */
+        public synchronized int getDraws() {
+            return this.draws;
+        }
+
+        /**
+         * @return the number of games lost by the first player
+         */
+        public synchronized int getLosses() {
+            return this.losses;
+        }
+
+        /**
+         * @return the number of games played
+         */
+        public synchronized int getGames() {
+            return this.wins + this.draws + this.losses;
+        }
+
+        /**
+         * @return the score of the first player (from 0 to 1, a draw counts for half a win)
+         */
+        public synchronized double getScore() {
+            int games = this.getGames();
+            return (games == 0) ? 0.5 : (this.wins + 0.5 * this.draws) / games;
+        }
+
+        /**
+         * Allows to estimate how much stronger the first player is, with the Elo scale : a difference
+         * of 400 points means that the strongest player scores ten times more than the other one.
+         *
+         * @return the Elo difference between the first and the second player
+         */
+        public double getElo() {
+            return elo(this.getScore());
+        }
+
+        /**
+         * Allows to estimate the margin of error of the Elo difference : the real difference has
+         * 95 chances out of 100 to be in the interval [getElo() - getEloError(), getElo() + getEloError()].
+         *
+         * @return the margin of error of the Elo difference (infinite if there aren't enough games or if a player won them all)
+         */
+        public synchronized double getEloError() {
+            int games = this.getGames();
+            double score = this.getScore();
+            if (games < 2 || score <= 0 || score >= 1) return Double.POSITIVE_INFINITY;
+            double variance = (this.wins * Math.pow(1 - score, 2) + this.draws * Math.pow(0.5 - score, 2)
+                    + this.losses * Math.pow(score, 2)) / (games - 1);
+            double margin = 1.96 * Math.sqrt(variance / games);
+            double above = elo(Math.min(1, score + margin)) - elo(score);
+            double below = elo(score) - elo(Math.max(0, score - margin));
+            if (Double.isInfinite(above)) return below;
+            else if (Double.isInfinite(below)) return above;
+            else return (above + below) / 2;
+        }
+
+        /**
+         * @param score a score from 0 to 1
+         * @return the Elo difference that gives this score (infinite for 0 and 1)
+         */
+        private static double elo(double score) {
+            if (score <= 0) return Double.NEGATIVE_INFINITY;
+            if (score >= 1) return Double.POSITIVE_INFINITY;
+            return -400 * Math.log10(1 / score - 1);
+        }
+
+        /**
+         * @return the results of the match in a line
+         */
+        @Override
+        public synchronized String toString() {
+            return String.format("%s - %s : +%d =%d -%d (%.1f%%), Elo %+.0f +/- %.0f", this.player, this.adverse,
+                    this.wins, this.draws, this.losses, 100 * this.getScore(), this.getElo(), this.getEloError());
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package game.model;
 
-import java.awt.*;
+import javax.imageio.ImageIO;
+import java.awt.Image;
+import java.io.IOException;
 
 /**
- * Allows to create an Element object that has an image representation.
+ * Allows to create an Element object that has an image representation. The symbols
+ * are only created for the graphic view (see GameBoard.createChineseSymbols()).
  */
 public class ChineseSymbol extends Element {
 
@@ -31,16 +34,27 @@ public class ChineseSymbol extends Element {
     }
 
     /**
-     * Allows to redefine the paint method of the super class by adding the draw of the symbol
-     * in the graphics of a component. It first calls the paint method of the superclass (that
-     * put the background color) and then draws its icon.
+     * Allows to create the symbol of a square, the name of the picture that represents
+     * the symbol is stored in "res.pictures/symbols/lineColumn.png". The image is read
+     * here so that the board only needs AWT when a view creates the symbols.
      *
-     * @param g the Graphics to paint
+     * @param lineIndex   the line index of the symbol
+     * @param columnIndex the column index of the symbol
+     * @return the symbol
+     * @throws IOException if the picture can't be read
      */
-    @Override
-    public void paint(Graphics g) {
-        super.paint(g);
-        Image image = this.ICON.getScaledInstance(Element.getSizeUnity(), Element.getSizeUnity(), Image.SCALE_DEFAULT);
-        g.drawImage(image, (this.getColumnIndex() + 1) * Element.getSizeUnity(), (this.getLineIndex() + 1) * Element.getSizeUnity(), null);
+    public static ChineseSymbol read(int lineIndex, int columnIndex) throws IOException {
+        return new ChineseSymbol(lineIndex, columnIndex, ImageIO.read(ChineseSymbol.class
+                .getResourceAsStream("/res/pictures/symbols/" + lineIndex + "" + columnIndex + ".png")));
+    }
+
+    /**
+     * Allows to get the image that represents the element, the graphic view
+     * paints it on the square of the element.
+     *
+     * @return the image of the element
+     */
+    public Image getIcon() {
+        return this.ICON;
     }
 }
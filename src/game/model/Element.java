@@ -1,12 +1,14 @@
 package game.model;
 
-import java.awt.*;
 import java.io.Serializable;
 
 /**
  * Java class that allows to represent any element on the board. Every
  * object that is on the board extends this class that allows to save
- * the position of elements.
+ * the position of elements. The rules of the game don't use these objects
+ * (they use the Position class), so an element is only an adapter for the
+ * views. It doesn't use AWT : the graphic view paints it with its own colors
+ * (see game.view.BoardPainter), the element only keeps where it is painted.
  */
 public class Element implements Serializable {
 
@@ -18,28 +20,21 @@ public class Element implements Serializable {
     private int lineIndex;
     /**The horizontal position on the board*/
     private int columnIndex;
-    /**The rectangle corresponding to the square occupied by the element */
-    private Rectangle rectangle;
-    /**The color of all impair squares*/
-    private static Color impairColor = Color.white;
-    /**The color of all pair squares*/
-    private static Color pairColor = Color.black;
     /**The size of the sides of all squares*/
     private static int sizeUnity = 50;
 
     /**
      * Allows to create an element that has no significant information.
-     * The x and y values are set to -1 and the rectangle to null.
+     * The x and y values are set to -1 so the element contains no point.
      */
     public Element() {
         this.x = -1;
         this.y = -1;
-        this.rectangle = null;
     }
 
     /**
      * Allows to create an element with a precise position. The x and
-     * y values are computed and the corresponding rectangle is created.
+     * y values are computed from the size unity.
      * @param lineIndex the line where the element is
      * @param columnIndex the column where the element is
      */
@@ -49,34 +44,16 @@ public class Element implements Serializable {
             this.columnIndex = columnIndex;
             this.x = (this.columnIndex + 1) * Element.sizeUnity;
             this.y = (this.lineIndex + 1) * Element.sizeUnity;
-            this.rectangle = new Rectangle(this.x, this.y, Element.sizeUnity, Element.sizeUnity);
         } else throw new IllegalArgumentException();
     }
 
     /**
-     * Allows to fill a rectangle which corresponds to the square of the Element
-     * on the board. The color of the rectangle depends on if the sum of both
-     * size and columns indexes is pair or impair.
-     * @param g the graphics fo fill the rectangle.
+     * Allows to compute the x and y values of the element from its position
+     * on the board and from the size unity, before the element is painted.
      */
-    public void paint(Graphics g) {
+    public void updateCoordinates() {
         this.x = (this.columnIndex + 1) * Element.sizeUnity;
         this.y = (this.lineIndex + 1) * Element.sizeUnity;
-        updateRectangle();
-        if ((this.lineIndex + this.columnIndex) % 2 == 1) {
-            g.setColor(impairColor);
-        } else {
-            g.setColor(pairColor);
-        }
-        g.fillRect(this.x, this.y, sizeUnity, sizeUnity);
-    }
-
-    /**
-     * Allows to update the rectangle object, creates a new Rectangle with the
-     * size unity of an Element and the x and y attributes of this element.
-     */
-    private void updateRectangle() {
-        this.rectangle = new Rectangle(this.x, this.y, Element.sizeUnity, Element.sizeUnity);
     }
 
     /**
@@ -94,70 +71,70 @@ public class Element implements Serializable {
     }
 
     /**
-     * Allows to set the absolute x position of the upper left corner of the rectangle
+     * Allows to set the absolute x position of the upper left corner of the square
      * that represents the element.
      * @param x the absolute horizontal value
      */
     public void setX(int x) {
         if (x >= 0) {
             this.x = x;
-            updateRectangle();
         } else throw new IllegalArgumentException();
     }
 
     /**
-     * Allows to set the absolute y position of the upper left corner of the rectangle
+     * Allows to set the absolute y position of the upper left corner of the square
      * that represents the element.
      * @param y the absolute vertical value
      */
     public void setY(int y) {
         if (y >= 0) {
             this.y = y;
-            updateRectangle();
         } else throw new IllegalArgumentException();
     }
 
     /**
-     * @return the rectangle that represents the shape on the board
+     * Allows to know whether a point of the graphic view is in the square
+     * that represents the element.
+     * @param x the absolute horizontal value of the point
+     * @param y the absolute vertical value of the point
+     * @return true if the point is in the square, false otherwise or if the
+     * element has no position in graphic mode
      */
-    public Rectangle getRectangle() {
-        return this.rectangle;
+    public boolean contains(int x, int y) {
+        return this.x >= 0 && this.y >= 0 && x >= this.x && y >= this.y
+                && x < this.x + Element.sizeUnity && y < this.y + Element.sizeUnity;
     }
 
     /**
-     * @return the line index of the element
+     * @return the absolute x position of the element in graphic mode (-1 if it has none)
      */
-    public int getLineIndex() {
-        return this.lineIndex;
+    public int getX() {
+        return this.x;
     }
 
     /**
-     * @return The column index of the element
+     * @return the absolute y position of the element in graphic mode (-1 if it has none)
      */
-    public int getColumnIndex() {
-        return this.columnIndex;
+    public int getY() {
+        return this.y;
     }
 
     /**
-     * Allows to set the color of all rectangles that the sum
-     * of both line and column indexes is impair.
-     * @param impairColor the color for impair squares
+     * @return the line index of the element
      */
-    public static void setImpairColor(Color impairColor) {
-        Element.impairColor = impairColor;
+    public int getLineIndex() {
+        return this.lineIndex;
     }
 
     /**
-     * Allows to set the color of all rectangles that the sum
-     * of both line and column indexes is pair.
-     * @param pairColor the color for pair squares
+     * @return The column index of the element
      */
-    public static void setPairColor(Color pairColor) {
-        Element.pairColor = pairColor;
+    public int getColumnIndex() {
+        return this.columnIndex;
     }
 
     /**
-     * Allows to set the size of all sides of all rectangles on the board.
+     * Allows to set the size of all sides of all squares on the board.
      * This size needs to be at least equals to 0.
      * @param sizeUnity the nex size.
      */
@@ -168,7 +145,7 @@ public class Element implements Serializable {
     }
 
     /**
-     * @return the size of all sides of all rectangles on the board.
+     * @return the size of all sides of all squares on the board.
      */
     public static int getSizeUnity(){
         return sizeUnity;
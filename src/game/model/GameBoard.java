@@ -1,23 +1,59 @@
 package game.model;
 
+import game.model.rules.Move;
+import game.model.rules.Position;
 import utilities.GameColor;
 
-import javax.imageio.ImageIO;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 
 /**
  * Allows to create the board on which the players will play. This board is actualized at
- * every displacement.
+ * every displacement. The state of the board is kept in a compact Position object, the matrix
+ * of Element objects is only created when a view asks for it.
  */
 public class GameBoard implements Serializable {
 
     /**
-     * The matrix representing the board, it has no empty square
+     * The compact representation of the board used by the rules of the game
      */
-    private final Element[][] board;
+    private final Position position = new Position();
+    /**
+     * The pawns on the board indexed by the square they are on (null for an empty square)
+     */
+    private final Pawn[] pawns = new Pawn[Position.SQUARES];
+    /**
+     * The square of each pawn of each side indexed by the number of the pawn (EMPTY if the pawn was eaten)
+     */
+    private final int[][] squares = new int[2][Position.PAWNS];
+    /**
+     * The index of each pawn in the first and in the second list of pawns, indexed by the number
+     * of the pawn (the Zen is the last one), -1 if the pawn is not in the list
+     */
+    private final int[][] indexes = new int[2][Position.PAWNS + 1];
+    /**
+     * The matrix representing the board for the views, it has no empty square. It is created
+     * the first time it is asked (and so it is not saved)
+     */
+    transient private Element[][] board;
+    /**
+     * An Element object that is not on the board of Element objects anymore and that can be reused
+     */
+    transient private Element spare;
+    /**
+     * The eaten pawns, in the order they were eaten, kept to undo the moves
+     */
+    private final Pawn[] eatenPawns = new Pawn[2 * Player.getPAWNS_NUMBER() + 1];
+    /**
+     * The indexes the eaten pawns had in the first and in the second list of pawns (-1 if they were not in the list)
+     */
+    private final int[] eatenIndexes = new int[2 * this.eatenPawns.length];
+    /**
+     * The number of eaten pawns
+     */
+    private int eatenCount;
     /**
      * The matrix containing the chinese symbols for the graphic view (that never changes so it is not saved)
      */
@@ -33,22 +69,24 @@ public class GameBoard implements Serializable {
     /**
      * The dimension of the board (11 * 11)
      */
-    private final static int DIMENSION = 11;
+    private final static int DIMENSION = Position.DIMENSION;
 
     /**
      * Constructor of the class, initializes the two lists of pawns and then create the zen pawn
-     * and place the pawns on the board. After this it asks to complete the board with Element objects.
+     * and place the pawns on the board.
      * @param firstPlayerPawns The list of pawns of the first player
      * @param secondPlayerPawns The list of pawns of the second player
      */
     public GameBoard(ArrayList<Pawn> firstPlayerPawns, ArrayList<Pawn> secondPlayerPawns) {
         if (firstPlayerPawns != null && secondPlayerPawns != null) {
+            Arrays.fill(this.squares[Position.FIRST], Position.EMPTY);
+            Arrays.fill(this.squares[Position.SECOND], Position.EMPTY);
             this.firstPlayer = firstPlayerPawns;
             this.secondPlayer = secondPlayerPawns;
-            this.board = new Element[GameBoard.getDIMENSION()][GameBoard.getDIMENSION()];
             this.placePlayersPawns();
             this.createZenPawn();
-            this.completeBoard();
+            this.indexPawns(this.firstPlayer, Position.FIRST);
+            this.indexPawns(this.secondPlayer, Position.SECOND);
         } else {
             throw new IllegalArgumentException("GameBoard initialization error");
         }
@@ -62,43 +100,104 @@ public class GameBoard implements Serializable {
         Pawn pawn = new Pawn(GameColor.RED, -1);
         this.firstPlayer.add(pawn);
         this.secondPlayer.add(pawn);
-        placeOnePawn(GameBoard.DIMENSION / 2, GameBoard.DIMENSION / 2, pawn);
+        this.placeOnePawn(GameBoard.DIMENSION / 2, GameBoard.DIMENSION / 2, pawn, Position.ZEN);
     }
 
     /**
-     * Allows to place all the pawns on the board.
+     * Allows to place all the pawns on the board on the starting squares given by the rules.
      */
     private void placePlayersPawns() {
-        // first player
-        Iterator<Pawn> firstP = this.firstPlayer.iterator();
-        placeOnePawn(GameBoard.DIMENSION - 1, 0, firstP.next());
-        placeOnePawn(GameBoard.DIMENSION / 2, 0, firstP.next());
-        placeFourPawns(3, 2, firstP);
-        placeFourPawns(1, 4, firstP);
-        placeOnePawn(GameBoard.DIMENSION / 2, GameBoard.DIMENSION - 1, firstP.next());
-        placeOnePawn(0, GameBoard.DIMENSION - 1, firstP.next());
-        // second player
-        Iterator<Pawn> secondP = this.secondPlayer.iterator();
-        placeOnePawn(0, 0, secondP.next());
-        placeOnePawn(0, GameBoard.DIMENSION / 2, secondP.next());
-        placeFourPawns(4, 1, secondP);
-        placeFourPawns(2, 3, secondP);
-        placeOnePawn(GameBoard.DIMENSION - 1, GameBoard.DIMENSION / 2, secondP.next());
-        placeOnePawn(GameBoard.DIMENSION - 1, GameBoard.DIMENSION - 1, secondP.next());
-    }
-
-    /**
-     * Allows to place a group of four pawns on the plate (the four pawns are placed
-     * symmetrically) according to the coordinates of one pawn.
-     * @param column the column of one pawn
-     * @param line the line of one pawn
+        this.placePawns(this.firstPlayer, Position.FIRST);
+        this.placePawns(this.secondPlayer, Position.SECOND);
+    }
+
+    /**
+     * Allows to place the pawns of a list on the starting squares of a side, in the order of the list.
      * @param pawns the pawns to place
+     * @param side the side of the pawns
+     */
+    private void placePawns(ArrayList<Pawn> pawns, int side) {
+        for (int i = 0; i < pawns.size() && i < Position.PAWNS; i++) {
+            int square = Position.getStartSquare(side, i);
+            this.placeOnePawn(Position.column(square), Position.line(square), pawns.get(i), side);
+        }
+    }
+
+    /**
+     * Allows to save the index of each pawn of a list of pawns.
+     * @param pawns the list of pawns of a player
+     * @param side the side of the player
+     */
+    private void indexPawns(ArrayList<Pawn> pawns, int side) {
+        Arrays.fill(this.indexes[side], -1);
+        for (int i = 0; i < pawns.size(); i++) this.setIndex(side, pawns.get(i), i);
+    }
+
+    /**
+     * Allows to update the index of a pawn in a list of pawns.
+     * @param side the side of the list
+     * @param pawn the pawn
+     * @param index the index of the pawn in the list or -1 if it is not in the list anymore
+     */
+    private void setIndex(int side, Pawn pawn, int index) {
+        int number = pawn.getNUMBER();
+        if (number == -1) this.indexes[side][Position.PAWNS] = index;
+        else if (number >= 0 && number < Position.PAWNS) this.indexes[side][number] = index;
+    }
+
+    /**
+     * Allows to find the index of a pawn in a list of pawns with the saved indexes. The list is only
+     * looked through if it was changed without the game board.
+     * @param pawns the list of pawns of a player
+     * @param side the side of the player
+     * @param pawn the pawn
+     * @return the index of the pawn in the list or -1 if it is not in the list
      */
-    private void placeFourPawns(int column, int line, Iterator<Pawn> pawns) {
-        placeOnePawn(column, line, pawns.next());
-        placeOnePawn(GameBoard.DIMENSION - column - 1, line, pawns.next());
-        placeOnePawn(GameBoard.DIMENSION - column - 1, GameBoard.DIMENSION - line - 1, pawns.next());
-        placeOnePawn(column, GameBoard.DIMENSION - line - 1, pawns.next());
+    private int indexOf(ArrayList<Pawn> pawns, int side, Pawn pawn) {
+        int number = pawn.getNUMBER();
+        int index = (number == -1) ? this.indexes[side][Position.PAWNS]
+                : (number >= 0 && number < Position.PAWNS) ? this.indexes[side][number] : -1;
+        if (index >= 0 && index < pawns.size() && pawns.get(index) == pawn) return index;
+        return pawns.indexOf(pawn);
+    }
+
+    /**
+     * Allows to remove a pawn from a list of pawns without moving the other pawns : the last pawn
+     * of the list takes its place.
+     * @param pawns the list of pawns of a player
+     * @param side the side of the player
+     * @param pawn the pawn to remove
+     * @return the index the pawn had in the list or -1 if it was not in the list
+     */
+    private int removePawn(ArrayList<Pawn> pawns, int side, Pawn pawn) {
+        int index = this.indexOf(pawns, side, pawn);
+        if (index < 0) return -1;
+        int last = pawns.size() - 1;
+        Pawn moved = pawns.get(last);
+        pawns.set(index, moved);
+        pawns.remove(last);
+        this.setIndex(side, moved, index);
+        this.setIndex(side, pawn, -1);
+        return index;
+    }
+
+    /**
+     * Allows to put back a pawn removed by removePawn() at its index, the pawn that took its place
+     * goes back to the end of the list, so the list is the same as before the removal.
+     * @param pawns the list of pawns of a player
+     * @param side the side of the player
+     * @param pawn the pawn to put back
+     * @param index the index the pawn had in the list (nothing is done if it is -1)
+     */
+    private void restorePawn(ArrayList<Pawn> pawns, int side, Pawn pawn, int index) {
+        if (index < 0) return;
+        if (index < pawns.size()) {
+            Pawn moved = pawns.get(index);
+            pawns.add(moved);
+            pawns.set(index, pawn);
+            this.setIndex(side, moved, pawns.size() - 1);
+        } else pawns.add(pawn);
+        this.setIndex(side, pawn, index);
     }
 
     /**
@@ -109,8 +208,48 @@ public class GameBoard implements Serializable {
      * @param pawn the pawn to place
      */
     private void placeOnePawn(int column, int line, Pawn pawn) {
-        this.board[line][column] = pawn;
+        this.placeOnePawn(column, line, pawn, this.getOwner(pawn));
+    }
+
+    /**
+     * Allows to place one pawn of a known owner on the board at a precise line and column.
+     * @param column the column to put the pawn to
+     * @param line the line to put the pawn to
+     * @param pawn the pawn to place
+     * @param owner the side of the pawn or Position.ZEN
+     */
+    private void placeOnePawn(int column, int line, Pawn pawn, int owner) {
+        int square = Position.square(line, column);
+        if (this.pawns[square] != null) this.setSquare(this.position.getOwner(square), this.pawns[square], Position.EMPTY);
+        this.pawns[square] = pawn;
+        this.position.place(owner, square);
+        this.setSquare(owner, pawn, square);
         pawn.setPosition(line, column);
+        if (this.board != null) this.board[line][column] = pawn;
+    }
+
+    /**
+     * Allows to update the index of the squares of the pawns.
+     * @param owner the side of the pawn (nothing is done for the Zen, its square is kept by the position)
+     * @param pawn the pawn
+     * @param square the new square of the pawn or Position.EMPTY if it is not on the board anymore
+     */
+    private void setSquare(int owner, Pawn pawn, int square) {
+        if (owner != Position.ZEN && pawn.getNUMBER() >= 0 && pawn.getNUMBER() < Position.PAWNS) {
+            this.squares[owner][pawn.getNUMBER()] = square;
+        }
+    }
+
+    /**
+     * Allows to know to which side of the position a pawn belongs.
+     * @param pawn the pawn
+     * @return Position.ZEN for the Zen pawn, Position.FIRST for a pawn of the first player
+     * and Position.SECOND otherwise
+     */
+    private int getOwner(Pawn pawn) {
+        if (pawn.getNUMBER() == -1) return Position.ZEN;
+        else if (this.indexOf(this.firstPlayer, Position.FIRST, pawn) >= 0) return Position.FIRST;
+        else return Position.SECOND;
     }
 
     /**
@@ -141,44 +280,271 @@ public class GameBoard implements Serializable {
      */
     private void createOneSymbol(int line, int column) {
         try {
-            this.symbols[line][column] = new ChineseSymbol(line, column, ImageIO.read(getClass()
-                    .getResourceAsStream("/res/pictures/symbols/" +line+""+column+".png")));
+            this.symbols[line][column] = ChineseSymbol.read(line, column);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * Allows to complete the board of pawns with Element objects.
+     * Allows to create the board of Element objects from the pawns on the board,
+     * the empty squares are completed with Element objects.
      */
-    private void completeBoard() {
+    private void createBoard() {
+        this.board = new Element[GameBoard.getDIMENSION()][GameBoard.getDIMENSION()];
         for (int i = 0; i < this.board.length; i++) {
             for (int j = 0; j < this.board[i].length; j++) {
-                if (this.board[i][j] == null) {
-                    this.board[i][j] = new Element(i, j);
-                }
+                Pawn pawn = this.pawns[Position.square(i, j)];
+                if (pawn != null) this.board[i][j] = pawn;
+                else this.board[i][j] = new Element(i, j);
             }
         }
     }
 
     /**
-     * Allows to move a pawn on the board. It places a nex Element object
-     * where the pawn was.
+     * Allows to move a pawn on the board, the pawn that was on the destination square
+     * (if any) is eaten. The move can be undone with unmakeMove().
      * @param lastLine the line where the pawn is
      * @param lastColumn the column where the pawn is
      * @param nextLine the line where the pawn goes
      * @param nextColumn the column where the pawn goes
+     * @throws IndexOutOfBoundsException if one of the squares is not on the board
      */
     public void movePawn(int lastLine, int lastColumn, int nextLine, int nextColumn) {
-        this.board[nextLine][nextColumn] = this.board[lastLine][lastColumn];
-        this.board[lastLine][lastColumn] = new Element(lastLine, lastColumn);
-        this.board[nextLine][nextColumn].setPosition(nextLine, nextColumn);
+        if (!Position.isOnBoard(lastLine, lastColumn) || !Position.isOnBoard(nextLine, nextColumn)) {
+            throw new IndexOutOfBoundsException("Square out of the board");
+        }
+        if (this.pawns[Position.square(lastLine, lastColumn)] == null) throw new IllegalArgumentException("No pawn to move");
+        this.makeMove(Move.of(Position.square(lastLine, lastColumn), Position.square(nextLine, nextColumn)));
+    }
+
+    /**
+     * Allows to do a move on the board. The pawn that was on the destination square (if any) is eaten,
+     * which means that it is removed from the board and from the lists of pawns it belongs to (the
+     * last pawn of a list takes its place, so the other pawns don't move in the list). The
+     * position saves what is needed to undo the move and the eaten pawn is kept, so no object is created
+     * (except an Element object for the view if a pawn is eaten after the view was created).
+     * @param move the move written as in the Move class, it is not checked
+     */
+    public void makeMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        Pawn pawn = this.pawns[from];
+        Pawn eaten = this.pawns[to];
+        if (eaten != null) {
+            int eatenOwner = this.position.getOwner(to);
+            int firstIndex = (eatenOwner == Position.SECOND) ? -1 : this.removePawn(this.firstPlayer, Position.FIRST, eaten);
+            int secondIndex = (eatenOwner == Position.FIRST) ? -1 : this.removePawn(this.secondPlayer, Position.SECOND, eaten);
+            this.eatenPawns[this.eatenCount] = eaten;
+            this.eatenIndexes[2 * this.eatenCount] = firstIndex;
+            this.eatenIndexes[2 * this.eatenCount + 1] = secondIndex;
+            this.eatenCount++;
+            this.setSquare(eatenOwner, eaten, Position.EMPTY);
+        }
+        this.setSquare(this.position.getOwner(from), pawn, to);
+        this.position.makeMove(move);
+        this.pawns[to] = pawn;
+        this.pawns[from] = null;
+        pawn.setPosition(Position.line(to), Position.column(to));
+        this.updateBoard(to, pawn);
+        this.updateBoard(from, null);
+    }
+
+    /**
+     * Allows to undo the last move done on the board, the eaten pawn (if any) comes back on the
+     * board and in the lists of pawns at the same place.
+     * @throws IllegalStateException if there's no move to undo
+     */
+    public void unmakeMove() {
+        int move = this.position.getLastMove();
+        if (move == Move.NONE) throw new IllegalStateException("No move to undo");
+        boolean eating = Move.isCapture(move);
+        this.position.unmakeMove();
+        int from = Move.from(move);
+        int to = Move.to(move);
+        Pawn pawn = this.pawns[to];
+        Pawn eaten = null;
+        if (eating) {
+            this.eatenCount--;
+            eaten = this.eatenPawns[this.eatenCount];
+            this.eatenPawns[this.eatenCount] = null;
+            this.restorePawn(this.firstPlayer, Position.FIRST, eaten, this.eatenIndexes[2 * this.eatenCount]);
+            this.restorePawn(this.secondPlayer, Position.SECOND, eaten, this.eatenIndexes[2 * this.eatenCount + 1]);
+        }
+        this.pawns[from] = pawn;
+        this.pawns[to] = eaten;
+        this.setSquare(this.position.getOwner(from), pawn, from);
+        if (eating) this.setSquare(this.position.getOwner(to), eaten, to);
+        pawn.setPosition(Position.line(from), Position.column(from));
+        this.updateBoard(from, pawn);
+        this.updateBoard(to, eaten);
+    }
+
+    /**
+     * Allows to update a square of the board of Element objects if it was already created. When a pawn
+     * arrives on an empty square, the Element object of this square is kept to be reused on the next
+     * square that becomes empty.
+     * @param square the index of the square
+     * @param pawn the pawn on the square or null if the square becomes empty
+     */
+    private void updateBoard(int square, Pawn pawn) {
+        if (this.board != null) {
+            int line = Position.line(square);
+            int column = Position.column(square);
+            if (pawn != null) {
+                if (!(this.board[line][column] instanceof Pawn)) this.spare = this.board[line][column];
+                this.board[line][column] = pawn;
+            } else if (this.board[line][column] instanceof Pawn) {
+                Element element = (this.spare != null) ? this.spare : new Element(line, column);
+                this.spare = null;
+                element.setPosition(line, column);
+                this.board[line][column] = element;
+            }
+        }
+    }
+
+    /**
+     * Allows to get the pawn that is on a square of the board.
+     * @param line the line of the square
+     * @param column the column of the square
+     * @return the pawn or null if the square is empty
+     */
+    public Pawn getPawn(int line, int column) {
+        return this.pawns[Position.square(line, column)];
+    }
+
+    /**
+     * Allows to get a pawn of a player from its number without going through the list of pawns.
+     * @param player one of the players of the game
+     * @param number the number of the pawn (-1 for the Zen)
+     * @return the pawn or null if the player has no such pawn on the board
+     */
+    public Pawn getPawn(Player player, int number) {
+        if (number == -1) {
+            int zen = this.position.getZenSquare();
+            return (zen == Position.EMPTY) ? null : this.pawns[zen];
+        }
+        if (number < 0 || number >= Position.PAWNS) return null;
+        int square = this.squares[this.getSide(player)][number];
+        return (square == Position.EMPTY) ? null : this.pawns[square];
+    }
+
+    /**
+     * @param line the index of the line
+     * @return the number of pawns (including the Zen) on the line
+     */
+    public int countLine(int line) {
+        return this.position.countLine(line);
+    }
+
+    /**
+     * @param column the index of the column
+     * @return the number of pawns (including the Zen) on the column
+     */
+    public int countColumn(int column) {
+        return this.position.countColumn(column);
+    }
+
+    /**
+     * Allows to get the number of pawns on the ascending diagonal (from left bottom
+     * to right top) that goes through a square.
+     * @param line the line of the square
+     * @param column the column of the square
+     * @return the number of pawns (including the Zen) on the diagonal
+     */
+    public int countDiagAsc(int line, int column) {
+        return this.position.countAscending(line, column);
+    }
+
+    /**
+     * Allows to get the number of pawns on the descending diagonal (from left top
+     * to right bottom) that goes through a square.
+     * @param line the line of the square
+     * @param column the column of the square
+     * @return the number of pawns (including the Zen) on the diagonal
+     */
+    public int countDiagDesc(int line, int column) {
+        return this.position.countDescending(line, column);
+    }
+
+    /**
+     * Allows to know which side of the position a player is playing.
+     * @param player one of the players of the game
+     * @return Position.FIRST if the pawns of the player are the first list of pawns of the board,
+     * Position.SECOND otherwise
+     */
+    public int getSide(Player player) {
+        return player.getPawns() == this.firstPlayer ? Position.FIRST : Position.SECOND;
+    }
+
+    /**
+     * Allows to know if all the pawns of a player (including the Zen if it is still on the board) are
+     * connected. The connection is kept by the position and only computed again after a move of the
+     * pawns of this player or of the Zen.
+     * @param player one of the players of the game
+     * @return true if all the pawns of the player are connected
+     */
+    public boolean isConnected(Player player) {
+        return this.position.isConnected(this.getSide(player));
+    }
+
+    /**
+     * Allows to write all the correct moves of a player in an array without creating any object,
+     * the moves are written as in the Move class.
+     * @param player the player that should play
+     * @param moves the array where the moves are written, it must be able to contain Position.MAX_MOVES moves
+     * @return the number of moves written in the array
+     */
+    public int generateMoves(Player player, int[] moves) {
+        return this.position.generateMoves(this.getSide(player), moves);
+    }
+
+    /**
+     * Allows to transform a move written as in the Move class in the format used by the views.
+     * @param move the move
+     * @return the coordinates of the displacement according to the format [pawn, line, column]
+     * ([-1, -1, -1] if there's no move or no pawn on the square of departure)
+     */
+    public int[] getCoordinates(int move) {
+        if (move == Move.NONE || this.pawns[Move.from(move)] == null) return new int[]{-1, -1, -1};
+        int to = Move.to(move);
+        return new int[]{this.pawns[Move.from(move)].getNUMBER(), Position.line(to), Position.column(to)};
+    }
+
+    /**
+     * Allows to transform a move in the format used by the views in a move written as in the
+     * Move class, with its flags.
+     * @param player the player that moves the pawn
+     * @param coordinates the coordinates of the displacement according to the format [pawn, line, column]
+     * @return the move or Move.NONE if the player has no such pawn or if the square is not on the board
+     */
+    public int toMove(Player player, int[] coordinates) {
+        if (coordinates == null || coordinates.length < 3) return Move.NONE;
+        Pawn pawn = this.getPawn(player, coordinates[0]);
+        if (pawn == null || !Position.isOnBoard(coordinates[1], coordinates[2])) return Move.NONE;
+        return this.position.createMove(Position.square(pawn.getLineIndex(), pawn.getColumnIndex()),
+                Position.square(coordinates[1], coordinates[2]));
+    }
+
+    /**
+     * @return the Zobrist key of the current position (pawns, side to move and Zen history)
+     */
+    public long getHash() {
+        return this.position.getHash();
+    }
+
+    /**
+     * @return the compact representation of the board
+     */
+    public Position getPosition() {
+        return this.position;
     }
 
     /**
-     * @return the board of Element objects
+     * @return the board of Element objects (created the first time it is asked)
      */
     public Element[][] getBoard() {
+        if (this.board == null) this.createBoard();
         return this.board;
     }
 
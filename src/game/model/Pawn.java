@@ -3,7 +3,6 @@ package game.model;
 
 import utilities.GameColor;
 
-import java.awt.*;
 import java.io.Serializable;
 
 /**
@@ -48,28 +47,6 @@ public class Pawn extends Element implements Serializable {
         }
     }
 
-    /**
-     * Allows to paint the pawn by calling the superclass paint(Graphics g) method
-     * and by drawing and filling a circle with its color. Displays its string
-     * representation on the circle.
-     *
-     * @param g The graphics to draw on
-     */
-    @Override
-    public void paint(Graphics g) {
-        super.paint(g);
-        g.setColor(this.COLOR);
-        g.fillOval((int) ((this.getColumnIndex() + 1) * Element.getSizeUnity() + 1 / 8d * Element.getSizeUnity()),
-                (int) ((this.getLineIndex() + 1) * Element.getSizeUnity() + 1 / 8d * Element.getSizeUnity()), diameter, diameter);
-        g.setColor(Color.black);
-        g.drawOval((int) ((this.getColumnIndex() + 1) * Element.getSizeUnity() + 1 / 8d * Element.getSizeUnity()),
-                (int) ((this.getLineIndex() + 1) * Element.getSizeUnity() + 1 / 8d * Element.getSizeUnity()), diameter, diameter);
-        g.drawString(this.toString(), (int) ((this.getColumnIndex() + 1.4) * Element.getSizeUnity()),
-                (int) ((this.getLineIndex() + 1.6) * Element.getSizeUnity()));
-        this.setX((this.getColumnIndex() + 1) * Element.getSizeUnity());
-        this.setY((this.getLineIndex() + 1) * Element.getSizeUnity());
-    }
-
     /**
      * String representation of the pawn.
      *
@@ -92,6 +69,24 @@ public class Pawn extends Element implements Serializable {
         }
     }
 
+    /**
+     * Allows to get the diameter of all pawns.
+     *
+     * @return the diameter
+     */
+    public static int getDiameter() {
+        return Pawn.diameter;
+    }
+
+    /**
+     * Allows to get the color of the pawn.
+     *
+     * @return the color of the pawn
+     */
+    public GameColor getColor() {
+        return this.COLOR;
+    }
+
     /**
      * Allows to get the number of the pawn.
      *
@@ -98,7 +98,8 @@ public class Player implements Serializable {
     /**
      * Allows to get a precise pawn identified by it's number. The search is
      * made on the list of pawns of this player and if no pawn corresponds to the
-     * searched number, this method returns null.
+     * searched number, this method returns null. During a game, GameBoard.getPawn(Player, int)
+     * finds the pawn without going through the list.
      * @param index the number of the pawn
      * @return the corresponding pawn or null if there's none
      */
@@ -2,15 +2,89 @@ package game.model.artificialPlayers;
 
 import game.controller.Game;
 import game.model.Element;
+import game.model.GameBoard;
 import game.model.Player;
+import game.model.rules.Move;
+import game.model.rules.Position;
+import game.model.search.OpeningBook;
 import utilities.GameColor;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  * Java class that is extended by all the ArtificialPlayers of the game
- * (FirstLevel and SecondLevel).
+ * (FirstLevel, SecondLevel, ThirdLevel and FourthLevel). The moves can be computed
+ * on the calling thread with playMove() or on the threads shared by all the
+ * artificial players with playAsync(). The computations done during the turn of the adverse
+ * use other threads, so that they never keep the moves of the other games waiting : there's
+ * no computation during the turn of the adverse when all these threads are busy, and the
+ * computations are stopped as soon as moves wait for a thread.
  */
 public abstract class ArtificialPlayer extends Player {
 
+    /**
+     * The number of threads that compute the moves asked with playAsync()
+     */
+    private final static int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    /**
+     * The number of moves that can wait for a thread
+     */
+    private final static int QUEUE_CAPACITY = 256;
+    /**
+     * The time between two requests to stop a player whose deadline is reached (in milliseconds)
+     */
+    private final static long STOP_INTERVAL = 20;
+    /**
+     * The threads shared by all the artificial players to compute their moves
+     */
+    private final static ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(THREADS, THREADS, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> createThread(runnable, "artificial player"));
+    /**
+     * The threads shared by all the artificial players to compute during the turn of their adverse
+     * (a computation is not done when all the threads are busy)
+     */
+    private final static ThreadPoolExecutor PONDERING_EXECUTOR = new ThreadPoolExecutor(THREADS, THREADS, 0,
+            TimeUnit.MILLISECONDS, new SynchronousQueue<>(), runnable -> createThread(runnable, "artificial player pondering"));
+    /**
+     * The players that are computing during the turn of their adverse
+     */
+    private final static Set<ArtificialPlayer> PONDERING_PLAYERS = ConcurrentHashMap.newKeySet();
+    /**
+     * The thread that stops the players when their deadline is reached
+     */
+    private final static ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(
+            runnable -> createThread(runnable, "artificial player timer"));
+
+    /**
+     * True if the player computes during the turn of its adverse
+     */
+    private boolean pondering = true;
+    /**
+     * True if the player plays the moves of the opening book when the position is in it
+     */
+    private boolean usingBook = true;
+    /**
+     * The computation done during the turn of the adverse (null if there's none)
+     */
+    transient private volatile Runnable ponderingTask;
+    /**
+     * The future that is completed when the computation done during the turn of the adverse is over
+     */
+    transient private volatile CompletableFuture<Void> ponderingOver;
+
     /**
      * Allows to create an ArtificialPlayer by calling the constructor of
      * the super class with the arguments name and color.
@@ -35,6 +109,236 @@ public abstract class ArtificialPlayer extends Player {
      */
     public abstract int[] play(Element[][] board, Player adverse, Game game);
 
+    /**
+     * Allows to get the move done by the player written in a single int as in the Move class.
+     * By default, the move returned by play() is translated, the players that compute their
+     * moves on the Position of the game should redefine this method.
+     *
+     * @param board   the board of Elements where the game is taking place
+     * @param adverse the adverse of this player
+     * @param game    the current game
+     * @return the move or Move.NONE if the player can't move any pawn
+     */
+    public int playMove(Element[][] board, Player adverse, Game game) {
+        return game.getGameBoard().toMove(this, this.play(board, adverse, game));
+    }
+
+    /**
+     * Allows to compute the move of the player on the shared threads, without deadline.
+     *
+     * @param board   the board of Elements where the game is taking place
+     * @param adverse the adverse of this player
+     * @param game    the current game
+     * @return the future move (see playAsync with a deadline)
+     */
+    public CompletableFuture<Integer> playAsync(Element[][] board, Player adverse, Game game) {
+        return this.playAsync(board, adverse, game, 0);
+    }
+
+    /**
+     * Allows to compute the move of the player on the threads shared by all the artificial players.
+     * When the deadline is reached, the player is asked to stop and the future gets the best move
+     * found so far. Cancelling the future stops the player and its move is forgotten. If too many
+     * moves are already waiting for a thread, the future fails with a RejectedExecutionException.
+     * A player computes only one move at a time : the game must not change until the future is done.
+     *
+     * @param board   the board of Elements where the game is taking place
+     * @param adverse the adverse of this player
+     * @param game    the current game
+     * @param timeout the time after which the player must give its move (in milliseconds, 0 if there's no deadline)
+     * @return the future move written as in the Move class (Move.NONE if the player can't move any pawn)
+     */
+    public CompletableFuture<Integer> playAsync(Element[][] board, Player adverse, Game game, long timeout) {
+        if (timeout < 0) throw new IllegalArgumentException("Timeout error");
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        CompletableFuture<Void> finished = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                this.stopPondering();
+                if (!future.isDone()) future.complete(this.playMove(board, adverse, game));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                finished.complete(null);
+            }
+        };
+        try {
+            EXECUTOR.execute(task);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        if (!EXECUTOR.getQueue().isEmpty()) preemptPondering();
+        ScheduledFuture<?> timer = (timeout > 0)
+                ? TIMER.schedule(() -> this.stopUntil(finished), timeout, TimeUnit.MILLISECONDS) : null;
+        future.whenComplete((move, error) -> {
+            if (timer != null) timer.cancel(false);
+            if (future.isCancelled() && !EXECUTOR.remove(task)) this.stopUntil(finished);
+        });
+        return future;
+    }
+
+    /**
+     * Allows to ask the player to stop again and again until its move is computed, in case its
+     * search was not started yet when it was asked to stop the first time.
+     *
+     * @param finished the future that is completed when the computation of the move is over
+     */
+    private void stopUntil(CompletableFuture<Void> finished) {
+        if (!finished.isDone()) {
+            this.stop();
+            TIMER.schedule(() -> this.stopUntil(finished), STOP_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Allows to ask the player to give its move as soon as possible, from another thread. By default
+     * nothing is done : the players that search for a long time should redefine this method so that
+     * their search stops and returns the best move found so far.
+     */
+    public void stop() {
+    }
+
+    /**
+     * Allows the player to begin to compute on the shared threads while its adverse is thinking,
+     * so that the next move is found faster. Nothing is done if the player doesn't ponder, if
+     * moves are waiting for a thread or if all the threads that compute during the turn of the
+     * adverse are busy. The game must not change until stopPondering() is called.
+     *
+     * @param game the current game, in which the adverse has to play
+     */
+    public void startPondering(Game game) {
+        this.stopPondering();
+        if (!this.pondering || !EXECUTOR.getQueue().isEmpty()) return;
+        Runnable computation = this.createPonderingTask(game);
+        if (computation == null) return;
+        CompletableFuture<Void> over = new CompletableFuture<>();
+        Runnable task = () -> {
+            PONDERING_PLAYERS.add(this);
+            try {
+                if (EXECUTOR.getQueue().isEmpty()) computation.run();
+            } finally {
+                PONDERING_PLAYERS.remove(this);
+                over.complete(null);
+            }
+        };
+        this.ponderingOver = over;
+        this.ponderingTask = task;
+        try {
+            PONDERING_EXECUTOR.execute(task);
+        } catch (RejectedExecutionException e) {
+            this.ponderingTask = null;
+        }
+    }
+
+    /**
+     * Allows to stop the computations done during the turn of the adverses, because moves are
+     * waiting for a thread. The players keep what they found and compute their moves normally.
+     */
+    private static void preemptPondering() {
+        for (ArtificialPlayer player : PONDERING_PLAYERS) player.stop();
+    }
+
+    /**
+     * Allows to stop the computation done while the adverse is thinking and to wait until it is over.
+     * The results of this computation are kept to find the next move.
+     */
+    public void stopPondering() {
+        Runnable task = this.ponderingTask;
+        if (task == null) return;
+        this.ponderingTask = null;
+        if (PONDERING_EXECUTOR.remove(task)) return;
+        CompletableFuture<Void> over = this.ponderingOver;
+        while (!over.isDone()) {
+            this.stop();
+            try {
+                over.get(STOP_INTERVAL, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                // the computation is asked to stop again until it is over
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Allows to create the computation done by the player while its adverse is thinking. By default
+     * the player doesn't compute anything, the players that search for a long time should redefine
+     * this method. The computation must stop when stop() is called.
+     *
+     * @param game the current game, in which the adverse has to play
+     * @return the computation or null if there's nothing to compute
+     */
+    protected Runnable createPonderingTask(Game game) {
+        return null;
+    }
+
+    /**
+     * Allows to choose whether the player computes during the turn of its adverse.
+     *
+     * @param pondering true if the player computes during the turn of its adverse
+     */
+    public void setPondering(boolean pondering) {
+        this.pondering = pondering;
+        if (!pondering) this.stopPondering();
+    }
+
+    /**
+     * @return true if the player computes during the turn of its adverse
+     */
+    public boolean isPondering() {
+        return this.pondering;
+    }
+
+    /**
+     * Allows to choose a move of the opening book for the position of the game, so that the
+     * players that search don't search the first moves of the game. Each move of the book is
+     * chosen with a probability proportional to its weight, with random numbers given by the seed
+     * of the player and the key of the position : the players with different seeds don't always
+     * begin the same way, and a player always plays the same move in the same position.
+     *
+     * @param game the current game, in which the player has to play
+     * @param seed the seed of the player
+     * @return the move chosen or Move.NONE if the position is not in the book or if the player doesn't use it
+     */
+    protected int playBookMove(Game game, long seed) {
+        if (!this.usingBook) return Move.NONE;
+        GameBoard gameBoard = game.getGameBoard();
+        Position position = gameBoard.getPosition();
+        int side = gameBoard.getSide(this);
+        return OpeningBook.getDefault().choose(position, side, new Random(seed ^ OpeningBook.key(position, side)));
+    }
+
+    /**
+     * Allows to choose whether the player plays the moves of the opening book.
+     *
+     * @param usingBook true if the player plays the moves of the opening book
+     */
+    public void setUsingBook(boolean usingBook) {
+        this.usingBook = usingBook;
+    }
+
+    /**
+     * @return true if the player plays the moves of the opening book
+     */
+    public boolean isUsingBook() {
+        return this.usingBook;
+    }
+
+    /**
+     * Allows to create a thread of the shared threads, the threads don't prevent the application from stopping.
+     *
+     * @param runnable the task of the thread
+     * @param name     the name of the thread
+     * @return the thread
+     */
+    private static Thread createThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
     /**
      * Allows to create an ArtificialPlayer that has a different color
      * than the one chosen by the other player.
@@ -54,4 +358,15 @@ public abstract class ArtificialPlayer extends Player {
         return !game.checkMove(this, move, adverse);
     }
 
+    /**
+     * Allows to know if a move written as in the Move class is correct or not.
+     * @param move the considerate move
+     * @param adverse the adverse of this player
+     * @param game the current game
+     * @return true if the move is incorrect, wrong otherwise.
+     */
+    protected boolean incorrectMove(int move, Player adverse, Game game){
+        return !game.checkMove(this, move, adverse);
+    }
+
 }
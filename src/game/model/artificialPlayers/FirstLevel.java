@@ -1,11 +1,11 @@
 package game.model.artificialPlayers;
 
 import game.model.Element;
-import game.model.Pawn;
 import game.model.Player;
+import game.model.rules.Move;
+import game.model.rules.Position;
 import utilities.GameColor;
 import utilities.Language;
-import utilities.MatrixUtilities;
 import game.controller.Game;
 
 import java.io.Serializable;
@@ -16,6 +16,11 @@ import java.io.Serializable;
  */
 public class FirstLevel extends ArtificialPlayer implements Serializable {
 
+    /**
+     * The array in which the correct moves of the player are written
+     */
+    private final int[] moves = new int[Position.MAX_MOVES];
+
     /**
      * Constructor of the class that initializes an artificial player of level 1
      * and that sets the artificialPlayer boolean to true in the superclass Player
@@ -38,87 +43,33 @@ public class FirstLevel extends ArtificialPlayer implements Serializable {
     }
 
     /**
-     * Allows to compute the move that will be done by the player. In this level,
-     * the move done is a random move. This means that a pawn is chosen randomly
-     * and then the direction where it goes is chosen randomly too. The displacement
-     * is computed and the operation is done until it is correct. Waits 1 second
-     * before playing.
+     * Allows to compute the move that will be done by the player, in the format used by the views.
      * @param board   the board of Elements where the game is taking place
      * @param adverse the adverse of this player
      * @param game    the current game
-     * @return a correct random displacement
+     * @return a correct random displacement (or [-1, -1, -1] if the player can't move any pawn)
      */
     @Override
     public int[] play(Element[][] board, Player adverse, Game game) {
-        int[] coordinates = new int[]{-1, -1, -1};
-        Pawn p;
-        int i;
-        while (this.incorrectMove(coordinates, adverse, game)) {
-            i = (int) (Math.random() * this.getPawns().size());
-            p = this.getPawns().get(i);
-            int j = 0;
-            do {
-                i = (int) (Math.random() * 8);
-                coordinates = getDisplacement(i, board, p);
-                j++;
-            } while (this.incorrectMove(coordinates, adverse, game) && j < 8);
-        }
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-        return coordinates;
+        return game.getGameBoard().getCoordinates(this.playMove(board, adverse, game));
     }
 
     /**
-     * Allows to compute a test for a displacement. First creating the
-     * array corresponding to the displacement (the direction is indicated
-     * by the i parameter that must be between 0 and 7). Then returns the
-     * array giving the coordinates of the displacement.
-     * @param i the index corresponding to the chosen direction
-     * @param board the matrix of Elements corresponding to the board
-     * @param p the pawn to move
-     * @return the array of the coordinates of the displacement
+     * Allows to compute the move that will be done by the player. In this level,
+     * the move done is a random move. This means that all the correct moves of the
+     * player are computed and that one of them is chosen randomly. The move is returned
+     * at once, the game waits before showing it.
+     * @param board   the board of Elements where the game is taking place
+     * @param adverse the adverse of this player
+     * @param game    the current game
+     * @return a correct random move (or Move.NONE if the player can't move any pawn)
      */
-    private int[] getDisplacement(int i, Element[][] board, Pawn p){
-        int nbPawns;
-        int[] coordinates = {-1, -1, -1};
-        switch (i){
-            case 0: //east
-                nbPawns = MatrixUtilities.countObjectColumn(board, p.getColumnIndex());
-                coordinates = new int[]{p.getNUMBER(), p.getLineIndex(), p.getColumnIndex() + nbPawns};
-                break;
-            case 1: //west
-                nbPawns = MatrixUtilities.countObjectColumn(board, p.getColumnIndex());
-                coordinates = new int[]{p.getNUMBER(), p.getLineIndex(), p.getColumnIndex() - nbPawns};
-                break;
-            case 2: //south
-                nbPawns = MatrixUtilities.countObjectLine(board, p.getLineIndex());
-                coordinates = new int[]{p.getNUMBER(), p.getLineIndex() + nbPawns, p.getColumnIndex()};
-                break;
-            case 3: //north
-                nbPawns = MatrixUtilities.countObjectLine(board, p.getLineIndex());
-                coordinates = new int[]{p.getNUMBER(), p.getLineIndex() - nbPawns, p.getColumnIndex()};
-                break;
-            case 4: //southwest
-                nbPawns = MatrixUtilities.countObjectDiagAsc(board, p.getLineIndex(), p.getColumnIndex());
-                coordinates = new int[]{p.getNUMBER(), p.getLineIndex() + nbPawns, p.getColumnIndex() - nbPawns};
-                break;
-            case 5: //northeast
-                nbPawns = MatrixUtilities.countObjectDiagAsc(board, p.getLineIndex(), p.getColumnIndex());
-                coordinates = new int[]{p.getNUMBER(), p.getLineIndex() - nbPawns, p.getColumnIndex() + nbPawns};
-                break;
-            case 6: //southeast
-                nbPawns = MatrixUtilities.countObjectDiagDesc(board, p.getLineIndex(), p.getColumnIndex());
-                coordinates = new int[]{p.getNUMBER(), p.getLineIndex() + nbPawns, p.getColumnIndex() + nbPawns};
-                break;
-            case 7: //northwest
-                nbPawns = MatrixUtilities.countObjectDiagDesc(board, p.getLineIndex(), p.getColumnIndex());
-                coordinates = new int[]{p.getNUMBER(), p.getLineIndex() - nbPawns, p.getColumnIndex() - nbPawns};
-                break;
-        }
-        return coordinates;
+    @Override
+    public int playMove(Element[][] board, Player adverse, Game game) {
+        int move = Move.NONE;
+        int count = game.getGameBoard().generateMoves(this, this.moves);
+        if (count > 0) move = this.moves[(int) (Math.random() * count)];
+        return move;
     }
 
     /**
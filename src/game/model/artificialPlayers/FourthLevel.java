@@ -0,0 +1,201 @@
+package game.model.artificialPlayers;
+
+import game.controller.Game;
+import game.model.Element;
+import game.model.GameBoard;
+import game.model.Player;
+import game.model.rules.Move;
+import game.model.rules.Position;
+import game.model.search.MonteCarloSearch;
+import utilities.GameColor;
+import utilities.Language;
+
+import java.io.Serializable;
+import java.util.Random;
+
+/**
+ * Java class that allows to create an artificial player against which a human player will be able
+ * to play in one-player games. This player uses a Monte Carlo tree search : it plays a lot of quick
+ * games from the current position and plays the move that led to the best results. The more games
+ * it is allowed to play, the stronger it is. Its trees are kept from one move to another.
+ */
+public class FourthLevel extends ArtificialPlayer implements Serializable {
+
+    /**
+     * The default time the player has to find its move (in milliseconds)
+     */
+    private final static long DEFAULT_TIME = 1000;
+    /**
+     * The time the player has to find its move (in milliseconds, 0 if there's no limit)
+     */
+    private long time = DEFAULT_TIME;
+    /**
+     * The number of quick games played for a move (0 if there's no limit)
+     */
+    private long playouts;
+    /**
+     * The number of threads used to search
+     */
+    private int threads = 1;
+    /**
+     * The seed of the random numbers of the search
+     */
+    private long seed = new Random().nextLong();
+    /**
+     * The search and its trees kept from one move to another (created the first time it is
+     * needed and so it is not saved)
+     */
+    transient private volatile MonteCarloSearch search;
+
+    /**
+     * Constructor of the class that initializes an artificial player of level 4
+     * and that sets the artificialPlayer boolean to true in the superclass Player
+     * (which is the superclass of its superclass)
+     * @param name the name of the player
+     * @param color the color of the player
+     */
+    public FourthLevel(String name, GameColor color) {
+        super(name, color);
+        this.setArtificialPlayer(true);
+    }
+
+    /**
+     * Constructor of the class that creates a temporary artificial player
+     * object. The goal of this object should be to use its createPlayer method
+     * to obtain a fully competent player.
+     */
+    public FourthLevel() {
+        super("", GameColor.WHITE);
+    }
+
+    /**
+     * Allows to compute the move that will be done by the player, in the format used by the views.
+     * @param board   the board of Elements where the game is taking place
+     * @param adverse the adverse of this player
+     * @param game    the current game
+     * @return the best displacement found according to the format [pawn, line, column]
+     */
+    @Override
+    public int[] play(Element[][] board, Player adverse, Game game) {
+        return game.getGameBoard().getCoordinates(this.playMove(board, adverse, game));
+    }
+
+    /**
+     * Allows to compute the move that will be done by the player. A move of the opening book is
+     * played if the position is in it, otherwise quick games are played from the position until the
+     * time or the number of games allowed for a move is reached, then the move that was tried the
+     * most is played.
+     * @param board   the board of Elements where the game is taking place
+     * @param adverse the adverse of this player
+     * @param game    the current game
+     * @return the best move found written as in the Move class (or Move.NONE if the player can't move any pawn)
+     */
+    @Override
+    public int playMove(Element[][] board, Player adverse, Game game) {
+        int bookMove = this.playBookMove(game, this.seed);
+        if (bookMove != Move.NONE) return bookMove;
+        GameBoard gameBoard = game.getGameBoard();
+        return this.getSearch().run(gameBoard.getPosition(), gameBoard.getSide(this), this.time, this.playouts);
+    }
+
+    /**
+     * Allows to create the search done during the turn of the adverse : the trees grow from the
+     * position where the adverse has to play, so the next search goes on from the move it plays.
+     * @param game the current game, in which the adverse has to play
+     * @return the search to do
+     */
+    @Override
+    protected Runnable createPonderingTask(Game game) {
+        GameBoard gameBoard = game.getGameBoard();
+        Position position = gameBoard.getPosition().copy();
+        int side = gameBoard.getSide(this);
+        MonteCarloSearch search = this.getSearch();
+        return () -> search.ponder(position, side);
+    }
+
+    /**
+     * Allows to get the search of the player, it is created the first time it is needed.
+     * @return the search and its trees
+     */
+    private MonteCarloSearch getSearch() {
+        if (this.search == null) this.search = new MonteCarloSearch(this.threads, this.seed);
+        return this.search;
+    }
+
+    /**
+     * Allows to set the limits of the search of each move. At least one of them must be set.
+     * @param time the time the player has to find its move (in milliseconds, 0 if there's no limit)
+     * @param playouts the number of quick games played for a move (0 if there's no limit)
+     */
+    public void setLimits(long time, long playouts) {
+        if (time >= 0 && playouts >= 0 && (time > 0 || playouts > 0)) {
+            this.time = time;
+            this.playouts = playouts;
+        } else throw new IllegalArgumentException("Search limits error");
+    }
+
+    /**
+     * Allows to set the number of threads used to search, each thread grows its own tree and
+     * the trees are created again (empty) the next time the player has to play.
+     * @param threads the number of threads (at least 1)
+     */
+    public void setThreads(int threads) {
+        if (threads >= 1) {
+            this.threads = threads;
+            this.resetSearch();
+        } else throw new IllegalArgumentException("Threads number error");
+    }
+
+    /**
+     * Allows to set the seed of the random numbers of the search and of the choice of the moves of
+     * the opening book, so that the player always plays the same moves in the same positions (when
+     * its search is limited by a number of games on one thread).
+     * The trees are created again (empty) the next time the player has to play.
+     * @param seed the seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.resetSearch();
+    }
+
+    /**
+     * Allows to stop the current search from another thread, the best move found so far is played.
+     */
+    @Override
+    public void stop() {
+        MonteCarloSearch search = this.search;
+        if (search != null) search.stop();
+    }
+
+    /**
+     * Allows to stop the threads of the current search so that a new search is created
+     * the next time the player has to play.
+     */
+    private void resetSearch() {
+        this.stopPondering();
+        if (this.search != null) this.search.close();
+        this.search = null;
+    }
+
+    /**
+     * Allows to create a FourthLevel artificial player based on
+     * the color chosen by its adverse.
+     * @param color the already chosen color
+     * @return the new FourthLevel player.
+     */
+    @Override
+    public ArtificialPlayer createPlayer(GameColor color) {
+        if (color == GameColor.WHITE) return new FourthLevel("ord", GameColor.getRandomColor(color));
+        else return new FourthLevel("ord", GameColor.WHITE);
+    }
+
+    /**
+     * Allows to print the level of this player in the corresponding
+     * language.
+     * @return the String representation of a FourthLevel player
+     */
+    @Override
+    public String toString() {
+        return Language.getText("level4");
+    }
+}
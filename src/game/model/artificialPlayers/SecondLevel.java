@@ -5,9 +5,11 @@ import game.model.Element;
 import game.model.GameBoard;
 import game.model.Pawn;
 import game.model.Player;
+import game.model.rules.Bitboards;
+import game.model.rules.Move;
+import game.model.rules.Position;
 import utilities.GameColor;
 import utilities.Language;
-import utilities.MatrixUtilities;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -20,6 +22,11 @@ import java.util.TreeMap;
  */
 public class SecondLevel extends ArtificialPlayer implements Serializable {
 
+    /**
+     * The array in which the correct moves of the player are written
+     */
+    private final int[] moves = new int[Position.MAX_MOVES];
+
     /**
      * Constructor of the class that initializes an artificial player of level 2
      * and that sets the artificialPlayer boolean to true in the superclass Player
@@ -45,17 +52,17 @@ public class SecondLevel extends ArtificialPlayer implements Serializable {
      * Allows to compute the move that will be done by the player. In this level and
      * while all the pawns are separated, the most far pawn will be bring back to the
      * center of the pawn. After this, this player will try to bring back the pawn
-     * that is the most far to the biggest chain of pawns to this chain. Waits 1 second
-     * before playing.
+     * that is the most far to the biggest chain of pawns to this chain. The move is
+     * returned at once, the game waits before showing it.
      * @param board   the board of Elements where the game is taking place
      * @param adverse the adverse of this player
      * @param game    the current game
-     * @return a correct displacement
+     * @return a correct move written as in the Move class
      */
     @Override
-    public int[] play(Element[][] board, Player adverse, Game game) {
-        ArrayList<Pawn> biggestChain = this.biggestChain(board);
-        int[] move;
+    public int playMove(Element[][] board, Player adverse, Game game) {
+        ArrayList<Pawn> biggestChain = this.biggestChain(game.getGameBoard());
+        int move;
         if (biggestChain.size() == 1) {
             move = this.goToAPoint(board, game, adverse, GameBoard.getDIMENSION() / 2, GameBoard.getDIMENSION() / 2, biggestChain);
         } else {
@@ -66,19 +73,27 @@ public class SecondLevel extends ArtificialPlayer implements Serializable {
                 move = this.goToAPoint(board, game, adverse, biggestChain.get(0).getLineIndex(), biggestChain.get(0).getColumnIndex(), littleChain);
             }
         }
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
         return move;
     }
 
+    /**
+     * Allows to compute the move that will be done by the player, in the format used by the views.
+     * @param board   the board of Elements where the game is taking place
+     * @param adverse the adverse of this player
+     * @param game    the current game
+     * @return a correct displacement according to the format [pawn, line, column]
+     */
+    @Override
+    public int[] play(Element[][] board, Player adverse, Game game) {
+        return game.getGameBoard().getCoordinates(this.playMove(board, adverse, game));
+    }
+
     /**
      * Allows to bring back the most far pawn of a point to this point, if it's not
      * possible, the second more far point if bring back ... If all the best moves for
      * all pawns that are not in chain are impossibles, the second best move is done.
-     * If it is still not possible, a pretty random move is done.
+     * If it is still not possible, a pretty random move is done and if no pawn that is not in the chain
+     * can move, the first correct move of the player is done.
      * @param board the board of Elements where the game is taking place
      * @param game the current game
      * @param adverse the adverse of this player
@@ -87,35 +102,38 @@ public class SecondLevel extends ArtificialPlayer implements Serializable {
      * @param biggestChain the ArrayList containing the pawns that are in the biggest chain of pawns on the board
      * @return the best move to do considering this method
      */
-    private int[] goToAPoint(Element[][] board, Game game, Player adverse, int line, int column, ArrayList<Pawn> biggestChain) {
+    private int goToAPoint(Element[][] board, Game game, Player adverse, int line, int column, ArrayList<Pawn> biggestChain) {
         ArrayList<Pawn> notInChain = new ArrayList<>(this.getPawns());
         notInChain.removeAll(biggestChain);
         ArrayList<Pawn> pawns = this.farFromPointOrdered(line, column, notInChain);
         boolean hasMoved;
-        int[] moves;
+        int move = Move.NONE;
         int i = pawns.size() - 1;
         do {
-            moves = this.bestMove(pawns.get(i), board, line, column);
-            hasMoved = !this.incorrectMove(moves, adverse, game);
+            move = this.bestMove(pawns.get(i), game.getGameBoard(), line, column);
+            hasMoved = !this.incorrectMove(move, adverse, game);
             i--;
         } while (!hasMoved && i >= 0);
         if (!hasMoved) {
             i = pawns.size() - 1;
             do {
-                moves = this.secondBestMove(pawns.get(i), board, line, column);
-                hasMoved = !this.incorrectMove(moves, adverse, game);
+                move = this.secondBestMove(pawns.get(i), game.getGameBoard(), line, column);
+                hasMoved = !this.incorrectMove(move, adverse, game);
                 i--;
             } while (!hasMoved && i >= 0);
         }
         if (!hasMoved) {
             i = pawns.size() - 1;
             do {
-                moves = this.randomMove(pawns.get(i), board, game, adverse);
-                hasMoved = !this.incorrectMove(moves, adverse, game);
+                move = this.randomMove(pawns.get(i), game.getGameBoard());
+                hasMoved = !this.incorrectMove(move, adverse, game);
                 i--;
             } while (!hasMoved && i >= 0);
         }
-        return moves;
+        if (!hasMoved && game.getGameBoard().generateMoves(this, this.moves) > 0) {
+            move = this.moves[0];
+        }
+        return move;
     }
 
     /**
@@ -143,77 +161,88 @@ public class SecondLevel extends ArtificialPlayer implements Serializable {
      * of the point is higher than the difference between the column, the pawn move on the line. Else
      * it moves on the column. If both differences are the same the pawn moves diagonally.
      * @param pawn the pawn to move
-     * @param board the board of Elements where the game is taking place
+     * @param gameBoard the board where the game is taking place
      * @param line the line of the point
      * @param column the line of the column
-     * @return the coordinates of the displacement according to the format [pawn, line, column]
+     * @return the move written as in the Move class (or Move.NONE if the square is not on the board)
      */
-    private int[] bestMove(Pawn pawn, Element[][] board, int line, int column) {
+    private int bestMove(Pawn pawn, GameBoard gameBoard, int line, int column) {
         int lineDifference = pawn.getLineIndex() - line;
         int columnDifference = pawn.getColumnIndex() - column;
-        int lineNumber = MatrixUtilities.countObjectLine(board, pawn.getLineIndex());
-        int columnNumber = MatrixUtilities.countObjectColumn(board, pawn.getColumnIndex());
-        int[] moves = new int[3];
-        moves[0] = pawn.getNUMBER();
+        int lineNumber = gameBoard.countLine(pawn.getLineIndex());
+        int columnNumber = gameBoard.countColumn(pawn.getColumnIndex());
+        int nextLine, nextColumn;
         if (Math.abs(lineDifference) > Math.abs(columnDifference)) {
-            moves[2] = pawn.getColumnIndex();
-            if (lineDifference > 0) moves[1] = pawn.getLineIndex() - columnNumber;
-            else moves[1] = pawn.getLineIndex() + columnNumber;
+            nextColumn = pawn.getColumnIndex();
+            if (lineDifference > 0) nextLine = pawn.getLineIndex() - columnNumber;
+            else nextLine = pawn.getLineIndex() + columnNumber;
         } else if (Math.abs(lineDifference) < Math.abs(columnDifference)) {
-            moves[1] = pawn.getLineIndex();
-            if (columnDifference > 0) moves[2] = pawn.getColumnIndex() - lineNumber;
-            else moves[2] = pawn.getColumnIndex() + lineNumber;
+            nextLine = pawn.getLineIndex();
+            if (columnDifference > 0) nextColumn = pawn.getColumnIndex() - lineNumber;
+            else nextColumn = pawn.getColumnIndex() + lineNumber;
         } else {
-            int diagAscNumber = MatrixUtilities.countObjectDiagAsc(board, pawn.getLineIndex(), pawn.getColumnIndex());
-            int diagDescNumber = MatrixUtilities.countObjectDiagDesc(board, pawn.getLineIndex(), pawn.getColumnIndex());
+            int diagAscNumber = gameBoard.countDiagAsc(pawn.getLineIndex(), pawn.getColumnIndex());
+            int diagDescNumber = gameBoard.countDiagDesc(pawn.getLineIndex(), pawn.getColumnIndex());
             if (lineDifference > 0) {
-                moves[1] = pawn.getLineIndex() + MatrixUtilities.countObjectDiagAsc(board, pawn.getLineIndex(), pawn.getColumnIndex());
                 if (columnDifference > 0) {
-                    moves[1] = pawn.getLineIndex() - diagDescNumber;
-                    moves[2] = pawn.getColumnIndex() - diagDescNumber;
+                    nextLine = pawn.getLineIndex() - diagDescNumber;
+                    nextColumn = pawn.getColumnIndex() - diagDescNumber;
                 } else {
-                    moves[1] = pawn.getLineIndex() - diagAscNumber;
-                    moves[2] = pawn.getColumnIndex() + diagAscNumber;
+                    nextLine = pawn.getLineIndex() - diagAscNumber;
+                    nextColumn = pawn.getColumnIndex() + diagAscNumber;
                 }
             } else {
                 if (columnDifference > 0) {
-                    moves[1] = pawn.getLineIndex() + diagAscNumber;
-                    moves[2] = pawn.getColumnIndex() - diagAscNumber;
+                    nextLine = pawn.getLineIndex() + diagAscNumber;
+                    nextColumn = pawn.getColumnIndex() - diagAscNumber;
                 } else {
-                    moves[1] = pawn.getLineIndex() + diagDescNumber;
-                    moves[2] = pawn.getColumnIndex() + diagDescNumber;
+                    nextLine = pawn.getLineIndex() + diagDescNumber;
+                    nextColumn = pawn.getColumnIndex() + diagDescNumber;
                 }
             }
         }
-        return moves;
+        return this.createMove(pawn, gameBoard, nextLine, nextColumn);
     }
 
     /**
      * Allows to compute the best move for a pawn considering its distance to the point identified
      * by the line and the column.
      * @param pawn the pawn to move
-     * @param board the matrix of Elements where the game is taking place
+     * @param gameBoard the board where the game is taking place
      * @param line the line of the point
      * @param column the line of the column
-     * @return the coordinates of the displacement according to the format [pawn, line, column]
+     * @return the move written as in the Move class (or Move.NONE if the square is not on the board)
      */
-    private int[] secondBestMove(Pawn pawn, Element[][] board, int line, int column) {
+    private int secondBestMove(Pawn pawn, GameBoard gameBoard, int line, int column) {
         int lineDifference = pawn.getLineIndex() - line;
         int columnDifference = pawn.getColumnIndex() - column;
-        int lineNumber = MatrixUtilities.countObjectLine(board, pawn.getLineIndex());
-        int columnNumber = MatrixUtilities.countObjectColumn(board, pawn.getColumnIndex());
-        int[] moves = new int[3];
-        moves[0] = pawn.getNUMBER();
+        int lineNumber = gameBoard.countLine(pawn.getLineIndex());
+        int columnNumber = gameBoard.countColumn(pawn.getColumnIndex());
+        int nextLine, nextColumn;
         if (Math.abs(lineDifference) > Math.abs(columnDifference)) {
-            moves[1] = pawn.getLineIndex();
-            if (columnDifference > 0) moves[2] = pawn.getColumnIndex() - columnNumber;
-            else moves[2] = pawn.getColumnIndex() + columnNumber;
+            nextLine = pawn.getLineIndex();
+            if (columnDifference > 0) nextColumn = pawn.getColumnIndex() - columnNumber;
+            else nextColumn = pawn.getColumnIndex() + columnNumber;
         } else {
-            moves[2] = pawn.getColumnIndex();
-            if (lineDifference > 0) moves[1] = pawn.getLineIndex() - lineNumber;
-            else moves[1] = pawn.getLineIndex() + lineNumber;
+            nextColumn = pawn.getColumnIndex();
+            if (lineDifference > 0) nextLine = pawn.getLineIndex() - lineNumber;
+            else nextLine = pawn.getLineIndex() + lineNumber;
         }
-        return moves;
+        return this.createMove(pawn, gameBoard, nextLine, nextColumn);
+    }
+
+    /**
+     * Allows to write the move of a pawn to a square as in the Move class.
+     * @param pawn the pawn to move
+     * @param gameBoard the board where the game is taking place
+     * @param line the line where the pawn goes
+     * @param column the column where the pawn goes
+     * @return the move or Move.NONE if the square is not on the board
+     */
+    private int createMove(Pawn pawn, GameBoard gameBoard, int line, int column) {
+        if (!Position.isOnBoard(line, column)) return Move.NONE;
+        return gameBoard.getPosition().createMove(Position.square(pawn.getLineIndex(), pawn.getColumnIndex()),
+                Position.square(line, column));
     }
 
     /**
@@ -221,75 +250,62 @@ public class SecondLevel extends ArtificialPlayer implements Serializable {
      * in any direction, this method will find it and returns the first possible
      * displacement that is found.
      * @param pawn the pawn to move
-     * @param board the matrix of Elements where the game is taking place
-     * @param game the current game
-     * @param adverse the adverse of this player
-     * @return the coordinates of the displacement according to the format [pawn, line, column]
+     * @param gameBoard the board where the game is taking place
+     * @return the move written as in the Move class (or Move.NONE if the pawn can't move)
      */
-    private int[] randomMove(Pawn pawn, Element[][] board, Game game, Player adverse) {
-        int columnNumber = MatrixUtilities.countObjectColumn(board, pawn.getColumnIndex());
-        int lineNumber = MatrixUtilities.countObjectLine(board, pawn.getLineIndex());
-        int[] move = {pawn.getNUMBER(), pawn.getLineIndex(), pawn.getColumnIndex() - lineNumber};
-        if (incorrectMove(move, adverse, game)) {
-            move[2] = pawn.getColumnIndex() + lineNumber;
-        }
-        if (incorrectMove(move, adverse, game)) {
-            move[2] = pawn.getColumnIndex();
-            move[1] = pawn.getLineIndex() - columnNumber;
-        }
-        if (incorrectMove(move, adverse, game)) {
-            move[1] = pawn.getLineIndex() + columnNumber;
+    private int randomMove(Pawn pawn, GameBoard gameBoard) {
+        int count = gameBoard.generateMoves(this, this.moves);
+        int square = Position.square(pawn.getLineIndex(), pawn.getColumnIndex());
+        for (int i = 0; i < count; i++) {
+            if (Move.from(this.moves[i]) == square) return this.moves[i];
         }
-        if (incorrectMove(move, adverse, game)) {
-            int diagAscNumber = MatrixUtilities.countObjectDiagAsc(board, pawn.getLineIndex(), pawn.getColumnIndex());
-            int diagDescNumber = MatrixUtilities.countObjectDiagDesc(board, pawn.getLineIndex(), pawn.getColumnIndex());
-            move[1] = pawn.getLineIndex() + diagAscNumber;
-            move[2] = pawn.getColumnIndex() - diagAscNumber;
-            if (incorrectMove(move, adverse, game)) {
-                move[1] = pawn.getLineIndex() + diagDescNumber;
-                move[2] = pawn.getColumnIndex() + diagDescNumber;
-            }
-            if (incorrectMove(move, adverse, game)) {
-                move[1] = pawn.getLineIndex() - diagAscNumber;
-                move[2] = pawn.getColumnIndex() + diagAscNumber;
-            }
-            if (incorrectMove(move, adverse, game)) {
-                move[1] = pawn.getLineIndex() - diagDescNumber;
-                move[2] = pawn.getColumnIndex() - diagDescNumber;
-            }
-        }
-        return move;
+        return Move.NONE;
     }
 
     /**
      * Allows to get the biggest chain of pawns of this player in the current game board in an
-     * ArrayList of pawns.
-     * @param board the matrix of Elements where the game is taking place
+     * ArrayList of pawns. The chains are found on the squares of the position : the squares of
+     * the pawns connected to a pawn are filled from its square, so no list has to be searched.
+     * The first pawn of a chain is the first pawn of the list of pawns of this player that is in it.
+     * @param gameBoard the board where the game is taking place
      * @return the biggest chain of pawns.
      */
-    private ArrayList<Pawn> biggestChain(Element[][] board) {
-        ArrayList<Pawn> toDo = new ArrayList<>(this.getPawns());
-        ArrayList<ArrayList<Pawn>> chains = new ArrayList<>();
-        while (!toDo.isEmpty()) {
-            ArrayList<Pawn> toTreat = new ArrayList<>();
-            toTreat.add(toDo.get(0));
-            ArrayList<Pawn> aChain = new ArrayList<>();
-            toDo.remove(toDo.get(0));
-            while (!toTreat.isEmpty()) {
-                aChain.add(toTreat.get(0));
-                toTreat.addAll(MatrixUtilities.getNeighbours(board, toTreat.get(0).getColumnIndex(), toTreat.get(0).getLineIndex(), toDo));
-                toDo.removeAll(toTreat);
-                toTreat.remove(0);
-            }
-            chains.add(aChain);
+    private ArrayList<Pawn> biggestChain(GameBoard gameBoard) {
+        Position position = gameBoard.getPosition();
+        int side = gameBoard.getSide(this);
+        long low = position.getLow(side);
+        long high = position.getHigh(side);
+        int zen = position.getZenSquare();
+        if (zen != Position.EMPTY) {
+            if (zen < 64) low |= 1L << zen;
+            else high |= 1L << (zen - 64);
         }
-        toDo = new ArrayList<>();
-        for (ArrayList<Pawn> list : chains) {
-            if (list.size() > toDo.size()) {
-                toDo = list;
+        long[] component = new long[2];
+        long doneLow = 0, doneHigh = 0, bestLow = 0, bestHigh = 0;
+        int bestSize = 0;
+        for (Pawn pawn : this.getPawns()) {
+            int square = Position.square(pawn.getLineIndex(), pawn.getColumnIndex());
+            boolean done = (square < 64) ? (doneLow & 1L << square) != 0 : (doneHigh & 1L << (square - 64)) != 0;
+            if (!done) {
+                component[0] = (square < 64) ? 1L << square : 0;
+                component[1] = (square < 64) ? 0 : 1L << (square - 64);
+                Bitboards.fill(low, high, component);
+                doneLow |= component[0];
+                doneHigh |= component[1];
+                int size = Long.bitCount(component[0]) + Long.bitCount(component[1]);
+                if (size > bestSize) {
+                    bestSize = size;
+                    bestLow = component[0];
+                    bestHigh = component[1];
+                }
             }
         }
-        return toDo;
+        ArrayList<Pawn> chain = new ArrayList<>(bestSize);
+        for (Pawn pawn : this.getPawns()) {
+            int square = Position.square(pawn.getLineIndex(), pawn.getColumnIndex());
+            if ((square < 64) ? (bestLow & 1L << square) != 0 : (bestHigh & 1L << (square - 64)) != 0) chain.add(pawn);
+        }
+        return chain;
     }
 
     /**
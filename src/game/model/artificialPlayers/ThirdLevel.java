@@ -0,0 +1,347 @@
+package game.model.artificialPlayers;
+
+import game.controller.Game;
+import game.model.Element;
+import game.model.GameBoard;
+import game.model.Player;
+import game.model.rules.Move;
+import game.model.rules.Position;
+import game.model.search.ParallelSearch;
+import game.model.search.Search;
+import game.model.search.TimeManager;
+import game.model.search.TranspositionTable;
+import utilities.GameColor;
+import utilities.Language;
+
+import java.io.Serializable;
+import java.util.Random;
+
+/**
+ * Java class that allows to create an artificial player against which a human player will be able
+ * to play in one-player games. This level is the most difficult one : the player looks at the next
+ * moves of both players with an alpha-beta search and plays the best move found in the time it has.
+ * The player can also be made weaker with a skill from 0 to MAX_SKILL : below MAX_SKILL, the
+ * search is limited by a number of nodes that doubles with each skill (so the weak players are
+ * also cheap to compute) and a noise that decreases with the skill is added to the evaluation.
+ * The nodes don't depend on the speed of the computer, so a skill always plays the same way.
+ * The player can also have a clock for the whole game instead of a time for each move : the time
+ * of each search is then chosen by a TimeManager from the time left on the clock.
+ */
+public class ThirdLevel extends ArtificialPlayer implements Serializable {
+
+    /**
+     * The default time the player has to find its move (in milliseconds)
+     */
+    private final static long DEFAULT_TIME = 1000;
+    /**
+     * The default size of the transposition table (in megabytes)
+     */
+    private final static int DEFAULT_HASH_SIZE = 16;
+    /**
+     * The skill of the strongest player, which searches with the limits given by setLimits()
+     */
+    public final static int MAX_SKILL = 10;
+    /**
+     * The number of nodes searched for a move with the skill 0 (the number doubles with each skill)
+     */
+    private final static long SKILL_NODES = 100;
+    /**
+     * The highest noise added to the evaluation for each skill below MAX_SKILL
+     */
+    private final static int SKILL_NOISE = 20;
+    /**
+     * The size of the transposition table of the players whose skill is below MAX_SKILL (in megabytes)
+     */
+    private final static int SKILL_HASH_SIZE = 1;
+    /**
+     * The time the player has to find its move (in milliseconds, 0 if there's no limit)
+     */
+    private long time = DEFAULT_TIME;
+    /**
+     * The maximal number of nodes searched for a move (0 if there's no limit)
+     */
+    private long nodes;
+    /**
+     * The maximal depth of the search
+     */
+    private int depth = Search.MAX_PLY;
+    /**
+     * The size of the transposition table (in megabytes)
+     */
+    private int hashSize = DEFAULT_HASH_SIZE;
+    /**
+     * The number of threads used to search
+     */
+    private int threads = 1;
+    /**
+     * The skill of the player (from 0 to MAX_SKILL)
+     */
+    private int skill = MAX_SKILL;
+    /**
+     * The seed of the noise added to the evaluation
+     */
+    private long seed = new Random().nextLong();
+    /**
+     * The time of the clock of the player at the beginning of a game (in milliseconds, 0 if there's no clock)
+     */
+    private long clock;
+    /**
+     * The time added to the clock after each move (in milliseconds)
+     */
+    private long increment;
+    /**
+     * The time left on the clock of the player (in milliseconds)
+     */
+    private long remaining;
+    /**
+     * The search and its transposition table kept from one move to another (created the first
+     * time it is needed and so it is not saved)
+     */
+    transient private volatile ParallelSearch search;
+
+    /**
+     * Constructor of the class that initializes an artificial player of level 3
+     * and that sets the artificialPlayer boolean to true in the superclass Player
+     * (which is the superclass of its superclass)
+     * @param name the name of the player
+     * @param color the color of the player
+     */
+    public ThirdLevel(String name, GameColor color) {
+        super(name, color);
+        this.setArtificialPlayer(true);
+    }
+
+    /**
+     * Constructor of the class that creates a temporary artificial player
+     * object. The goal of this object should be to use its createPlayer method
+     * to obtain a fully competent player.
+     */
+    public ThirdLevel() {
+        super("", GameColor.WHITE);
+    }
+
+    /**
+     * Allows to compute the move that will be done by the player, in the format used by the views.
+     * @param board   the board of Elements where the game is taking place
+     * @param adverse the adverse of this player
+     * @param game    the current game
+     * @return the best displacement found according to the format [pawn, line, column]
+     */
+    @Override
+    public int[] play(Element[][] board, Player adverse, Game game) {
+        return game.getGameBoard().getCoordinates(this.playMove(board, adverse, game));
+    }
+
+    /**
+     * Allows to compute the move that will be done by the player. A move of the opening book is
+     * played if the position is in it, otherwise the position is searched deeper and deeper until
+     * the time or the number of nodes allowed for a move is reached, then the best move found is played.
+     * If the player has a clock, it is set again at the first move of a game, the time of the search
+     * is chosen from the time left and the time spent is taken off the clock.
+     * @param board   the board of Elements where the game is taking place
+     * @param adverse the adverse of this player
+     * @param game    the current game
+     * @return the best move found written as in the Move class (or Move.NONE if the player can't move any pawn)
+     */
+    @Override
+    public int playMove(Element[][] board, Player adverse, Game game) {
+        if (this.clock == 0) return this.chooseMove(game, null);
+        Position position = game.getGameBoard().getPosition();
+        if (position.getPly() < 2) this.remaining = this.clock;
+        TimeManager timeManager = new TimeManager();
+        timeManager.start(this.remaining, this.increment, position.getPly() / 2, this.getPawns().size());
+        int move = this.chooseMove(game, timeManager);
+        this.remaining = Math.max(0, this.remaining - timeManager.getElapsed()) + this.increment;
+        return move;
+    }
+
+    /**
+     * Allows to play a move of the opening book or to search the best move.
+     * @param game        the current game
+     * @param timeManager the time manager of the search (or null to use the time allowed for a move)
+     * @return the move written as in the Move class (or Move.NONE if the player can't move any pawn)
+     */
+    private int chooseMove(Game game, TimeManager timeManager) {
+        int bookMove = this.playBookMove(game, this.seed);
+        if (bookMove != Move.NONE) return bookMove;
+        GameBoard gameBoard = game.getGameBoard();
+        Position position = gameBoard.getPosition();
+        int side = gameBoard.getSide(this);
+        if (timeManager == null) return this.getSearch().run(position, side, this.depth, this.time, this.nodes);
+        else return this.getSearch().run(position, side, this.depth, timeManager, this.nodes);
+    }
+
+    /**
+     * Allows to create the search done during the turn of the adverse : the reply of the adverse
+     * predicted by the last search is played and the position obtained is searched until the adverse
+     * plays, so the next search finds the results in the transposition table.
+     * @param game the current game, in which the adverse has to play
+     * @return the search to do
+     */
+    @Override
+    protected Runnable createPonderingTask(Game game) {
+        GameBoard gameBoard = game.getGameBoard();
+        Position position = gameBoard.getPosition().copy();
+        int side = gameBoard.getSide(this);
+        ParallelSearch search = this.getSearch();
+        return () -> search.ponder(position, side);
+    }
+
+    /**
+     * Allows to get the search of the player, it is created the first time it is needed.
+     * @return the search and its transposition table
+     */
+    private ParallelSearch getSearch() {
+        if (this.search == null) {
+            ParallelSearch search = new ParallelSearch(this.threads, new TranspositionTable(this.hashSize));
+            search.setNoise(SKILL_NOISE * (MAX_SKILL - this.skill), this.seed);
+            this.search = search;
+        }
+        return this.search;
+    }
+
+    /**
+     * Allows to set the limits of the search of each move. At least one of the time and the
+     * number of nodes must be limited.
+     * @param time the time the player has to find its move (in milliseconds, 0 if there's no limit)
+     * @param nodes the maximal number of nodes searched for a move (0 if there's no limit)
+     * @param depth the maximal depth of the search (from 1 to Search.MAX_PLY)
+     */
+    public void setLimits(long time, long nodes, int depth) {
+        if (time >= 0 && nodes >= 0 && (time > 0 || nodes > 0) && depth >= 1 && depth <= Search.MAX_PLY) {
+            this.time = time;
+            this.nodes = nodes;
+            this.depth = depth;
+        } else throw new IllegalArgumentException("Search limits error");
+    }
+
+    /**
+     * Allows to set the skill of the player. Below MAX_SKILL, the player searches SKILL_NODES * 2^skill
+     * nodes for each move, without time limit, with a noise of at most SKILL_NOISE * (MAX_SKILL - skill)
+     * points added to the evaluation, with a small transposition table and without computing during the
+     * turn of its adverse. With MAX_SKILL, the default limits, table and pondering are used again.
+     * The limits, the size of the table and the pondering can still be changed after the skill.
+     * @param skill the skill (from 0 to MAX_SKILL)
+     */
+    public void setSkill(int skill) {
+        if (skill >= 0 && skill <= MAX_SKILL) {
+            this.skill = skill;
+            if (skill == MAX_SKILL) {
+                this.setLimits(DEFAULT_TIME, 0, Search.MAX_PLY);
+                this.hashSize = DEFAULT_HASH_SIZE;
+                this.setPondering(true);
+            } else {
+                this.setLimits(0, SKILL_NODES << skill, Search.MAX_PLY);
+                this.hashSize = SKILL_HASH_SIZE;
+                this.setPondering(false);
+            }
+            this.resetSearch();
+        } else throw new IllegalArgumentException("Skill error");
+    }
+
+    /**
+     * Allows to give the player a clock for the whole game : the time of each search is then chosen
+     * according to the time left, the number of the move, the number of pawns of the player, the
+     * stability of the best move and the drops of the score (see TimeManager), instead of the time
+     * given by setLimits(). The number of nodes and the depth of setLimits() are still used.
+     * @param clock     the time of the clock at the beginning of a game (in milliseconds, 0 to remove the clock)
+     * @param increment the time added to the clock after each move (in milliseconds)
+     */
+    public void setClock(long clock, long increment) {
+        if (clock >= 0 && increment >= 0) {
+            this.clock = clock;
+            this.increment = increment;
+            this.remaining = clock;
+        } else throw new IllegalArgumentException("Clock error");
+    }
+
+    /**
+     * @return the time left on the clock of the player (in milliseconds, 0 if there's no clock)
+     */
+    public long getRemainingTime() {
+        return this.remaining;
+    }
+
+    /**
+     * @return the skill of the player (from 0 to MAX_SKILL)
+     */
+    public int getSkill() {
+        return this.skill;
+    }
+
+    /**
+     * Allows to set the seed of the noise added to the evaluation and of the choice of the moves
+     * of the opening book, so that a player whose skill is below MAX_SKILL always plays the same
+     * moves in the same positions.
+     * @param seed the seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.resetSearch();
+    }
+
+    /**
+     * Allows to set the size of the transposition table, the table is created again (empty)
+     * the next time the player has to play.
+     * @param megabytes the size of the table in megabytes (at least 1)
+     */
+    public void setHashSize(int megabytes) {
+        if (megabytes >= 1) {
+            this.hashSize = megabytes;
+            this.resetSearch();
+        } else throw new IllegalArgumentException("Transposition table size error");
+    }
+
+    /**
+     * Allows to set the number of threads used to search, the threads share the same
+     * transposition table (which is created again, empty, the next time the player has to play).
+     * @param threads the number of threads (at least 1)
+     */
+    public void setThreads(int threads) {
+        if (threads >= 1) {
+            this.threads = threads;
+            this.resetSearch();
+        } else throw new IllegalArgumentException("Threads number error");
+    }
+
+    /**
+     * Allows to stop the current search from another thread, the best move found so far is played.
+     */
+    @Override
+    public void stop() {
+        ParallelSearch search = this.search;
+        if (search != null) search.stop();
+    }
+
+    /**
+     * Allows to stop the threads of the current search so that a new search is created
+     * the next time the player has to play.
+     */
+    private void resetSearch() {
+        this.stopPondering();
+        if (this.search != null) this.search.close();
+        this.search = null;
+    }
+
+    /**
+     * Allows to create a ThirdLevel artificial player based on
+     * the color chosen by its adverse.
+     * @param color the already chosen color
+     * @return the new ThirdLevel player.
+     */
+    @Override
+    public ArtificialPlayer createPlayer(GameColor color) {
+        if (color == GameColor.WHITE) return new ThirdLevel("ord", GameColor.getRandomColor(color));
+        else return new ThirdLevel("ord", GameColor.WHITE);
+    }
+
+    /**
+     * Allows to print the level of this player in the corresponding
+     * language.
+     * @return the String representation of a ThirdLevel player
+     */
+    @Override
+    public String toString() {
+        return Language.getText("level3");
+    }
+}
@@ -0,0 +1,103 @@
+package game.model.rules;
+
+/**
+ * Allows to perform basics operations on sets of squares of the board. A set of squares is
+ * represented by two longs like in the Position class : the low long contains the squares 0 to 63
+ * and the high long the squares 64 to 120. The results that are sets of squares are written in
+ * an array of two longs given by the caller so that no object is created.
+ */
+public class Bitboards {
+
+    /**
+     * The squares 64 to 120 of the board (the bits of the high long that are used)
+     */
+    public final static long HIGH_BOARD = (1L << (Position.SQUARES - 64)) - 1;
+    /**
+     * The squares 0 to 63 that are not on the first column
+     */
+    private final static long NOT_FIRST_COLUMN_LOW;
+    /**
+     * The squares 64 to 120 that are not on the first column
+     */
+    private final static long NOT_FIRST_COLUMN_HIGH;
+    /**
+     * The squares 0 to 63 that are not on the last column
+     */
+    private final static long NOT_LAST_COLUMN_LOW;
+    /**
+     * The squares 64 to 120 that are not on the last column
+     */
+    private final static long NOT_LAST_COLUMN_HIGH;
+
+    static {
+        long firstLow = 0, firstHigh = 0, lastLow = 0, lastHigh = 0;
+        for (int line = 0; line < Position.DIMENSION; line++) {
+            int first = Position.square(line, 0);
+            int last = Position.square(line, Position.DIMENSION - 1);
+            if (first < 64) firstLow |= 1L << first;
+            else firstHigh |= 1L << (first - 64);
+            if (last < 64) lastLow |= 1L << last;
+            else lastHigh |= 1L << (last - 64);
+        }
+        NOT_FIRST_COLUMN_LOW = ~firstLow;
+        NOT_FIRST_COLUMN_HIGH = ~firstHigh & HIGH_BOARD;
+        NOT_LAST_COLUMN_LOW = ~lastLow;
+        NOT_LAST_COLUMN_HIGH = ~lastHigh & HIGH_BOARD;
+    }
+
+    /**
+     * Allows to add to a set of squares all the squares that are in contact with them (sideways
+     * or diagonally).
+     *
+     * @param squares the set of squares, replaced by the set of squares with their neighbours
+     */
+    public static void spread(long[] squares) {
+        long low = squares[0];
+        long high = squares[1];
+        // east and west
+        long lineLow = low | ((low << 1) & NOT_FIRST_COLUMN_LOW) | (((low >>> 1) | (high << 63)) & NOT_LAST_COLUMN_LOW);
+        long lineHigh = high | (((high << 1) | (low >>> 63)) & NOT_FIRST_COLUMN_HIGH) | ((high >>> 1) & NOT_LAST_COLUMN_HIGH);
+        // south and north
+        squares[0] = lineLow | (lineLow << Position.DIMENSION) | ((lineLow >>> Position.DIMENSION) | (lineHigh << (64 - Position.DIMENSION)));
+        squares[1] = (lineHigh | ((lineHigh << Position.DIMENSION) | (lineLow >>> (64 - Position.DIMENSION))) | (lineHigh >>> Position.DIMENSION)) & HIGH_BOARD;
+    }
+
+    /**
+     * Allows to get the squares of a set that are connected to some first squares of this set
+     * (directly or by other squares of the set).
+     *
+     * @param low       the squares 0 to 63 of the set
+     * @param high      the squares 64 to 120 of the set
+     * @param component the first squares, replaced by all the squares connected to them
+     */
+    public static void fill(long low, long high, long[] component) {
+        long lastLow, lastHigh;
+        do {
+            lastLow = component[0];
+            lastHigh = component[1];
+            spread(component);
+            component[0] &= low;
+            component[1] &= high;
+        } while (component[0] != lastLow || component[1] != lastHigh);
+    }
+
+    /**
+     * Allows to know if a set of squares contains only one group of squares in contact.
+     *
+     * @param low     the squares 0 to 63 of the set
+     * @param high    the squares 64 to 120 of the set
+     * @param scratch an array of two longs used to do the computation
+     * @return true if the set is empty or if all its squares are connected
+     */
+    public static boolean isConnected(long low, long high, long[] scratch) {
+        if (low != 0) {
+            scratch[0] = Long.lowestOneBit(low);
+            scratch[1] = 0;
+        } else {
+            scratch[0] = 0;
+            scratch[1] = Long.lowestOneBit(high);
+        }
+        fill(low, high, scratch);
+        return scratch[0] == low && scratch[1] == high;
+    }
+}
@@ -0,0 +1,115 @@
+package game.model.rules;
+
+/**
+ * Java class that allows to write a move in a single int, so that the lists of moves are
+ * simple arrays of ints that can be sorted or saved in tables without creating any object.
+ * The bits 0 to 6 contain the square where the pawn is, the bits 7 to 13 the square where
+ * it goes, the bit 14 is set if the move eats a pawn and the bit 15 if the moved pawn is the
+ * Zen. The squares are numbered as in the Position class.
+ */
+public class Move {
+
+    /**
+     * The value used when there is no move (it is never the value of a move)
+     */
+    public final static int NONE = -1;
+    /**
+     * The bit set when the move eats a pawn
+     */
+    public final static int CAPTURE = 1 << 14;
+    /**
+     * The bit set when the moved pawn is the Zen
+     */
+    public final static int ZEN = 1 << 15;
+    /**
+     * The bits that contain the two squares of a move
+     */
+    public final static int SQUARES = (1 << 14) - 1;
+
+    /**
+     * Allows to write a move without its flags.
+     *
+     * @param from the square where the pawn is
+     * @param to   the square where the pawn goes
+     * @return the move
+     */
+    public static int of(int from, int to) {
+        return from | to << 7;
+    }
+
+    /**
+     * Allows to write a move with its flags.
+     *
+     * @param from    the square where the pawn is
+     * @param to      the square where the pawn goes
+     * @param capture true if the move eats a pawn
+     * @param zen     true if the moved pawn is the Zen
+     * @return the move
+     */
+    public static int of(int from, int to, boolean capture, boolean zen) {
+        return from | to << 7 | (capture ? CAPTURE : 0) | (zen ? ZEN : 0);
+    }
+
+    /**
+     * @param move a move
+     * @return the square where the pawn is
+     */
+    public static int from(int move) {
+        return move & 127;
+    }
+
+    /**
+     * @param move a move
+     * @return the square where the pawn goes
+     */
+    public static int to(int move) {
+        return (move >>> 7) & 127;
+    }
+
+    /**
+     * @param move a move
+     * @return true if the move eats a pawn
+     */
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE) != 0;
+    }
+
+    /**
+     * @param move a move
+     * @return true if the moved pawn is the Zen
+     */
+    public static boolean isZen(int move) {
+        return (move & ZEN) != 0;
+    }
+
+    /**
+     * Allows to know if two moves move a pawn from the same square to the same square,
+     * whatever their flags are.
+     *
+     * @param move  a move
+     * @param other another move
+     * @return true if both moves have the same squares
+     */
+    public static boolean sameSquares(int move, int other) {
+        return (move & SQUARES) == (other & SQUARES);
+    }
+
+    /**
+     * Allows to write a move as in the console view, for example "F6-F8" or "F6xF8" if a pawn is eaten.
+     *
+     * @param move a move
+     * @return the string representation of the move
+     */
+    public static String toString(int move) {
+        if (move == NONE) return "none";
+        return squareName(from(move)) + (isCapture(move) ? "x" : "-") + squareName(to(move));
+    }
+
+    /**
+     * @param square the index of a square
+     * @return the letter of the column followed by the index of the line
+     */
+    private static String squareName(int square) {
+        return (char) ('A' + Position.column(square)) + Integer.toString(Position.line(square));
+    }
+}
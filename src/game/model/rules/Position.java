@@ -0,0 +1,794 @@
+package game.model.rules;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Java class that allows to represent a position of the game in a compact way. The 121 squares
+ * of the board are numbered line by line (square = line * 11 + column) and the pawns of each side
+ * are packed in two longs : the first one contains the squares 0 to 63 and the second one the squares
+ * 64 to 120. The Zen pawn, that belongs to both sides, is saved by the index of its square. This
+ * representation doesn't depend on the view so it can be copied nearly for free.
+ */
+public class Position implements Serializable {
+
+    /**
+     * The dimension of the board (11 * 11)
+     */
+    public final static int DIMENSION = 11;
+    /**
+     * The number of squares of the board
+     */
+    public final static int SQUARES = DIMENSION * DIMENSION;
+    /**
+     * The owner of the pawns of the first player
+     */
+    public final static int FIRST = 0;
+    /**
+     * The owner of the pawns of the second player
+     */
+    public final static int SECOND = 1;
+    /**
+     * The owner of the Zen pawn
+     */
+    public final static int ZEN = 2;
+    /**
+     * The owner of an empty square (or the index of a square that doesn't exist)
+     */
+    public final static int EMPTY = -1;
+    /**
+     * The maximal number of moves a side can have (13 pawns with the Zen that can move in 8 directions)
+     */
+    public final static int MAX_MOVES = 13 * 8;
+    /**
+     * The number of pawns of each side at the beginning of a game (without the Zen)
+     */
+    public final static int PAWNS = 12;
+    /**
+     * The squares of the pawns of each side at the beginning of a game, in the order of their numbers
+     */
+    private final static int[][] START = new int[2][PAWNS];
+
+    /**
+     * The squares 0 to 63 occupied by the pawns of each side
+     */
+    private final long[] low = new long[2];
+    /**
+     * The squares 64 to 120 occupied by the pawns of each side
+     */
+    private final long[] high = new long[2];
+    /**
+     * The square of the Zen pawn or EMPTY if it has been eaten
+     */
+    private int zen = EMPTY;
+    /**
+     * The owner of the pawn on each square (FIRST, SECOND, ZEN or EMPTY)
+     */
+    private final byte[] owners = new byte[SQUARES];
+    /**
+     * The square where the Zen can't be moved back because the last move was a displacement
+     * of the Zen from this square (EMPTY if the last move was not a displacement of the Zen)
+     */
+    private int forbiddenZen = EMPTY;
+    /**
+     * The side that has to play the next move
+     */
+    private int sideToMove = FIRST;
+    /**
+     * The Zobrist key of the position, updated at each modification
+     */
+    private long hash;
+    /**
+     * The number of pawns (including the Zen) on each line
+     */
+    private final byte[] lines = new byte[DIMENSION];
+    /**
+     * The number of pawns (including the Zen) on each column
+     */
+    private final byte[] columns = new byte[DIMENSION];
+    /**
+     * The number of pawns (including the Zen) on each ascending diagonal (from left bottom to right top),
+     * indexed by line + column
+     */
+    private final byte[] ascending = new byte[2 * DIMENSION - 1];
+    /**
+     * The number of pawns (including the Zen) on each descending diagonal (from left top to right bottom),
+     * indexed by line - column + DIMENSION - 1
+     */
+    private final byte[] descending = new byte[2 * DIMENSION - 1];
+    /**
+     * The sum of the lines of the pawns of each owner (FIRST, SECOND and ZEN)
+     */
+    private final int[] lineSums = new int[3];
+    /**
+     * The sum of the columns of the pawns of each owner
+     */
+    private final int[] columnSums = new int[3];
+    /**
+     * The sum of the squares of the lines and of the columns of the pawns of each owner
+     */
+    private final int[] squareSums = new int[3];
+    /**
+     * True if all the pawns of a side (with the Zen) are connected, only valid if the side is not outdated
+     */
+    private final boolean[] connected = new boolean[2];
+    /**
+     * True if a pawn of a side (or the Zen) was placed or removed since the last connection computation of this side
+     */
+    private final boolean[] outdated = {true, true};
+    /**
+     * The array used to compute the connections without creating objects
+     */
+    private final long[] scratch = new long[2];
+    /**
+     * The records allowing to undo the moves done with makeMove(), each record contains the squares of
+     * the move, the owner of the eaten pawn, the previous square where the Zen couldn't be moved back,
+     * the previous side to move and the previous state of the connections
+     */
+    private long[] undo = new long[64];
+    /**
+     * The keys of the positions before each move done with makeMove()
+     */
+    private long[] hashes = new long[64];
+    /**
+     * The number of moves that can be undone
+     */
+    private int ply;
+
+    static {
+        int[] first = START[FIRST];
+        first[0] = square(0, DIMENSION - 1);
+        first[1] = square(0, DIMENSION / 2);
+        startFour(first, 2, 3, 2);
+        startFour(first, 6, 1, 4);
+        first[10] = square(DIMENSION - 1, DIMENSION / 2);
+        first[11] = square(DIMENSION - 1, 0);
+        int[] second = START[SECOND];
+        second[0] = square(0, 0);
+        second[1] = square(DIMENSION / 2, 0);
+        startFour(second, 2, 4, 1);
+        startFour(second, 6, 2, 3);
+        second[10] = square(DIMENSION / 2, DIMENSION - 1);
+        second[11] = square(DIMENSION - 1, DIMENSION - 1);
+    }
+
+    /**
+     * Allows to write the squares of four pawns placed symmetrically at the beginning of a game.
+     *
+     * @param squares the squares of the pawns of a side
+     * @param index   the number of the first of the four pawns
+     * @param column  the column of the first pawn
+     * @param line    the line of the first pawn
+     */
+    private static void startFour(int[] squares, int index, int column, int line) {
+        squares[index] = square(line, column);
+        squares[index + 1] = square(line, DIMENSION - column - 1);
+        squares[index + 2] = square(DIMENSION - line - 1, DIMENSION - column - 1);
+        squares[index + 3] = square(DIMENSION - line - 1, column);
+    }
+
+    /**
+     * Allows to create an empty position, without any pawn on the board.
+     */
+    public Position() {
+        Arrays.fill(this.owners, (byte) EMPTY);
+    }
+
+    /**
+     * Allows to create a copy of another position.
+     *
+     * @param position the position to copy
+     */
+    public Position(Position position) {
+        if (position != null) {
+            System.arraycopy(position.low, 0, this.low, 0, 2);
+            System.arraycopy(position.high, 0, this.high, 0, 2);
+            this.zen = position.zen;
+            System.arraycopy(position.owners, 0, this.owners, 0, SQUARES);
+            this.forbiddenZen = position.forbiddenZen;
+            this.sideToMove = position.sideToMove;
+            this.hash = position.hash;
+            this.undo = position.undo.clone();
+            this.hashes = position.hashes.clone();
+            this.ply = position.ply;
+            System.arraycopy(position.lines, 0, this.lines, 0, DIMENSION);
+            System.arraycopy(position.columns, 0, this.columns, 0, DIMENSION);
+            System.arraycopy(position.ascending, 0, this.ascending, 0, this.ascending.length);
+            System.arraycopy(position.descending, 0, this.descending, 0, this.descending.length);
+            System.arraycopy(position.lineSums, 0, this.lineSums, 0, 3);
+            System.arraycopy(position.columnSums, 0, this.columnSums, 0, 3);
+            System.arraycopy(position.squareSums, 0, this.squareSums, 0, 3);
+            System.arraycopy(position.connected, 0, this.connected, 0, 2);
+            System.arraycopy(position.outdated, 0, this.outdated, 0, 2);
+        } else {
+            throw new IllegalArgumentException("Position copy error");
+        }
+    }
+
+    /**
+     * Allows to create the position of the beginning of a game : the pawns of both sides
+     * on their starting squares and the Zen at the center of the board.
+     *
+     * @return the starting position
+     */
+    public static Position start() {
+        Position position = new Position();
+        for (int side = FIRST; side <= SECOND; side++) {
+            for (int square : START[side]) position.place(side, square);
+        }
+        position.place(ZEN, square(DIMENSION / 2, DIMENSION / 2));
+        return position;
+    }
+
+    /**
+     * @param side   FIRST or SECOND
+     * @param number the number of the pawn (from 0 to PAWNS - 1)
+     * @return the square of the pawn at the beginning of a game
+     */
+    public static int getStartSquare(int side, int number) {
+        return START[side][number];
+    }
+
+    /**
+     * @return a copy of this position
+     */
+    public Position copy() {
+        return new Position(this);
+    }
+
+    /**
+     * Allows to place a pawn of an owner on a square. If the square was
+     * already occupied, the previous pawn is removed. The counters of pawns of
+     * the line, the column and the diagonals of the square are updated.
+     *
+     * @param owner  FIRST, SECOND or ZEN
+     * @param square the index of the square
+     */
+    public void place(int owner, int square) {
+        this.remove(square);
+        this.owners[square] = (byte) owner;
+        if (owner == ZEN) {
+            this.zen = square;
+        } else if (square < 64) {
+            this.low[owner] |= 1L << square;
+        } else {
+            this.high[owner] |= 1L << (square - 64);
+        }
+        this.updateCounters(owner, square, 1);
+        this.hash ^= Zobrist.pawn(owner, square);
+    }
+
+    /**
+     * Allows to remove the pawn that is on a square and to update the counters
+     * of pawns of the line, the column and the diagonals of the square.
+     *
+     * @param square the index of the square
+     * @return the owner of the removed pawn or EMPTY if there was no pawn
+     */
+    public int remove(int square) {
+        int owner = this.owners[square];
+        if (owner != EMPTY) {
+            this.owners[square] = EMPTY;
+            this.updateCounters(owner, square, -1);
+            this.hash ^= Zobrist.pawn(owner, square);
+        }
+        if (owner == ZEN) {
+            this.zen = EMPTY;
+        } else if (owner != EMPTY) {
+            if (square < 64) this.low[owner] &= ~(1L << square);
+            else this.high[owner] &= ~(1L << (square - 64));
+        }
+        return owner;
+    }
+
+    /**
+     * Allows to add a value to the counters of pawns of the line, the column and
+     * both diagonals that go through a square and to the sums of the coordinates of
+     * the pawns of the owner. Also marks the connection of the side of the pawn on
+     * the square (or of both sides for the Zen) as outdated.
+     *
+     * @param owner  the owner of the pawn
+     * @param square the index of the square
+     * @param value  1 if a pawn is added, -1 if it is removed
+     */
+    private void updateCounters(int owner, int square, int value) {
+        if (owner == ZEN) {
+            this.outdated[FIRST] = true;
+            this.outdated[SECOND] = true;
+        } else {
+            this.outdated[owner] = true;
+        }
+        int line = line(square);
+        int column = column(square);
+        this.lines[line] += value;
+        this.columns[column] += value;
+        this.ascending[line + column] += value;
+        this.descending[line - column + DIMENSION - 1] += value;
+        this.lineSums[owner] += value * line;
+        this.columnSums[owner] += value * column;
+        this.squareSums[owner] += value * (line * line + column * column);
+    }
+
+    /**
+     * Allows to move the pawn that is on a square to another one, the pawn
+     * that was on the destination square (if any) is eaten. If the moved pawn is
+     * the Zen, the other player won't be able to move it back to its last square. The
+     * side to move becomes the opponent of the side of the moved pawn (or of the side
+     * that had to play if the Zen is moved).
+     *
+     * @param from the square where the pawn is
+     * @param to   the square where the pawn goes
+     * @return the owner of the eaten pawn or EMPTY if no pawn was eaten
+     */
+    public int move(int from, int to) {
+        int owner = this.remove(from);
+        int eaten = this.remove(to);
+        this.place(owner, to);
+        this.setForbiddenZen((owner == ZEN) ? from : EMPTY);
+        this.setSideToMove((owner == ZEN) ? 1 - this.sideToMove : 1 - owner);
+        return eaten;
+    }
+
+    /**
+     * Allows to do a move and to save what is needed to undo it with unmakeMove(). The move
+     * is not checked, it should be one of the moves written by generateMoves(). No object is
+     * created unless the number of moves done without undoing them exceeds the capacity of the
+     * records, which is then doubled.
+     *
+     * @param move the move written as in the Move class (its flags are not used)
+     * @return the owner of the eaten pawn or EMPTY if no pawn was eaten
+     */
+    public int makeMove(int move) {
+        if (this.ply == this.undo.length) {
+            this.undo = Arrays.copyOf(this.undo, 2 * this.ply);
+            this.hashes = Arrays.copyOf(this.hashes, 2 * this.ply);
+        }
+        long state = (this.connected[FIRST] ? 1 : 0) | (this.connected[SECOND] ? 2 : 0)
+                | (this.outdated[FIRST] ? 4 : 0) | (this.outdated[SECOND] ? 8 : 0);
+        long previous = (long) (this.forbiddenZen + 1) << 16 | (long) this.sideToMove << 23 | state << 24;
+        this.hashes[this.ply] = this.hash;
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int eaten = this.move(from, to);
+        this.undo[this.ply] = previous | Move.of(from, to, eaten != EMPTY, to == this.zen) | (long) (eaten + 1) << 28;
+        this.ply++;
+        return eaten;
+    }
+
+    /**
+     * Allows to undo the last move done with makeMove(), the position is exactly the same as before
+     * this move (including the key, the side to move and the Zen history).
+     *
+     * @throws IllegalStateException if there's no move to undo
+     */
+    public void unmakeMove() {
+        if (this.ply == 0) throw new IllegalStateException("No move to undo");
+        this.ply--;
+        long record = this.undo[this.ply];
+        int from = Move.from((int) record);
+        int to = Move.to((int) record);
+        int eaten = (int) ((record >>> 28) & 3) - 1;
+        int owner = this.remove(to);
+        this.place(owner, from);
+        if (eaten != EMPTY) this.place(eaten, to);
+        this.forbiddenZen = (int) ((record >>> 16) & 127) - 1;
+        this.sideToMove = (int) ((record >>> 23) & 1);
+        this.connected[FIRST] = (record & (1L << 24)) != 0;
+        this.connected[SECOND] = (record & (1L << 25)) != 0;
+        this.outdated[FIRST] = (record & (1L << 26)) != 0;
+        this.outdated[SECOND] = (record & (1L << 27)) != 0;
+        this.hash = this.hashes[this.ply];
+    }
+
+    /**
+     * @return the number of moves done with makeMove() that can be undone
+     */
+    public int getPly() {
+        return this.ply;
+    }
+
+    /**
+     * Allows to count how many times the position was already reached during the moves done with
+     * makeMove(), with the same pawns, the same side to move and the same square forbidden to the
+     * Zen. The keys of the positions are compared back to the last capture, since a position
+     * reached before a capture has one more pawn.
+     *
+     * @return the number of times the position was reached before (0 if it is new)
+     */
+    public int getRepetitions() {
+        int repetitions = 0;
+        for (int i = this.ply - 1; i >= 0 && !Move.isCapture((int) (this.undo[i] & 0xFFFF)); i--) {
+            if (this.hashes[i] == this.hash) repetitions++;
+        }
+        return repetitions;
+    }
+
+    /**
+     * Allows to know quickly whether the position was already reached during the moves done with
+     * makeMove() (see getRepetitions()).
+     *
+     * @return true if the position was reached before
+     */
+    public boolean isRepetition() {
+        for (int i = this.ply - 1; i >= 0 && !Move.isCapture((int) (this.undo[i] & 0xFFFF)); i--) {
+            if (this.hashes[i] == this.hash) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the last move done with makeMove() (with its flags) or Move.NONE if there's none
+     */
+    public int getLastMove() {
+        return this.ply == 0 ? Move.NONE : (int) (this.undo[this.ply - 1] & 0xFFFF);
+    }
+
+    /**
+     * @return the owner of the pawn eaten by the last move done with makeMove() or EMPTY if no pawn was eaten
+     */
+    public int getLastEaten() {
+        return this.ply == 0 ? EMPTY : (int) ((this.undo[this.ply - 1] >>> 28) & 3) - 1;
+    }
+
+    /**
+     * Allows to set the square where the Zen can't be moved back and to update the key of the position.
+     *
+     * @param square the square or EMPTY
+     */
+    private void setForbiddenZen(int square) {
+        this.hash ^= Zobrist.forbiddenZen(this.forbiddenZen) ^ Zobrist.forbiddenZen(square);
+        this.forbiddenZen = square;
+    }
+
+    /**
+     * Allows to set the side that has to play the next move and to update the key of the position.
+     *
+     * @param side FIRST or SECOND
+     */
+    public void setSideToMove(int side) {
+        this.hash ^= Zobrist.sideToMove(this.sideToMove) ^ Zobrist.sideToMove(side);
+        this.sideToMove = side;
+    }
+
+    /**
+     * Allows to know whether a side can move the pawn on a square to another square. To be correct,
+     * the pawn must move in a straight line as many squares as there are pawns on this line, it must
+     * not eat one of the pawns of the side and must not pass over one of the opponent's pawns (the Zen
+     * can be passed over). The Zen can only be moved if it is in contact with another pawn and not to
+     * the square it just came from.
+     *
+     * @param side FIRST or SECOND
+     * @param from the square of the pawn to move (one of the pawns of the side or the Zen)
+     * @param to   the square where the pawn goes
+     * @return true if the move is correct, false otherwise
+     */
+    public boolean isLegal(int side, int from, int to) {
+        int owner = this.getOwner(from);
+        if ((owner != side && owner != ZEN) || from == to || this.getOwner(to) == side) return false;
+        int direction = Rays.direction(from, to);
+        if (direction == -1) return false;
+        int distance = Math.max(Math.abs(line(to) - line(from)), Math.abs(column(to) - column(from)));
+        return distance == this.countDirection(from, direction) && !this.passesOverAdverse(side, from, to)
+                && (owner != ZEN || (to != this.forbiddenZen && this.hasNeighbour(from)));
+    }
+
+    /**
+     * Allows to write a move between two squares with its flags set according to this position.
+     *
+     * @param from the square where the pawn is
+     * @param to   the square where the pawn goes
+     * @return the move written as in the Move class
+     */
+    public int createMove(int from, int to) {
+        return Move.of(from, to, this.isOccupied(to), from == this.zen);
+    }
+
+    /**
+     * Allows to write all the correct moves of a side in an array. The moves are written as in the
+     * Move class, with their flags. The array must be able to contain MAX_MOVES moves, it is not
+     * cleared so it can be reused without creating new arrays.
+     *
+     * @param side  FIRST or SECOND
+     * @param moves the array where the moves are written
+     * @return the number of moves written in the array
+     */
+    public int generateMoves(int side, int[] moves) {
+        int count = 0;
+        long squares = this.low[side];
+        while (squares != 0) {
+            count = this.generatePawnMoves(side, Long.numberOfTrailingZeros(squares), moves, count);
+            squares &= squares - 1;
+        }
+        squares = this.high[side];
+        while (squares != 0) {
+            count = this.generatePawnMoves(side, Long.numberOfTrailingZeros(squares) + 64, moves, count);
+            squares &= squares - 1;
+        }
+        if (this.zen != EMPTY && this.hasNeighbour(this.zen)) {
+            count = this.generatePawnMoves(side, this.zen, moves, count);
+        }
+        return count;
+    }
+
+    /**
+     * Allows to write the correct moves of one pawn in the 8 directions.
+     *
+     * @param side  FIRST or SECOND
+     * @param from  the square of the pawn
+     * @param moves the array where the moves are written
+     * @param count the number of moves already written in the array
+     * @return the new number of moves written in the array
+     */
+    private int generatePawnMoves(int side, int from, int[] moves, int count) {
+        int line = line(from);
+        int column = column(from);
+        for (int i = 0; i < Rays.DIRECTIONS; i++) {
+            int distance = this.countDirection(from, i);
+            int nextLine = line + distance * Rays.LINE_STEPS[i];
+            int nextColumn = column + distance * Rays.COLUMN_STEPS[i];
+            if (isOnBoard(nextLine, nextColumn)) {
+                int to = square(nextLine, nextColumn);
+                if (this.getOwner(to) != side && !this.passesOverAdverse(side, from, to)
+                        && (from != this.zen || to != this.forbiddenZen)) {
+                    moves[count++] = this.createMove(from, to);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Allows to get the number of pawns on the line (a line, a column or a diagonal) that goes
+     * through a square in a direction, which is the distance a pawn must move in this direction.
+     *
+     * @param square    the square of the pawn
+     * @param direction the index of the direction as in the Rays class
+     * @return the number of pawns on the line
+     */
+    private int countDirection(int square, int direction) {
+        int lineStep = Rays.LINE_STEPS[direction];
+        int columnStep = Rays.COLUMN_STEPS[direction];
+        if (lineStep == 0) return this.countLine(line(square));
+        else if (columnStep == 0) return this.countColumn(column(square));
+        else if (lineStep == columnStep) return this.countDescending(line(square), column(square));
+        else return this.countAscending(line(square), column(square));
+    }
+
+    /**
+     * Allows to know if a pawn moving from a square passes over a pawn of the opponent
+     * of a side (the Zen is not considered as a pawn of the opponent). The squares between
+     * both squares are precomputed so it is only an intersection with the squares of the opponent.
+     *
+     * @param side the side that moves the pawn
+     * @param from the square of the pawn
+     * @param to   the square where the pawn goes, on the same line, column or diagonal
+     * @return true if an opponent's pawn is strictly between the square and the destination
+     */
+    private boolean passesOverAdverse(int side, int from, int to) {
+        return (Rays.betweenLow(from, to) & this.low[1 - side]) != 0 || (Rays.betweenHigh(from, to) & this.high[1 - side]) != 0;
+    }
+
+    /**
+     * Allows to know if a square is in contact (sideways or diagonally) with at least one pawn.
+     *
+     * @param square the index of the square
+     * @return true if one of the 8 squares around is occupied
+     */
+    public boolean hasNeighbour(int square) {
+        int line = line(square);
+        int column = column(square);
+        for (int i = 0; i < Rays.DIRECTIONS; i++) {
+            if (isOnBoard(line + Rays.LINE_STEPS[i], column + Rays.COLUMN_STEPS[i])
+                    && this.isOccupied(square(line + Rays.LINE_STEPS[i], column + Rays.COLUMN_STEPS[i]))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Allows to know who owns the pawn on a square.
+     *
+     * @param square the index of the square
+     * @return FIRST, SECOND, ZEN or EMPTY if there's no pawn on the square
+     */
+    public int getOwner(int square) {
+        return this.owners[square];
+    }
+
+    /**
+     * @param square the index of the square
+     * @return true if a pawn (including the Zen) is on the square
+     */
+    public boolean isOccupied(int square) {
+        return this.getOwner(square) != EMPTY;
+    }
+
+    /**
+     * Allows to know if all the pawns of a side (including the Zen if it is still on the board) are
+     * connected, which means that each of them is in contact (sideways or diagonally) with another one
+     * of them. The answer is kept until a pawn of the side or the Zen is placed or removed, so only the
+     * sides modified by the last move are computed again.
+     *
+     * @param side FIRST or SECOND
+     * @return true if all the pawns of the side are connected
+     */
+    public boolean isConnected(int side) {
+        if (this.outdated[side]) {
+            long low = this.low[side];
+            long high = this.high[side];
+            if (this.zen != EMPTY) {
+                if (this.zen < 64) low |= 1L << this.zen;
+                else high |= 1L << (this.zen - 64);
+            }
+            this.connected[side] = Bitboards.isConnected(low, high, this.scratch);
+            this.outdated[side] = false;
+        }
+        return this.connected[side];
+    }
+
+    /**
+     * @param line the index of the line
+     * @return the number of pawns (including the Zen) on the line
+     */
+    public int countLine(int line) {
+        return this.lines[line];
+    }
+
+    /**
+     * @param column the index of the column
+     * @return the number of pawns (including the Zen) on the column
+     */
+    public int countColumn(int column) {
+        return this.columns[column];
+    }
+
+    /**
+     * Allows to get the number of pawns on the ascending diagonal (from left bottom
+     * to right top) that goes through a square.
+     *
+     * @param line   the line of the square
+     * @param column the column of the square
+     * @return the number of pawns (including the Zen) on the diagonal
+     */
+    public int countAscending(int line, int column) {
+        return this.ascending[line + column];
+    }
+
+    /**
+     * Allows to get the number of pawns on the descending diagonal (from left top
+     * to right bottom) that goes through a square.
+     *
+     * @param line   the line of the square
+     * @param column the column of the square
+     * @return the number of pawns (including the Zen) on the diagonal
+     */
+    public int countDescending(int line, int column) {
+        return this.descending[line - column + DIMENSION - 1];
+    }
+
+    /**
+     * @param owner FIRST, SECOND or ZEN
+     * @return the sum of the lines of the pawns of the owner, maintained at each modification
+     */
+    public int getLineSum(int owner) {
+        return this.lineSums[owner];
+    }
+
+    /**
+     * @param owner FIRST, SECOND or ZEN
+     * @return the sum of the columns of the pawns of the owner, maintained at each modification
+     */
+    public int getColumnSum(int owner) {
+        return this.columnSums[owner];
+    }
+
+    /**
+     * @param owner FIRST, SECOND or ZEN
+     * @return the sum of the squares of the lines and of the columns of the pawns of the owner
+     */
+    public int getSquareSum(int owner) {
+        return this.squareSums[owner];
+    }
+
+    /**
+     * @param side FIRST or SECOND
+     * @return the squares 0 to 63 occupied by the pawns of the side (without the Zen)
+     */
+    public long getLow(int side) {
+        return this.low[side];
+    }
+
+    /**
+     * @param side FIRST or SECOND
+     * @return the squares 64 to 120 occupied by the pawns of the side (without the Zen)
+     */
+    public long getHigh(int side) {
+        return this.high[side];
+    }
+
+    /**
+     * @return the square of the Zen or EMPTY if it has been eaten
+     */
+    public int getZenSquare() {
+        return this.zen;
+    }
+
+    /**
+     * @return the square where the Zen can't be moved back or EMPTY if the last move was not a displacement of the Zen
+     */
+    public int getForbiddenZen() {
+        return this.forbiddenZen;
+    }
+
+    /**
+     * @return the side that has to play the next move
+     */
+    public int getSideToMove() {
+        return this.sideToMove;
+    }
+
+    /**
+     * @return the Zobrist key of the position, maintained at each modification of the position
+     */
+    public long getHash() {
+        return this.hash;
+    }
+
+    /**
+     * Allows to compute the Zobrist key of the position from nothing, which should always
+     * be the same value as the key maintained by the position.
+     *
+     * @return the Zobrist key of the position
+     */
+    public long computeHash() {
+        long key = Zobrist.sideToMove(this.sideToMove) ^ Zobrist.forbiddenZen(this.forbiddenZen);
+        for (int square = 0; square < SQUARES; square++) {
+            int owner = this.getOwner(square);
+            if (owner != EMPTY) key ^= Zobrist.pawn(owner, square);
+        }
+        return key;
+    }
+
+    /**
+     * @param side FIRST or SECOND
+     * @return the number of pawns of the side that are on the board (without the Zen)
+     */
+    public int countPawns(int side) {
+        return Long.bitCount(this.low[side]) + Long.bitCount(this.high[side]);
+    }
+
+    /**
+     * Allows to get the index of a square.
+     *
+     * @param line   the line of the square
+     * @param column the column of the square
+     * @return the index of the square
+     */
+    public static int square(int line, int column) {
+        return line * DIMENSION + column;
+    }
+
+    /**
+     * @param square the index of a square
+     * @return the line of the square
+     */
+    public static int line(int square) {
+        return square / DIMENSION;
+    }
+
+    /**
+     * @param square the index of a square
+     * @return the column of the square
+     */
+    public static int column(int square) {
+        return square % DIMENSION;
+    }
+
+    /**
+     * @param line   the line of the square
+     * @param column the column of the square
+     * @return true if the square is on the board, false otherwise
+     */
+    public static boolean isOnBoard(int line, int column) {
+        return line >= 0 && column >= 0 && line < DIMENSION && column < DIMENSION;
+    }
+}
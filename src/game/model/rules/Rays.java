@@ -0,0 +1,126 @@
+package game.model.rules;
+
+import java.util.Arrays;
+
+/**
+ * Java class that contains precomputed sets of squares used to check the moves : the squares
+ * seen from a square in each of the 8 directions (the rays) and the squares strictly between two
+ * squares on the same line, column or diagonal. The sets are written with two longs like in the
+ * Bitboards class so that knowing if a pawn passes over an adverse pawn is only an intersection
+ * with the squares of the adverse.
+ */
+public class Rays {
+
+    /**
+     * The number of directions in which a pawn can move
+     */
+    public final static int DIRECTIONS = 8;
+    /**
+     * The line steps of the directions (east, west, south, north, south-west, north-east, south-east, north-west)
+     */
+    final static int[] LINE_STEPS = {0, 0, 1, -1, 1, -1, 1, -1};
+    /**
+     * The column steps of the directions
+     */
+    final static int[] COLUMN_STEPS = {1, -1, 0, 0, -1, 1, 1, -1};
+    /**
+     * The rays of each square in each direction, the low long followed by the high long
+     */
+    private final static long[] RAYS = new long[2 * Position.SQUARES * DIRECTIONS];
+    /**
+     * The squares strictly between each couple of squares, the low long followed by the high long
+     * (both are 0 if the squares are not on the same line, column or diagonal)
+     */
+    private final static long[] BETWEEN = new long[2 * Position.SQUARES * Position.SQUARES];
+    /**
+     * The direction to go from a square to another one or -1 if they are not on the same line,
+     * column or diagonal
+     */
+    private final static byte[] DIRECTION = new byte[Position.SQUARES * Position.SQUARES];
+
+    static {
+        Arrays.fill(DIRECTION, (byte) -1);
+        for (int from = 0; from < Position.SQUARES; from++) {
+            for (int direction = 0; direction < DIRECTIONS; direction++) {
+                long low = 0, high = 0;
+                int line = Position.line(from) + LINE_STEPS[direction];
+                int column = Position.column(from) + COLUMN_STEPS[direction];
+                while (Position.isOnBoard(line, column)) {
+                    int to = Position.square(line, column);
+                    int index = from * Position.SQUARES + to;
+                    BETWEEN[2 * index] = low;
+                    BETWEEN[2 * index + 1] = high;
+                    DIRECTION[index] = (byte) direction;
+                    if (to < 64) low |= 1L << to;
+                    else high |= 1L << (to - 64);
+                    line += LINE_STEPS[direction];
+                    column += COLUMN_STEPS[direction];
+                }
+                RAYS[2 * (from * DIRECTIONS + direction)] = low;
+                RAYS[2 * (from * DIRECTIONS + direction) + 1] = high;
+            }
+        }
+    }
+
+    /**
+     * @param square    the index of a square
+     * @param direction the index of a direction
+     * @return the squares 0 to 63 seen from the square in the direction
+     */
+    public static long rayLow(int square, int direction) {
+        return RAYS[2 * (square * DIRECTIONS + direction)];
+    }
+
+    /**
+     * @param square    the index of a square
+     * @param direction the index of a direction
+     * @return the squares 64 to 120 seen from the square in the direction
+     */
+    public static long rayHigh(int square, int direction) {
+        return RAYS[2 * (square * DIRECTIONS + direction) + 1];
+    }
+
+    /**
+     * @param from the index of a square
+     * @param to   the index of another square
+     * @return the squares 0 to 63 strictly between the two squares
+     */
+    public static long betweenLow(int from, int to) {
+        return BETWEEN[2 * (from * Position.SQUARES + to)];
+    }
+
+    /**
+     * @param from the index of a square
+     * @param to   the index of another square
+     * @return the squares 64 to 120 strictly between the two squares
+     */
+    public static long betweenHigh(int from, int to) {
+        return BETWEEN[2 * (from * Position.SQUARES + to) + 1];
+    }
+
+    /**
+     * @param from the index of a square
+     * @param to   the index of another square
+     * @return the direction to go from the first square to the second one or -1 if they are
+     * not on the same line, column or diagonal
+     */
+    public static int direction(int from, int to) {
+        return DIRECTION[from * Position.SQUARES + to];
+    }
+
+    /**
+     * @param direction the index of a direction
+     * @return the step on the lines to do to go one square further in the direction
+     */
+    public static int lineStep(int direction) {
+        return LINE_STEPS[direction];
+    }
+
+    /**
+     * @param direction the index of a direction
+     * @return the step on the columns to do to go one square further in the direction
+     */
+    public static int columnStep(int direction) {
+        return COLUMN_STEPS[direction];
+    }
+}
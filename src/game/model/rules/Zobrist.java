@@ -0,0 +1,81 @@
+package game.model.rules;
+
+/**
+ * Java class that contains the random keys used to identify a position by a 64 bits number
+ * (Zobrist hashing). The key of a position is the xor of the keys of each pawn on its square,
+ * of the key of the side to move if it is the second side and of the key of the square where
+ * the Zen can't be moved back (if any). The keys are always the same from one execution to
+ * another so that the keys of the positions can be saved in files.
+ */
+public class Zobrist {
+
+    /**
+     * The seed used to generate the keys
+     */
+    private final static long SEED = 0x5A454E4C494E4954L;
+    /**
+     * The keys of the pawns of each owner (FIRST, SECOND and ZEN) on each square
+     */
+    private final static long[][] PAWNS = new long[3][Position.SQUARES];
+    /**
+     * The keys of the squares where the Zen can't be moved back
+     */
+    private final static long[] FORBIDDEN_ZEN = new long[Position.SQUARES];
+    /**
+     * The key added when the second side has to play
+     */
+    private final static long SECOND_TO_MOVE;
+
+    static {
+        long state = SEED;
+        for (long[] keys : PAWNS) {
+            for (int i = 0; i < keys.length; i++) {
+                state += 0x9E3779B97F4A7C15L;
+                keys[i] = mix(state);
+            }
+        }
+        for (int i = 0; i < FORBIDDEN_ZEN.length; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            FORBIDDEN_ZEN[i] = mix(state);
+        }
+        state += 0x9E3779B97F4A7C15L;
+        SECOND_TO_MOVE = mix(state);
+    }
+
+    /**
+     * Allows to mix the bits of a number to obtain a pseudo random number (SplitMix64 generator).
+     *
+     * @param z the number to mix
+     * @return the mixed number
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @param owner  FIRST, SECOND or ZEN
+     * @param square the index of the square
+     * @return the key of a pawn of the owner on the square
+     */
+    public static long pawn(int owner, int square) {
+        return PAWNS[owner][square];
+    }
+
+    /**
+     * @param square the square where the Zen can't be moved back or EMPTY
+     * @return the key of the square or 0 if there is no such square
+     */
+    public static long forbiddenZen(int square) {
+        return square == Position.EMPTY ? 0 : FORBIDDEN_ZEN[square];
+    }
+
+    /**
+     * @param side the side to move
+     * @return the key of the side to move (0 for the first side)
+     */
+    public static long sideToMove(int side) {
+        return side == Position.SECOND ? SECOND_TO_MOVE : 0;
+    }
+}
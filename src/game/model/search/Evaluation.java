@@ -0,0 +1,191 @@
+package game.model.search;
+
+import game.model.rules.Bitboards;
+import game.model.rules.Position;
+
+/**
+ * Java class that allows to estimate how good a position is for a side without looking at the
+ * next moves. A side wins when all its pawns (and the Zen) are connected, so the fewer groups
+ * of pawns it has, the more pawns its largest group contains and the closer to each other its
+ * pawns are, the better the position is. The mobility of the side (the number of free squares
+ * in contact with its pawns) and the distance between the Zen and the pawns of the side are
+ * also counted.
+ * The evaluation doesn't create any object : only the sums of the coordinates of the pawns are
+ * maintained by the position at each move (and undone with it), so the spread of the pawns
+ * around their center is computed without looking at the pawns. The groups are found again
+ * with a bitboard flood fill whenever the squares of the side (or of the Zen) are not the same
+ * as at the last evaluation, which is the case in almost every position searched, and the
+ * mobility is counted again at each evaluation.
+ * To make a player weaker, some noise can be added to the evaluation : a number that looks random
+ * but only depends on the key of the position and on a seed, so a position always gets the same
+ * noise and the search stays consistent.
+ */
+public class Evaluation {
+
+    /**
+     * The points lost for each group of pawns after the first one
+     */
+    private final static int GROUP = 40;
+    /**
+     * The points lost for each pawn that is not in the largest group
+     */
+    private final static int OUTSIDE = 8;
+    /**
+     * The points lost for each unit of the average squared distance between the pawns and their center
+     */
+    private final static int SPREAD = 2;
+    /**
+     * The points won for each free square in contact with the pawns of the side
+     */
+    private final static int MOBILITY = 1;
+    /**
+     * The points lost for each square between the Zen and the center of the pawns of the side
+     */
+    private final static int ZEN_DISTANCE = 3;
+
+    /**
+     * The array of two longs used to find the groups of pawns
+     */
+    private final long[] component = new long[2];
+    /**
+     * The array of two longs used to find the free squares in contact with the pawns
+     */
+    private final long[] neighbours = new long[2];
+    /**
+     * The squares 0 to 63 of each side (with the Zen) the last time its groups were computed
+     */
+    private final long[] cachedLow = {-1, -1};
+    /**
+     * The squares 64 to 120 of each side (with the Zen) the last time its groups were computed
+     */
+    private final long[] cachedHigh = {-1, -1};
+    /**
+     * The number of groups of each side the last time they were computed
+     */
+    private final int[] groups = new int[2];
+    /**
+     * The number of pawns of the largest group of each side the last time it was computed
+     */
+    private final int[] largest = new int[2];
+    /**
+     * The highest noise added to the evaluation (0 if there's no noise)
+     */
+    private int noise;
+    /**
+     * The seed mixed with the keys of the positions to get the noise
+     */
+    private long noiseSeed;
+
+    /**
+     * Allows to evaluate a position from the point of view of a side.
+     *
+     * @param position the position to evaluate
+     * @param side     FIRST or SECOND
+     * @return a positive number if the position is good for the side, a negative one otherwise
+     */
+    public int evaluate(Position position, int side) {
+        int score = this.evaluateSide(position, side) - this.evaluateSide(position, 1 - side);
+        if (this.noise > 0) {
+            long z = (position.getHash() ^ this.noiseSeed) * 0x9E3779B97F4A7C15L;
+            int noise = (int) Math.floorMod(z ^ (z >>> 29), 2L * this.noise + 1) - this.noise;
+            score += (side == Position.FIRST) ? noise : -noise;
+        }
+        return score;
+    }
+
+    /**
+     * Allows to add noise to the evaluation, for the first side (the noise of the second side is the opposite).
+     *
+     * @param amplitude the highest noise (0 to remove the noise)
+     * @param seed      the seed mixed with the keys of the positions to get the noise
+     */
+    public void setNoise(int amplitude, long seed) {
+        if (amplitude >= 0) {
+            this.noise = amplitude;
+            this.noiseSeed = seed;
+        } else throw new IllegalArgumentException("Evaluation noise error");
+    }
+
+    /**
+     * Allows to evaluate how close to each other the pawns of one side are.
+     *
+     * @param position the position to evaluate
+     * @param side     FIRST or SECOND
+     * @return the score of the side (the higher the better)
+     */
+    private int evaluateSide(Position position, int side) {
+        int pawns = position.countPawns(side);
+        int zen = position.getZenSquare();
+        int count = pawns + ((zen != Position.EMPTY) ? 1 : 0);
+        if (count == 0) return 0;
+        long low = position.getLow(side);
+        long high = position.getHigh(side);
+        if (zen != Position.EMPTY) {
+            if (zen < 64) low |= 1L << zen;
+            else high |= 1L << (zen - 64);
+        }
+        this.updateGroups(side, low, high);
+        int lines = position.getLineSum(side) + position.getLineSum(Position.ZEN);
+        int columns = position.getColumnSum(side) + position.getColumnSum(Position.ZEN);
+        int squares = position.getSquareSum(side) + position.getSquareSum(Position.ZEN);
+        int spread = (count * squares - lines * lines - columns * columns) / (count * count);
+        int score = -GROUP * (this.groups[side] - 1) - OUTSIDE * (count - this.largest[side]) - SPREAD * spread;
+        score += MOBILITY * this.countFreeNeighbours(position, side);
+        if (zen != Position.EMPTY && pawns > 0) {
+            int lineDistance = Math.abs(Position.line(zen) * pawns - position.getLineSum(side));
+            int columnDistance = Math.abs(Position.column(zen) * pawns - position.getColumnSum(side));
+            score -= ZEN_DISTANCE * Math.max(lineDistance, columnDistance) / pawns;
+        }
+        return score;
+    }
+
+    /**
+     * Allows to count the free squares in contact with the pawns of a side, which is where its
+     * pawns can go without eating : it's much faster than generating the moves.
+     *
+     * @param position the position
+     * @param side     FIRST or SECOND
+     * @return the number of free squares in contact with the pawns of the side
+     */
+    private int countFreeNeighbours(Position position, int side) {
+        this.neighbours[0] = position.getLow(side);
+        this.neighbours[1] = position.getHigh(side);
+        Bitboards.spread(this.neighbours);
+        long occupiedLow = position.getLow(Position.FIRST) | position.getLow(Position.SECOND);
+        long occupiedHigh = position.getHigh(Position.FIRST) | position.getHigh(Position.SECOND);
+        int zen = position.getZenSquare();
+        if (zen != Position.EMPTY) {
+            if (zen < 64) occupiedLow |= 1L << zen;
+            else occupiedHigh |= 1L << (zen - 64);
+        }
+        return Long.bitCount(this.neighbours[0] & ~occupiedLow) + Long.bitCount(this.neighbours[1] & ~occupiedHigh);
+    }
+
+    /**
+     * Allows to compute the groups of squares in contact of a side and the size of the largest
+     * one with a flood fill, unless the squares of the side are the same as at the last call
+     * (the groups are not maintained by the position).
+     *
+     * @param side FIRST or SECOND
+     * @param low  the squares 0 to 63 of the side (with the Zen)
+     * @param high the squares 64 to 120 of the side (with the Zen)
+     */
+    private void updateGroups(int side, long low, long high) {
+        if (low == this.cachedLow[side] && high == this.cachedHigh[side]) return;
+        this.cachedLow[side] = low;
+        this.cachedHigh[side] = high;
+        int groups = 0;
+        int largest = 0;
+        while (low != 0 || high != 0) {
+            this.component[0] = Long.lowestOneBit(low);
+            this.component[1] = (low != 0) ? 0 : Long.lowestOneBit(high);
+            Bitboards.fill(low, high, this.component);
+            low &= ~this.component[0];
+            high &= ~this.component[1];
+            largest = Math.max(largest, Long.bitCount(this.component[0]) + Long.bitCount(this.component[1]));
+            groups++;
+        }
+        this.groups[side] = groups;
+        this.largest[side] = largest;
+    }
+}
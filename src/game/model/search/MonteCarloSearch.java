@@ -0,0 +1,242 @@
+package game.model.search;
+
+import game.model.rules.Move;
+import game.model.rules.Position;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Java class that allows to do a Monte Carlo tree search with several threads (root
+ * parallelization). Each thread grows its own tree of the same position with its own random
+ * numbers, so the threads never wait for each other, and the visits of the moves of the roots
+ * are added up at the end : the move played is the one that was visited the most by all the trees.
+ * The calling thread searches the first tree, the threads of the other trees are kept from one
+ * search to another until close() is called. Each tree is kept from one move to another.
+ */
+public class MonteCarloSearch {
+
+    /**
+     * The default maximal number of nodes of each tree
+     */
+    private final static int DEFAULT_TREE_NODES = 1 << 20;
+
+    /**
+     * The trees searched by the threads (the tree of the calling thread first)
+     */
+    private final MonteCarloTree[] trees;
+    /**
+     * The threads of the other trees (null if there's only one thread)
+     */
+    private final ExecutorService executor;
+    /**
+     * The number of visits of each move (indexed by its squares) while they are added up
+     */
+    private final int[] totals = new int[Move.SQUARES + 1];
+    /**
+     * The arrays where the moves of a root and their visits are written
+     */
+    private final int[] moves = new int[Position.MAX_MOVES], visits = new int[Position.MAX_MOVES];
+    /**
+     * The number of visits of the move found by the last search
+     */
+    private int bestVisits;
+    /**
+     * True if the search was stopped from another thread
+     */
+    private volatile boolean stopped;
+
+    /**
+     * Allows to create a search with the default size of trees.
+     *
+     * @param threads the number of threads (at least 1)
+     * @param seed    the seed of the random numbers of the first tree (the next trees use the next numbers)
+     */
+    public MonteCarloSearch(int threads, long seed) {
+        this(threads, seed, DEFAULT_TREE_NODES);
+    }
+
+    /**
+     * Allows to create a search.
+     *
+     * @param threads  the number of threads (at least 1)
+     * @param seed     the seed of the random numbers of the first tree (the next trees use the next numbers)
+     * @param maxNodes the maximal number of nodes of each tree (at least 1)
+     */
+    public MonteCarloSearch(int threads, long seed, int maxNodes) {
+        if (threads >= 1) {
+            this.trees = new MonteCarloTree[threads];
+            for (int i = 0; i < threads; i++) this.trees[i] = new MonteCarloTree(seed + i, maxNodes);
+            this.executor = (threads > 1) ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+                Thread thread = new Thread(runnable, "playout helper");
+                thread.setDaemon(true);
+                return thread;
+            }) : null;
+        } else {
+            throw new IllegalArgumentException("Monte Carlo search initialization error");
+        }
+    }
+
+    /**
+     * Allows to search a position with all the threads until one of the limits is reached.
+     * The number of playouts allowed is shared between the threads.
+     *
+     * @param position     the position to search
+     * @param side         the side that has to play (FIRST or SECOND)
+     * @param time         the time limit in milliseconds (0 if there's no limit)
+     * @param playoutLimit the number of playouts of all the threads (0 if there's no limit)
+     * @return the most visited move or Move.NONE if the side can't move any pawn
+     */
+    public int run(Position position, int side, long time, long playoutLimit) {
+        if (time < 0 || playoutLimit < 0 || (time == 0 && playoutLimit == 0)) {
+            throw new IllegalArgumentException("Monte Carlo search limits error");
+        }
+        return this.search(position, side, (time > 0) ? System.nanoTime() + time * 1000000 : 0, playoutLimit);
+    }
+
+    /**
+     * Allows to search during the turn of the adverse until the search is stopped. The trees grow
+     * from the position where the adverse has to play, so the position after its move is one of
+     * their first plies and the next search goes on from it.
+     *
+     * @param position the position where the adverse has to play
+     * @param side     the side that searches (FIRST or SECOND), the adverse is the other one
+     */
+    public void ponder(Position position, int side) {
+        this.search(position, 1 - side, 0, 0);
+    }
+
+    /**
+     * Allows to search a position with all the threads until one of the limits is reached or until
+     * the search is stopped.
+     *
+     * @param position     the position to search
+     * @param side         the side that has to play (FIRST or SECOND)
+     * @param deadline     the value of System.nanoTime() after which the search stops (0 if there's no limit)
+     * @param playoutLimit the number of playouts of all the threads (0 if there's no limit)
+     * @return the most visited move or Move.NONE if the side can't move any pawn
+     */
+    private int search(Position position, int side, long deadline, long playoutLimit) {
+        int threads = this.trees.length;
+        for (MonteCarloTree tree : this.trees) tree.resume();
+        this.stopped = false;
+        Future<?>[] helpers = new Future<?>[threads - 1];
+        for (int i = 1; i < threads; i++) {
+            MonteCarloTree tree = this.trees[i];
+            long playouts = share(playoutLimit, threads, i);
+            helpers[i - 1] = this.executor.submit(() -> tree.run(position, side, playouts, deadline));
+        }
+        if (!this.stopped) this.trees[0].run(position, side, share(playoutLimit, threads, 0), deadline);
+        if (playoutLimit == 0) {
+            for (int i = 1; i < threads; i++) this.trees[i].stop();
+        }
+        for (Future<?> helper : helpers) {
+            try {
+                helper.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Monte Carlo helper error", e.getCause());
+            }
+        }
+        return this.chooseMove();
+    }
+
+    /**
+     * Allows to get the number of playouts of one thread.
+     *
+     * @param playoutLimit the number of playouts of all the threads (0 if there's no limit)
+     * @param threads      the number of threads
+     * @param index        the index of the thread
+     * @return the number of playouts of the thread (0 if there's no limit)
+     */
+    private static long share(long playoutLimit, int threads, int index) {
+        if (playoutLimit == 0) return 0;
+        return Math.max(1, playoutLimit / threads + (index < playoutLimit % threads ? 1 : 0));
+    }
+
+    /**
+     * Allows to add up the visits of the moves of the roots of all the trees and to find the most visited move.
+     *
+     * @return the most visited move or Move.NONE if the roots have no child
+     */
+    private int chooseMove() {
+        int best = Move.NONE;
+        this.bestVisits = 0;
+        for (MonteCarloTree tree : this.trees) {
+            int count = tree.getRootMoves(this.moves, this.visits);
+            for (int i = 0; i < count; i++) {
+                int total = this.totals[this.moves[i] & Move.SQUARES] += this.visits[i];
+                if (total > this.bestVisits) {
+                    this.bestVisits = total;
+                    best = this.moves[i];
+                }
+            }
+        }
+        for (MonteCarloTree tree : this.trees) {
+            int count = tree.getRootMoves(this.moves, this.visits);
+            for (int i = 0; i < count; i++) this.totals[this.moves[i] & Move.SQUARES] = 0;
+        }
+        return best;
+    }
+
+    /**
+     * Allows to stop the search from another thread, the best move found so far is kept.
+     */
+    public void stop() {
+        this.stopped = true;
+        for (MonteCarloTree tree : this.trees) tree.stop();
+    }
+
+    /**
+     * Allows to forget all the trees, the next search begins with empty trees.
+     */
+    public void clear() {
+        for (MonteCarloTree tree : this.trees) tree.clear();
+    }
+
+    /**
+     * Allows to stop the threads of the helpers, the object can't be used anymore.
+     */
+    public void close() {
+        if (this.executor != null) this.executor.shutdownNow();
+    }
+
+    /**
+     * @return the number of threads used by the search
+     */
+    public int getThreads() {
+        return this.trees.length;
+    }
+
+    /**
+     * @return the number of playouts done by all the threads during the last search
+     */
+    public long getPlayouts() {
+        long playouts = 0;
+        for (MonteCarloTree tree : this.trees) playouts += tree.getPlayouts();
+        return playouts;
+    }
+
+    /**
+     * @return the number of visits of the move found by the last search in all the trees
+     */
+    public int getBestVisits() {
+        return this.bestVisits;
+    }
+
+    /**
+     * @return the average result of the roots for the side that has to play (from 0 to 1)
+     */
+    public double getWinRate() {
+        double sum = 0;
+        int visits = 0;
+        for (MonteCarloTree tree : this.trees) {
+            sum += tree.getWinRate() * tree.getVisits();
+            visits += tree.getVisits();
+        }
+        return (visits == 0) ? 0.5 : sum / visits;
+    }
+}
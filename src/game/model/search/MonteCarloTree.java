@@ -0,0 +1,476 @@
+package game.model.search;
+
+import game.model.rules.Bitboards;
+import game.model.rules.Move;
+import game.model.rules.Position;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Java class that allows to find the best move of a position with a Monte Carlo tree search.
+ * Each iteration goes down the tree by choosing the children with the UCT formula, adds one new
+ * child to the tree, finishes the game with quick moves (a playout) and adds the result to all
+ * the nodes of the path. The moves of the playouts are random but, between two random moves, the
+ * move that puts the pawn in contact with the most pawns of its side is preferred. A playout that
+ * is too long is stopped and its result is estimated by the Evaluation class.
+ * The tree is kept from one search to another : if the new position is in the first two plies of
+ * the tree, the search goes on from it. A tree is used by only one thread.
+ */
+public class MonteCarloTree {
+
+    /**
+     * The result of a game that is not over
+     */
+    private final static int ONGOING = -1;
+    /**
+     * The result of a drawn game
+     */
+    private final static int DRAW = 2;
+    /**
+     * The weight of the exploration in the UCT formula
+     */
+    private final static double EXPLORATION = 1.0;
+    /**
+     * The maximal number of moves of a playout
+     */
+    private final static int PLAYOUT_PLIES = 60;
+    /**
+     * The evaluation difference that gives about three chances out of four to win a stopped playout
+     */
+    private final static double EVALUATION_SCALE = 100;
+    /**
+     * The maximal depth of the tree
+     */
+    private final static int MAX_DEPTH = 256;
+    /**
+     * The number of playouts done between two checks of the time limit
+     */
+    private final static int CHECK_INTERVAL = 16;
+    /**
+     * The squares in contact with each square, the low long followed by the high long
+     */
+    private final static long[] NEIGHBOURS = new long[2 * Position.SQUARES];
+
+    static {
+        long[] squares = new long[2];
+        for (int square = 0; square < Position.SQUARES; square++) {
+            squares[0] = (square < 64) ? 1L << square : 0;
+            squares[1] = (square < 64) ? 0 : 1L << (square - 64);
+            long low = squares[0], high = squares[1];
+            Bitboards.spread(squares);
+            NEIGHBOURS[2 * square] = squares[0] & ~low;
+            NEIGHBOURS[2 * square + 1] = squares[1] & ~high;
+        }
+    }
+
+    /**
+     * Java class that represents a position of the tree, reached by a move.
+     */
+    private final static class Node {
+        /**
+         * The move that leads to this position (Move.NONE for a root)
+         */
+        private final int move;
+        /**
+         * The side that did the move
+         */
+        private final int side;
+        /**
+         * The Zobrist key of the position
+         */
+        private final long key;
+        /**
+         * The winner if the game is over (FIRST, SECOND or DRAW), ONGOING otherwise
+         */
+        private final int result;
+        /**
+         * The moves of the position that have no child yet (null until the node is expanded)
+         */
+        private int[] untried;
+        /**
+         * The number of moves in untried
+         */
+        private int untriedCount;
+        /**
+         * The children of the node
+         */
+        private Node[] children;
+        /**
+         * The number of children
+         */
+        private int childCount;
+        /**
+         * The number of playouts that went through the node
+         */
+        private int visits;
+        /**
+         * The sum of the results of these playouts for the side that did the move
+         */
+        private double wins;
+
+        /**
+         * @param move   the move that leads to the position
+         * @param side   the side that did the move
+         * @param key    the Zobrist key of the position
+         * @param result the winner if the game is over, ONGOING otherwise
+         */
+        private Node(int move, int side, long key, int result) {
+            this.move = move;
+            this.side = side;
+            this.key = key;
+            this.result = result;
+        }
+    }
+
+    /**
+     * The random numbers used by the search
+     */
+    private final Random random;
+    /**
+     * The evaluation of the stopped playouts
+     */
+    private final Evaluation evaluation = new Evaluation();
+    /**
+     * The array where the moves of the playouts are written
+     */
+    private final int[] moves = new int[Position.MAX_MOVES];
+    /**
+     * The nodes of the path of the current iteration
+     */
+    private final Node[] path = new Node[MAX_DEPTH + 1];
+    /**
+     * The maximal number of nodes of the tree
+     */
+    private final int maxNodes;
+    /**
+     * The position searched (a copy)
+     */
+    private Position position;
+    /**
+     * The root of the tree
+     */
+    private Node root;
+    /**
+     * The number of nodes of the tree (approximately when a tree is reused)
+     */
+    private int nodes;
+    /**
+     * The number of playouts done by the last search
+     */
+    private long playouts;
+    /**
+     * True if the search must stop
+     */
+    private volatile boolean stopped;
+
+    /**
+     * Allows to create an empty tree.
+     *
+     * @param seed     the seed of the random numbers
+     * @param maxNodes the maximal number of nodes of the tree (at least 1), the tree stops growing
+     *                 when it is reached but the playouts go on
+     */
+    public MonteCarloTree(long seed, int maxNodes) {
+        if (maxNodes >= 1) {
+            this.random = new Random(seed);
+            this.maxNodes = maxNodes;
+        } else {
+            throw new IllegalArgumentException("Monte Carlo tree size error");
+        }
+    }
+
+    /**
+     * Allows to search a position until one of the limits is reached. The tree of the previous
+     * search is kept if the position is one of its first two plies.
+     *
+     * @param position     the position to search
+     * @param side         the side that has to play (FIRST or SECOND)
+     * @param playoutLimit the number of playouts to do (0 if there's no limit)
+     * @param deadline     the value of System.nanoTime() after which the search stops (0 if there's no limit)
+     * @return the most visited move or Move.NONE if the side can't move any pawn
+     */
+    public int run(Position position, int side, long playoutLimit, long deadline) {
+        if (position == null || (side != Position.FIRST && side != Position.SECOND)) {
+            throw new IllegalArgumentException("Monte Carlo search initialization error");
+        }
+        this.position = position.copy();
+        this.position.setSideToMove(side);
+        this.playouts = 0;
+        this.reuse(this.position.getHash());
+        while (!this.stopped && (playoutLimit == 0 || this.playouts < playoutLimit)) {
+            if (deadline != 0 && this.playouts % CHECK_INTERVAL == 0 && System.nanoTime() - deadline >= 0) break;
+            this.iterate();
+            this.playouts++;
+        }
+        return this.getBestMove();
+    }
+
+    /**
+     * Allows to keep the part of the tree that begins with a position, or to create a new tree
+     * if the position is not in the first two plies of the tree.
+     *
+     * @param key the Zobrist key of the position
+     */
+    private void reuse(long key) {
+        Node found = null;
+        if (this.root != null) {
+            if (this.root.key == key) found = this.root;
+            for (int i = 0; i < this.root.childCount && found == null; i++) {
+                Node child = this.root.children[i];
+                if (child.key == key) found = child;
+                for (int j = 0; j < child.childCount && found == null; j++) {
+                    if (child.children[j].key == key) found = child.children[j];
+                }
+            }
+        }
+        if (found == null || found.result != ONGOING) {
+            this.root = new Node(Move.NONE, 1 - this.position.getSideToMove(), key, ONGOING);
+            this.nodes = 1;
+        } else {
+            this.root = found;
+            this.nodes = found.visits + 1;
+        }
+    }
+
+    /**
+     * Allows to do one iteration of the search : selection, expansion, playout and update of the
+     * nodes of the path.
+     */
+    private void iterate() {
+        Node node = this.root;
+        int depth = 0;
+        this.path[0] = node;
+        while (node.result == ONGOING && depth < MAX_DEPTH) {
+            if (node.untried == null) this.expand(node);
+            if (node.untriedCount > 0 && this.nodes < this.maxNodes) {
+                int index = this.random.nextInt(node.untriedCount);
+                int move = node.untried[index];
+                node.untried[index] = node.untried[--node.untriedCount];
+                node = this.addChild(node, move);
+                this.path[++depth] = node;
+                break;
+            }
+            if (node.childCount == 0) break;
+            node = this.select(node);
+            this.position.makeMove(node.move);
+            this.path[++depth] = node;
+        }
+        double result;
+        if (node.result != ONGOING) result = score(node.result);
+        else if (node.untried != null && node.untriedCount == 0 && node.childCount == 0) result = 0.5;
+        else result = this.playout();
+        for (int i = depth; i >= 0; i--) {
+            Node visited = this.path[i];
+            visited.visits++;
+            visited.wins += (visited.side == Position.FIRST) ? result : 1 - result;
+            this.path[i] = null;
+        }
+        for (int i = 0; i < depth; i++) this.position.unmakeMove();
+    }
+
+    /**
+     * Allows to write the moves of the position of a node in the node.
+     *
+     * @param node the node of the current position
+     */
+    private void expand(Node node) {
+        int count = this.position.generateMoves(this.position.getSideToMove(), this.moves);
+        node.untried = Arrays.copyOf(this.moves, count);
+        node.untriedCount = count;
+        node.children = new Node[count];
+    }
+
+    /**
+     * Allows to do a move of the current position and to add the position obtained to the tree.
+     *
+     * @param parent the node of the current position
+     * @param move   the move
+     * @return the new node
+     */
+    private Node addChild(Node parent, int move) {
+        int side = this.position.getSideToMove();
+        this.position.makeMove(move);
+        Node child = new Node(move, side, this.position.getHash(), this.getWinner(side));
+        parent.children[parent.childCount++] = child;
+        this.nodes++;
+        return child;
+    }
+
+    /**
+     * Allows to choose the child of a node with the highest UCT value : the average result of
+     * the child plus a bonus for the children that were not visited a lot.
+     *
+     * @param node the node
+     * @return the child chosen
+     */
+    private Node select(Node node) {
+        double logVisits = Math.log(node.visits);
+        Node best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < node.childCount; i++) {
+            Node child = node.children[i];
+            double value = child.wins / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Allows to finish the game from the current position with quick moves. The position is the
+     * same after the playout.
+     *
+     * @return the result of the game for the first side (1 if it wins, 0 if it loses)
+     */
+    private double playout() {
+        int plies = 0;
+        int winner = ONGOING;
+        while (winner == ONGOING && plies < PLAYOUT_PLIES) {
+            int side = this.position.getSideToMove();
+            int count = this.position.generateMoves(side, this.moves);
+            if (count == 0) {
+                winner = DRAW;
+                break;
+            }
+            int move = this.moves[this.random.nextInt(count)];
+            int other = this.moves[this.random.nextInt(count)];
+            if (this.countContacts(side, other) > this.countContacts(side, move)) move = other;
+            this.position.makeMove(move);
+            plies++;
+            winner = this.getWinner(side);
+        }
+        double result;
+        if (winner != ONGOING) result = score(winner);
+        else result = 1 / (1 + Math.exp(-this.evaluation.evaluate(this.position, Position.FIRST) / EVALUATION_SCALE));
+        for (int i = 0; i < plies; i++) this.position.unmakeMove();
+        return result;
+    }
+
+    /**
+     * Allows to count the pawns of a side (and the Zen) that would be in contact with a pawn after a move.
+     *
+     * @param side the side that does the move
+     * @param move the move
+     * @return the number of pawns in contact with the square where the pawn goes
+     */
+    private int countContacts(int side, int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        long low = this.position.getLow(side);
+        long high = this.position.getHigh(side);
+        int zen = this.position.getZenSquare();
+        if (zen != Position.EMPTY && zen != from) {
+            if (zen < 64) low |= 1L << zen;
+            else high |= 1L << (zen - 64);
+        }
+        if (from < 64) low &= ~(1L << from);
+        else high &= ~(1L << (from - 64));
+        return Long.bitCount(NEIGHBOURS[2 * to] & low) + Long.bitCount(NEIGHBOURS[2 * to + 1] & high);
+    }
+
+    /**
+     * Allows to know if the current position ends the game.
+     *
+     * @param side the side that did the last move
+     * @return the winner (FIRST, SECOND or DRAW if both sides are connected) or ONGOING
+     */
+    private int getWinner(int side) {
+        boolean won = this.position.isConnected(side);
+        boolean lost = this.position.isConnected(1 - side);
+        if (won && lost) return DRAW;
+        else if (won) return side;
+        else if (lost) return 1 - side;
+        else return ONGOING;
+    }
+
+    /**
+     * @param winner FIRST, SECOND or DRAW
+     * @return the result of the game for the first side
+     */
+    private static double score(int winner) {
+        return (winner == DRAW) ? 0.5 : (winner == Position.FIRST) ? 1 : 0;
+    }
+
+    /**
+     * Allows to stop the search from another thread. If the search has not begun yet, it returns
+     * as soon as run() is called, until resume() is called.
+     */
+    public void stop() {
+        this.stopped = true;
+    }
+
+    /**
+     * Allows to allow the next search again after a stop. It must be called before the search is
+     * given to the thread that runs it, so that a stop sent in the meantime is not lost.
+     */
+    public void resume() {
+        this.stopped = false;
+    }
+
+    /**
+     * Allows to forget the tree, the next search begins with an empty tree.
+     */
+    public void clear() {
+        this.root = null;
+        this.nodes = 0;
+    }
+
+    /**
+     * @return the most visited move of the root or Move.NONE if the root has no child
+     */
+    public int getBestMove() {
+        Node best = null;
+        for (int i = 0; this.root != null && i < this.root.childCount; i++) {
+            if (best == null || this.root.children[i].visits > best.visits) best = this.root.children[i];
+        }
+        return (best == null) ? Move.NONE : best.move;
+    }
+
+    /**
+     * Allows to get the moves of the root with their number of visits.
+     *
+     * @param moves  the array where the moves are written (at least Position.MAX_MOVES long)
+     * @param visits the array where the number of visits of each move is written
+     * @return the number of moves written
+     */
+    public int getRootMoves(int[] moves, int[] visits) {
+        if (this.root == null) return 0;
+        for (int i = 0; i < this.root.childCount; i++) {
+            moves[i] = this.root.children[i].move;
+            visits[i] = this.root.children[i].visits;
+        }
+        return this.root.childCount;
+    }
+
+    /**
+     * @return the average result of the root for the side that has to play (from 0 to 1)
+     */
+    public double getWinRate() {
+        if (this.root == null || this.root.visits == 0) return 0.5;
+        return 1 - this.root.wins / this.root.visits;
+    }
+
+    /**
+     * @return the number of playouts done by the last search
+     */
+    public long getPlayouts() {
+        return this.playouts;
+    }
+
+    /**
+     * @return the number of playouts of the root, including the ones of the previous searches
+     */
+    public int getVisits() {
+        return (this.root == null) ? 0 : this.root.visits;
+    }
+
+    /**
+     * @return the number of nodes of the tree
+     */
+    public int getNodes() {
+        return this.nodes;
+    }
+}
@@ -0,0 +1,195 @@
+package game.model.search;
+
+import game.model.rules.Move;
+import game.model.rules.Position;
+
+import java.util.Arrays;
+
+/**
+ * Java class that allows to choose in which order the moves of a position are searched, because
+ * the search is faster when the best moves are searched first. The move of the transposition
+ * table is searched first, then the moves that eat an adverse pawn, then the killer moves (the
+ * last two moves that made the search stop at the same ply) and the other moves in the order of
+ * their history : a score kept for each side, square of departure and square of arrival that
+ * grows when the move makes the search stop and decreases when it doesn't.
+ * The moves are sorted one at a time, when they are needed, because the search often stops
+ * after the first ones. The class also counts how often the search stops at the first move,
+ * which shows how good the order is.
+ */
+public class MoveOrdering {
+
+    /**
+     * The score of the move of the transposition table
+     */
+    private final static int TABLE_MOVE = 1 << 30;
+    /**
+     * The score of the moves that eat an adverse pawn
+     */
+    private final static int CAPTURE = 1 << 29;
+    /**
+     * The score of the first killer move (the second one has one point less)
+     */
+    private final static int KILLER = 1 << 28;
+    /**
+     * The highest history score, all the scores are halved when it is reached
+     */
+    private final static int HISTORY_MAX = 1 << 20;
+
+    /**
+     * The killer moves of each ply (two per ply)
+     */
+    private final int[] killers = new int[2 * Search.MAX_PLY];
+    /**
+     * The history scores of each side, indexed by the squares of departure and arrival
+     */
+    private final int[] history = new int[2 * Position.SQUARES * Position.SQUARES];
+    /**
+     * The scores of the moves of each ply
+     */
+    private final int[][] scores = new int[Search.MAX_PLY][Position.MAX_MOVES];
+    /**
+     * The number of searches of a position that stopped because a move was too good
+     */
+    private long cutoffs;
+    /**
+     * The number of these searches that stopped at the first move
+     */
+    private long firstMoveCutoffs;
+
+    /**
+     * Allows to create an empty ordering.
+     */
+    public MoveOrdering() {
+        Arrays.fill(this.killers, Move.NONE);
+    }
+
+    /**
+     * Allows to prepare a new search : the killer moves and the counters are forgotten and the
+     * history scores are halved so that the last searches count more.
+     */
+    public void newSearch() {
+        Arrays.fill(this.killers, Move.NONE);
+        for (int i = 0; i < this.history.length; i++) this.history[i] /= 2;
+        this.cutoffs = 0;
+        this.firstMoveCutoffs = 0;
+    }
+
+    /**
+     * Allows to give a score to each move of a position before they are searched.
+     *
+     * @param moves     the moves of the position
+     * @param count     the number of moves
+     * @param ply       the number of moves done since the root
+     * @param side      the side that has to play
+     * @param tableMove the move of the transposition table (or Move.NONE)
+     */
+    public void score(int[] moves, int count, int ply, int side, int tableMove) {
+        int[] plyScores = this.scores[ply];
+        int killer = this.killers[2 * ply];
+        int secondKiller = this.killers[2 * ply + 1];
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            if (tableMove != Move.NONE && Move.sameSquares(move, tableMove)) plyScores[i] = TABLE_MOVE;
+            else if (Move.isCapture(move)) plyScores[i] = CAPTURE + this.history[index(side, move)];
+            else if (killer != Move.NONE && Move.sameSquares(move, killer)) plyScores[i] = KILLER;
+            else if (secondKiller != Move.NONE && Move.sameSquares(move, secondKiller)) plyScores[i] = KILLER - 1;
+            else plyScores[i] = this.history[index(side, move)];
+        }
+    }
+
+    /**
+     * Allows to put at an index the move with the highest score among the moves not searched yet.
+     *
+     * @param moves the moves of the position (the moves before the index are already searched)
+     * @param index the index of the next move to search
+     * @param count the number of moves
+     * @param ply   the number of moves done since the root
+     * @return the next move to search
+     */
+    public int next(int[] moves, int index, int count, int ply) {
+        int[] plyScores = this.scores[ply];
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (plyScores[i] > plyScores[best]) best = i;
+        }
+        int move = moves[best];
+        moves[best] = moves[index];
+        moves[index] = move;
+        int score = plyScores[best];
+        plyScores[best] = plyScores[index];
+        plyScores[index] = score;
+        return move;
+    }
+
+    /**
+     * Allows to remember a move that made the search of a position stop. If the move doesn't eat
+     * any pawn, it becomes the first killer move of the ply, its history score grows and the
+     * history scores of the moves searched before it decrease.
+     *
+     * @param moves the moves of the position, in the order they were searched
+     * @param index the index of the move
+     * @param depth the depth of the search of the position
+     * @param ply   the number of moves done since the root
+     * @param side  the side that did the move
+     */
+    public void cutoff(int[] moves, int index, int depth, int ply, int side) {
+        this.cutoffs++;
+        if (index == 0) this.firstMoveCutoffs++;
+        int move = moves[index];
+        if (Move.isCapture(move)) return;
+        if (!Move.sameSquares(move, this.killers[2 * ply])) {
+            this.killers[2 * ply + 1] = this.killers[2 * ply];
+            this.killers[2 * ply] = move;
+        }
+        int bonus = depth * depth;
+        this.addHistory(index(side, move), bonus);
+        for (int i = 0; i < index; i++) {
+            if (!Move.isCapture(moves[i])) this.addHistory(index(side, moves[i]), -bonus);
+        }
+    }
+
+    /**
+     * Allows to change a history score, all the scores are halved if it becomes too high.
+     *
+     * @param index the index of the score
+     * @param bonus the number added to the score
+     */
+    private void addHistory(int index, int bonus) {
+        this.history[index] += bonus;
+        if (Math.abs(this.history[index]) >= HISTORY_MAX) {
+            for (int i = 0; i < this.history.length; i++) this.history[i] /= 2;
+        }
+    }
+
+    /**
+     * @param side the side that does the move
+     * @param move the move
+     * @return the index of the history score of the move
+     */
+    private static int index(int side, int move) {
+        return (side * Position.SQUARES + Move.from(move)) * Position.SQUARES + Move.to(move);
+    }
+
+    /**
+     * @param side the side that does the move
+     * @param move the move
+     * @return the history score of the move
+     */
+    public int getHistory(int side, int move) {
+        return this.history[index(side, move)];
+    }
+
+    /**
+     * @return the number of searches of a position that stopped because a move was too good
+     */
+    public long getCutoffs() {
+        return this.cutoffs;
+    }
+
+    /**
+     * @return the number of these searches that stopped at the first move
+     */
+    public long getFirstMoveCutoffs() {
+        return this.firstMoveCutoffs;
+    }
+}
@@ -0,0 +1,249 @@
+package game.model.search;
+
+import game.model.rules.Move;
+import game.model.rules.Position;
+import game.model.rules.Zobrist;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Java class that allows to read the moves of an opening book : a file that gives, for the
+ * positions of the beginning of the game, the moves that were found to be good by deep searches
+ * and how often each of them should be played.
+ * The file begins with a magic number and contains entries of 16 bytes sorted by key : the
+ * Zobrist key of the position (with the side that has to play), the move and its weight. The
+ * file is mapped in memory and searched by dichotomy, so a book doesn't use any space of the heap
+ * and is opened at once whatever its size. The moves of the book are checked before being played,
+ * so a wrong or old book can't make a player play a wrong move.
+ */
+public class OpeningBook {
+
+    /**
+     * The number written at the beginning of the files of opening books
+     */
+    public final static long MAGIC = 0x5A454E424F4F4B31L;
+    /**
+     * The number of bytes of an entry (key, move and weight)
+     */
+    public final static int ENTRY_BYTES = Long.BYTES + 2 * Integer.BYTES;
+    /**
+     * The path of the book used by the artificial players in the resources
+     */
+    private final static String DEFAULT_BOOK = "/res/book/opening.book";
+    /**
+     * The book used by the artificial players (loaded the first time it is needed)
+     */
+    private static volatile OpeningBook defaultBook;
+
+    /**
+     * The entries of the book, after the magic number
+     */
+    private final ByteBuffer entries;
+    /**
+     * The number of entries
+     */
+    private final int size;
+
+    /**
+     * Allows to create a book from its entries.
+     *
+     * @param entries the entries (without the magic number)
+     */
+    private OpeningBook(ByteBuffer entries) {
+        this.entries = entries;
+        this.size = entries.capacity() / ENTRY_BYTES;
+    }
+
+    /**
+     * Allows to open a book by mapping its file in memory.
+     *
+     * @param file the file of the book
+     * @return the book
+     * @throws IOException if the file can't be read or is not a book
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < Long.BYTES || (length - Long.BYTES) % ENTRY_BYTES != 0 || length > Integer.MAX_VALUE) {
+                throw new IOException("Opening book size error");
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length).order(ByteOrder.BIG_ENDIAN);
+            if (buffer.getLong(0) != MAGIC) throw new IOException("Opening book format error");
+            buffer.position(Long.BYTES);
+            return new OpeningBook(buffer.slice().order(ByteOrder.BIG_ENDIAN));
+        }
+    }
+
+    /**
+     * Allows to get the book of the resources, used by the artificial players. If the resources are
+     * in a jar, the book is copied once in a temporary file to be mapped. If the book can't be
+     * opened, an empty book is used.
+     *
+     * @return the book of the resources
+     */
+    public static OpeningBook getDefault() {
+        if (defaultBook == null) {
+            synchronized (OpeningBook.class) {
+                if (defaultBook == null) defaultBook = loadDefault();
+            }
+        }
+        return defaultBook;
+    }
+
+    /**
+     * Allows to open the book of the resources.
+     *
+     * @return the book of the resources or an empty book if it can't be opened
+     */
+    private static OpeningBook loadDefault() {
+        URL url = OpeningBook.class.getResource(DEFAULT_BOOK);
+        try {
+            if (url == null) return empty();
+            if (url.getProtocol().equals("file")) return open(Paths.get(url.toURI()));
+            Path copy = Files.createTempFile("opening", ".book");
+            copy.toFile().deleteOnExit();
+            try (InputStream input = url.openStream()) {
+                Files.copy(input, copy, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return open(copy);
+        } catch (IOException | URISyntaxException e) {
+            return empty();
+        }
+    }
+
+    /**
+     * @return a book without any entry
+     */
+    public static OpeningBook empty() {
+        return new OpeningBook(ByteBuffer.allocate(0));
+    }
+
+    /**
+     * Allows to write a book in a file. The entries are sorted by key before being written and the
+     * entries of a same position keep their order.
+     *
+     * @param file    the file of the book
+     * @param keys    the keys of the positions (with the side that has to play)
+     * @param moves   the moves of the positions
+     * @param weights the weights of the moves (at least 1)
+     * @param count   the number of entries
+     * @throws IOException if the file can't be written
+     */
+    public static void write(Path file, long[] keys, int[] moves, int[] weights, int count) throws IOException {
+        if (count < 0 || count > keys.length || count > moves.length || count > weights.length) {
+            throw new IllegalArgumentException("Opening book entries error");
+        }
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            if (weights[i] < 1) throw new IllegalArgumentException("Opening book weight error");
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> Long.compare(keys[first], keys[second]));
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + count * ENTRY_BYTES).order(ByteOrder.BIG_ENDIAN);
+        buffer.putLong(MAGIC);
+        for (int i : order) buffer.putLong(keys[i]).putInt(moves[i]).putInt(weights[i]);
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        }
+    }
+
+    /**
+     * Allows to get the key of a position in the book, which is its Zobrist key with a side to move.
+     *
+     * @param position the position
+     * @param side     the side that has to play (FIRST or SECOND)
+     * @return the key of the position
+     */
+    public static long key(Position position, int side) {
+        return position.getHash() ^ Zobrist.sideToMove(position.getSideToMove()) ^ Zobrist.sideToMove(side);
+    }
+
+    /**
+     * Allows to find the first entry of a key.
+     *
+     * @param key the key
+     * @return the index of the first entry of the key or the number of entries if there's none
+     */
+    private int find(long key) {
+        int low = 0;
+        int high = this.size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.entries.getLong(middle * ENTRY_BYTES) < key) low = middle + 1;
+            else high = middle;
+        }
+        return (low < this.size && this.entries.getLong(low * ENTRY_BYTES) == key) ? low : this.size;
+    }
+
+    /**
+     * Allows to write the correct moves of the book for a position and their weights in arrays.
+     *
+     * @param position the position
+     * @param side     the side that has to play (FIRST or SECOND)
+     * @param moves    the array where the moves are written (Position.MAX_MOVES moves at most)
+     * @param weights  the array where the weights are written
+     * @return the number of moves written
+     */
+    public int getMoves(Position position, int side, int[] moves, int[] weights) {
+        long key = key(position, side);
+        int count = 0;
+        for (int i = this.find(key); i < this.size && count < moves.length; i++) {
+            int offset = i * ENTRY_BYTES;
+            if (this.entries.getLong(offset) != key) break;
+            int move = this.entries.getInt(offset + Long.BYTES);
+            int weight = this.entries.getInt(offset + Long.BYTES + Integer.BYTES);
+            if (weight > 0 && position.isLegal(side, Move.from(move), Move.to(move))) {
+                moves[count] = position.createMove(Move.from(move), Move.to(move));
+                weights[count] = weight;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Allows to choose a move of the book for a position, each move is chosen with a probability
+     * proportional to its weight.
+     *
+     * @param position the position
+     * @param side     the side that has to play (FIRST or SECOND)
+     * @param random   the random numbers used to choose
+     * @return the move chosen or Move.NONE if the position is not in the book
+     */
+    public int choose(Position position, int side, Random random) {
+        int[] moves = new int[Position.MAX_MOVES];
+        int[] weights = new int[Position.MAX_MOVES];
+        int count = this.getMoves(position, side, moves, weights);
+        long total = 0;
+        for (int i = 0; i < count; i++) total += weights[i];
+        if (total == 0) return Move.NONE;
+        long chosen = (long) (random.nextDouble() * total);
+        for (int i = 0; i < count; i++) {
+            chosen -= weights[i];
+            if (chosen < 0) return moves[i];
+        }
+        return moves[count - 1];
+    }
+
+    /**
+     * @return the number of entries of the book
+     */
+    public int size() {
+        return this.size;
+    }
+}
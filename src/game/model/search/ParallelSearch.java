@@ -0,0 +1,266 @@
+package game.model.search;
+
+import game.model.rules.Move;
+import game.model.rules.Position;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Java class that allows to search a position with several threads (Lazy SMP). All the threads
+ * search the same position with iterative deepening and share the same transposition table, so
+ * each thread uses the results found by the others. The calling thread does the main search and
+ * the other threads are helpers that are stopped when the main search is over. The move played is
+ * the best move of the thread that completely searched the deepest iteration.
+ * The helper threads are kept from one search to another until close() is called, and so is the
+ * order of the moves of each thread (its killer moves and history scores).
+ */
+public class ParallelSearch {
+
+    /**
+     * The number of threads used by the search (including the calling thread)
+     */
+    private final int threads;
+    /**
+     * The transposition table shared by the threads
+     */
+    private final TranspositionTable table;
+    /**
+     * The threads of the helpers (null if there's only one thread)
+     */
+    private final ExecutorService executor;
+    /**
+     * The order of the moves of each thread, kept from one search to another
+     */
+    private final MoveOrdering[] orderings;
+    /**
+     * The searches of the last position searched (the main search first)
+     */
+    private volatile Search[] searches = new Search[0];
+    /**
+     * The search that found the move played
+     */
+    private Search best;
+    /**
+     * True if the search was stopped from another thread
+     */
+    private volatile boolean stopped;
+    /**
+     * The highest noise added to the evaluation of the positions (0 if there's no noise)
+     */
+    private int noise;
+    /**
+     * The seed of the noise
+     */
+    private long noiseSeed;
+
+    /**
+     * Allows to create a parallel search.
+     *
+     * @param threads the number of threads used by the search (at least 1)
+     * @param table   the transposition table shared by the threads
+     */
+    public ParallelSearch(int threads, TranspositionTable table) {
+        if (threads >= 1 && table != null) {
+            this.threads = threads;
+            this.table = table;
+            this.executor = (threads > 1) ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+                Thread thread = new Thread(runnable, "search helper");
+                thread.setDaemon(true);
+                return thread;
+            }) : null;
+            this.orderings = new MoveOrdering[threads];
+            for (int i = 0; i < threads; i++) this.orderings[i] = new MoveOrdering();
+        } else {
+            throw new IllegalArgumentException("Parallel search initialization error");
+        }
+    }
+
+    /**
+     * Allows to search a position with all the threads until one of the limits is reached.
+     * The number of nodes allowed is shared between the threads.
+     *
+     * @param position  the position to search
+     * @param side      the side that has to play (FIRST or SECOND)
+     * @param maxDepth  the maximal depth (at most Search.MAX_PLY)
+     * @param time      the time limit in milliseconds (0 if there's no limit)
+     * @param nodeLimit the maximal number of nodes of all the threads (0 if there's no limit)
+     * @return the best move found or Move.NONE if the side can't move any pawn
+     */
+    public int run(Position position, int side, int maxDepth, long time, long nodeLimit) {
+        return this.run(position, side, maxDepth, time, nodeLimit, null);
+    }
+
+    /**
+     * Allows to search a position with all the threads during the time given by a time manager,
+     * which is consulted by the main search after each iteration. The search never lasts longer
+     * than the maximal time of the manager.
+     *
+     * @param position    the position to search
+     * @param side        the side that has to play (FIRST or SECOND)
+     * @param maxDepth    the maximal depth (at most Search.MAX_PLY)
+     * @param timeManager the time manager, already started
+     * @param nodeLimit   the maximal number of nodes of all the threads (0 if there's no limit)
+     * @return the best move found or Move.NONE if the side can't move any pawn
+     */
+    public int run(Position position, int side, int maxDepth, TimeManager timeManager, long nodeLimit) {
+        if (timeManager == null) throw new IllegalArgumentException("Time manager error");
+        return this.run(position, side, maxDepth, timeManager.getMaximum(), nodeLimit, timeManager);
+    }
+
+    /**
+     * Allows to search a position with all the threads until one of the limits is reached.
+     *
+     * @param position    the position to search
+     * @param side        the side that has to play (FIRST or SECOND)
+     * @param maxDepth    the maximal depth (at most Search.MAX_PLY)
+     * @param time        the time limit in milliseconds (0 if there's no limit)
+     * @param nodeLimit   the maximal number of nodes of all the threads (0 if there's no limit)
+     * @param timeManager the time manager of the main search (or null)
+     * @return the best move found or Move.NONE if the side can't move any pawn
+     */
+    private int run(Position position, int side, int maxDepth, long time, long nodeLimit, TimeManager timeManager) {
+        Search[] searches = new Search[this.threads];
+        for (int i = 0; i < this.threads; i++) {
+            searches[i] = new Search(position, side, this.table, this.orderings[i]);
+            searches[i].setHelper(i);
+            searches[i].setNoise(this.noise, this.noiseSeed);
+        }
+        searches[0].setTimeManager(timeManager);
+        this.stopped = false;
+        this.searches = searches;
+        long threadNodes = (nodeLimit > 0) ? Math.max(1, nodeLimit / this.threads) : 0;
+        Future<?>[] helpers = new Future<?>[this.threads - 1];
+        for (int i = 1; i < this.threads; i++) {
+            Search search = searches[i];
+            helpers[i - 1] = this.executor.submit(() -> search.run(maxDepth, time, threadNodes));
+        }
+        if (!this.stopped) searches[0].run(maxDepth, time, threadNodes);
+        for (int i = 1; i < this.threads; i++) searches[i].stop();
+        for (Future<?> helper : helpers) {
+            try {
+                helper.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search helper error", e.getCause());
+            }
+        }
+        this.best = searches[0];
+        for (Search search : searches) {
+            if (search.getDepth() > this.best.getDepth() && search.getBestMove() != Move.NONE) this.best = search;
+        }
+        return this.best.getBestMove();
+    }
+
+    /**
+     * Allows to search during the turn of the adverse until the search is stopped. The reply of the
+     * adverse is predicted with the transposition table (the best move found for it by the last
+     * search) and the position after this reply is searched, so the results are in the table if the
+     * adverse plays it. If no reply is predicted, the position is searched for the adverse.
+     *
+     * @param position the position where the adverse has to play
+     * @param side     the side that searches (FIRST or SECOND), the adverse is the other one
+     */
+    public void ponder(Position position, int side) {
+        int adverse = 1 - side;
+        Position next = position.copy();
+        next.setSideToMove(adverse);
+        int predicted = TranspositionTable.move(this.table.probe(next.getHash()));
+        if (predicted != Move.NONE && next.isLegal(adverse, Move.from(predicted), Move.to(predicted))) {
+            next.makeMove(predicted);
+            if (!next.isConnected(side) && !next.isConnected(adverse)) {
+                this.run(next, side, Search.MAX_PLY, 0, 0);
+                return;
+            }
+        }
+        this.run(position, adverse, Search.MAX_PLY, 0, 0);
+    }
+
+    /**
+     * Allows to add noise to the evaluation of the positions of the next searches, to make them weaker.
+     *
+     * @param amplitude the highest noise (0 to remove the noise)
+     * @param seed      the seed of the noise (the same seed always gives the same noise to a position)
+     */
+    public void setNoise(int amplitude, long seed) {
+        if (amplitude >= 0) {
+            this.noise = amplitude;
+            this.noiseSeed = seed;
+        } else throw new IllegalArgumentException("Search noise error");
+    }
+
+    /**
+     * Allows to stop the search from another thread, the best move found so far is kept.
+     */
+    public void stop() {
+        this.stopped = true;
+        for (Search search : this.searches) search.stop();
+    }
+
+    /**
+     * Allows to stop the threads of the helpers, the object can't be used anymore.
+     */
+    public void close() {
+        if (this.executor != null) this.executor.shutdownNow();
+    }
+
+    /**
+     * @return the number of threads used by the search
+     */
+    public int getThreads() {
+        return this.threads;
+    }
+
+    /**
+     * @param thread the number of the thread (0 for the calling thread)
+     * @return the order of the moves of the thread, kept from one search to another
+     */
+    public MoveOrdering getOrdering(int thread) {
+        if (thread >= 0 && thread < this.threads) return this.orderings[thread];
+        else throw new IllegalArgumentException("Thread number error");
+    }
+
+    /**
+     * @return the number of nodes searched by all the threads during the last search
+     */
+    public long getNodes() {
+        long nodes = 0;
+        for (Search search : this.searches) nodes += search.getNodes();
+        return nodes;
+    }
+
+    /**
+     * @return the number of positions whose search stopped because a move was too good, for all the threads
+     */
+    public long getCutoffs() {
+        long cutoffs = 0;
+        for (Search search : this.searches) cutoffs += search.getCutoffs();
+        return cutoffs;
+    }
+
+    /**
+     * @return the number of these positions whose search stopped at the first move, for all the threads
+     */
+    public long getFirstMoveCutoffs() {
+        long cutoffs = 0;
+        for (Search search : this.searches) cutoffs += search.getFirstMoveCutoffs();
+        return cutoffs;
+    }
+
+    /**
+     * @return the deepest iteration completely searched by a thread during the last search
+     */
+    public int getDepth() {
+        return (this.best == null) ? 0 : this.best.getDepth();
+    }
+
+    /**
+     * @return the score of the move found by the last search
+     */
+    public int getBestScore() {
+        return (this.best == null) ? 0 : this.best.getBestScore();
+    }
+}
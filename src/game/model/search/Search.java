@@ -0,0 +1,428 @@
+package game.model.search;
+
+import game.model.rules.Move;
+import game.model.rules.Position;
+
+/**
+ * Java class that allows to find the best move of a position with an alpha-beta search
+ * (negamax with principal variation search). The search is done with iterative deepening :
+ * the position is searched at depth 1, then 2, ... until the maximal depth, the time limit
+ * or the node limit is reached. The best move found so far is always available, so the search
+ * can be stopped at any time. The search works on its own copy of the position, the moves are
+ * done and undone on it and no object is created during the search.
+ */
+public class Search {
+
+    /**
+     * The score of a won position (minus the number of moves needed to win)
+     */
+    public final static int WIN = 100000;
+    /**
+     * A score higher than all the scores
+     */
+    public final static int INFINITY = WIN + 1000;
+    /**
+     * The score of a position that was already reached, since the players could repeat the moves forever
+     */
+    public final static int DRAW = 0;
+    /**
+     * The maximal depth of a search
+     */
+    public final static int MAX_PLY = 64;
+    /**
+     * The number of nodes searched between two checks of the time limit
+     */
+    private final static int CHECK_INTERVAL = 1024;
+
+    /**
+     * The position searched
+     */
+    private final Position position;
+    /**
+     * The evaluation of the positions at the end of the search
+     */
+    private final Evaluation evaluation = new Evaluation();
+    /**
+     * The table where the results of the positions searched are saved (null if there's none)
+     */
+    private final TranspositionTable table;
+    /**
+     * The order in which the moves are searched (it can be kept from one search to another)
+     */
+    private final MoveOrdering ordering;
+    /**
+     * The arrays where the moves of each ply are written
+     */
+    private final int[][] moves = new int[MAX_PLY][Position.MAX_MOVES];
+    /**
+     * The number of nodes searched
+     */
+    private long nodes;
+    /**
+     * The number of nodes after which the search stops (0 if there's no limit)
+     */
+    private long nodeLimit;
+    /**
+     * The value of System.nanoTime() after which the search stops (0 if there's no limit)
+     */
+    private long deadline;
+    /**
+     * True if the search was stopped because of the limits or by stop() (it is only false when
+     * the search is created, so a stop is never lost even if it comes before run())
+     */
+    private volatile boolean stopped;
+    /**
+     * The best move found
+     */
+    private int bestMove = Move.NONE;
+    /**
+     * The score of the best move found
+     */
+    private int bestScore;
+    /**
+     * The last depth that was completely searched
+     */
+    private int depth;
+    /**
+     * The number of the search among the searches done at the same time on the same position
+     * (0 for the main search, the other ones are helpers)
+     */
+    private int helper;
+    /**
+     * The time manager that decides after each iteration whether the search stops (or null)
+     */
+    private TimeManager timeManager;
+
+    /**
+     * Allows to create a search on a copy of a position, without transposition table.
+     *
+     * @param position the position to search
+     * @param side     the side that has to play (FIRST or SECOND)
+     */
+    public Search(Position position, int side) {
+        this(position, side, null);
+    }
+
+    /**
+     * Allows to create a search on a copy of a position that saves its results in a transposition
+     * table. The table can be shared with other searches.
+     *
+     * @param position the position to search
+     * @param side     the side that has to play (FIRST or SECOND)
+     * @param table    the transposition table (or null)
+     */
+    public Search(Position position, int side, TranspositionTable table) {
+        this(position, side, table, new MoveOrdering());
+    }
+
+    /**
+     * Allows to create a search on a copy of a position that orders its moves with the killer moves
+     * and the history scores of an ordering, so that what the last searches learned is used. An
+     * ordering can only be used by one search at a time.
+     *
+     * @param position the position to search
+     * @param side     the side that has to play (FIRST or SECOND)
+     * @param table    the transposition table (or null)
+     * @param ordering the ordering of the moves
+     */
+    public Search(Position position, int side, TranspositionTable table, MoveOrdering ordering) {
+        if (position != null && (side == Position.FIRST || side == Position.SECOND) && ordering != null) {
+            this.position = position.copy();
+            this.position.setSideToMove(side);
+            this.table = table;
+            this.ordering = ordering;
+        } else {
+            throw new IllegalArgumentException("Search initialization error");
+        }
+    }
+
+    /**
+     * Allows to search the position until one of the limits is reached. A search is run once :
+     * once stopped, it returns at once, so a new Search must be created for each search.
+     *
+     * @param maxDepth  the maximal depth (at most MAX_PLY)
+     * @param time      the time limit in milliseconds (0 if there's no limit)
+     * @param nodeLimit the maximal number of nodes (0 if there's no limit)
+     * @return the best move found or Move.NONE if the side can't move any pawn
+     */
+    public int run(int maxDepth, long time, long nodeLimit) {
+        if (maxDepth < 1) throw new IllegalArgumentException("The depth must be at least 1");
+        this.nodes = 0;
+        this.nodeLimit = nodeLimit;
+        this.deadline = (time > 0) ? System.nanoTime() + time * 1000000 : 0;
+        this.bestMove = Move.NONE;
+        this.bestScore = 0;
+        this.depth = 0;
+        if (this.table != null && this.helper == 0) this.table.newSearch();
+        this.ordering.newSearch();
+        int[] rootMoves = this.moves[0];
+        int count = this.position.generateMoves(this.position.getSideToMove(), rootMoves);
+        if (count == 0) return Move.NONE;
+        this.bestMove = rootMoves[this.helper % count];
+        if (this.table != null && this.helper == 0) {
+            int tableMove = TranspositionTable.move(this.table.probe(this.position.getHash()));
+            for (int i = 0; i < count; i++) {
+                if (Move.sameSquares(rootMoves[i], tableMove)) this.bestMove = rootMoves[i];
+            }
+        }
+        int skew = this.helper & 1;
+        for (int depth = 1 + skew; depth <= Math.min(maxDepth, MAX_PLY - 1) && !this.stopped; depth++) {
+            this.searchRoot(depth, count);
+            if (!this.stopped) this.depth = depth;
+            if (Math.abs(this.bestScore) >= WIN - MAX_PLY) break;
+            if (this.timeManager != null && !this.stopped
+                    && this.timeManager.iterationDone(depth, this.bestMove, this.bestScore)) break;
+        }
+        return this.bestMove;
+    }
+
+    /**
+     * Allows to search all the moves of the root at a depth. The best move of the previous
+     * depth is searched first, and the best move is updated after each move completely
+     * searched so that an interrupted search still improves the result.
+     *
+     * @param depth the depth of the search
+     * @param count the number of moves of the root
+     */
+    private void searchRoot(int depth, int count) {
+        int[] rootMoves = this.moves[0];
+        for (int i = 0; i < count; i++) {
+            if (rootMoves[i] == this.bestMove) {
+                rootMoves[i] = rootMoves[0];
+                rootMoves[0] = this.bestMove;
+                break;
+            }
+        }
+        int alpha = -INFINITY;
+        for (int i = 0; i < count; i++) {
+            int score = this.searchMove(rootMoves[i], depth, alpha, INFINITY, 0, i == 0);
+            if (this.stopped) return;
+            if (score > alpha || i == 0) {
+                alpha = score;
+                this.bestMove = rootMoves[i];
+                this.bestScore = score;
+            }
+        }
+        if (this.table != null) {
+            this.table.store(this.position.getHash(), this.bestMove, this.bestScore, depth, TranspositionTable.EXACT);
+        }
+    }
+
+    /**
+     * Allows to do a move, to search the position obtained and to undo the move. If the move
+     * ends the game, the result is the score of the end of the game. The moves that are not the
+     * first one are searched with a null window first and searched again only if they are better.
+     *
+     * @param move  the move
+     * @param depth the depth of the search of the position before the move
+     * @param alpha the lowest score that can be obtained by the side
+     * @param beta  the highest score that can be obtained by the side
+     * @param ply   the number of moves done since the root
+     * @param first true if the move is the first one searched in its position
+     * @return the score of the move for the side that plays it
+     */
+    private int searchMove(int move, int depth, int alpha, int beta, int ply, boolean first) {
+        int side = this.position.getSideToMove();
+        this.position.makeMove(move);
+        int score;
+        boolean won = this.position.isConnected(side);
+        boolean lost = this.position.isConnected(1 - side);
+        if (won && lost) score = 0;
+        else if (won) score = WIN - ply - 1;
+        else if (lost) score = -WIN + ply + 1;
+        else if (first) score = -this.negamax(depth - 1, -beta, -alpha, ply + 1);
+        else {
+            score = -this.negamax(depth - 1, -alpha - 1, -alpha, ply + 1);
+            if (score > alpha && score < beta) score = -this.negamax(depth - 1, -beta, -alpha, ply + 1);
+        }
+        this.position.unmakeMove();
+        return score;
+    }
+
+    /**
+     * Allows to get the score of the position for the side that has to play. The transposition
+     * table is looked at first : its score is used if it was found by a search at least as deep
+     * and if its bound allows it, otherwise its move is searched first. The other moves are
+     * searched in the order given by the MoveOrdering class. A position already reached during
+     * the game or the search is a draw, so the search doesn't look for moves that go round in circles.
+     *
+     * @param depth the number of moves still to search
+     * @param alpha the lowest score that can be obtained by the side
+     * @param beta  the highest score that can be obtained by the side
+     * @param ply   the number of moves done since the root
+     * @return the score of the position
+     */
+    private int negamax(int depth, int alpha, int beta, int ply) {
+        if (this.stopped) return 0;
+        this.nodes++;
+        if (this.nodeLimit > 0 && this.nodes >= this.nodeLimit) this.stopped = true;
+        else if ((this.nodes & (CHECK_INTERVAL - 1)) == 0) this.checkTime();
+        if (this.stopped) return 0;
+        if (this.position.isRepetition()) return DRAW;
+        int side = this.position.getSideToMove();
+        if (depth <= 0 || ply >= MAX_PLY - 1) return this.evaluation.evaluate(this.position, side);
+        long key = this.position.getHash();
+        int tableMove = Move.NONE;
+        if (this.table != null) {
+            long data = this.table.probe(key);
+            if (data != 0) {
+                tableMove = TranspositionTable.move(data);
+                if (TranspositionTable.depth(data) >= depth) {
+                    int score = fromTable(TranspositionTable.score(data), ply);
+                    int bound = TranspositionTable.bound(data);
+                    if (bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER && score >= beta)
+                            || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                        return score;
+                    }
+                }
+            }
+        }
+        int[] plyMoves = this.moves[ply];
+        int count = this.position.generateMoves(side, plyMoves);
+        if (count == 0) return 0;
+        this.ordering.score(plyMoves, count, ply, side, tableMove);
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = Move.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = this.ordering.next(plyMoves, i, count, ply);
+            int score = this.searchMove(move, depth, alpha, beta, ply, i == 0);
+            if (this.stopped) return 0;
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    if (score >= beta) {
+                        this.ordering.cutoff(plyMoves, i, depth, ply, side);
+                        break;
+                    }
+                }
+            }
+        }
+        if (this.table != null) {
+            int bound = (best >= beta) ? TranspositionTable.LOWER
+                    : (best > originalAlpha) ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+            this.table.store(key, bestMove, toTable(best, ply), depth, bound);
+        }
+        return best;
+    }
+
+    /**
+     * Allows to write a score in the transposition table : the scores of won or lost positions
+     * are written from the position saved and not from the root.
+     *
+     * @param score the score from the root
+     * @param ply   the number of moves done since the root
+     * @return the score to save
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= WIN - MAX_PLY) return score + ply;
+        else if (score <= -WIN + MAX_PLY) return score - ply;
+        else return score;
+    }
+
+    /**
+     * Allows to read a score of the transposition table.
+     *
+     * @param score the score saved
+     * @param ply   the number of moves done since the root
+     * @return the score from the root
+     */
+    private static int fromTable(int score, int ply) {
+        if (score >= WIN - MAX_PLY) return score - ply;
+        else if (score <= -WIN + MAX_PLY) return score + ply;
+        else return score;
+    }
+
+    /**
+     * Allows to stop the search if the time limit is reached.
+     */
+    private void checkTime() {
+        if (this.deadline != 0 && System.nanoTime() - this.deadline >= 0) this.stopped = true;
+    }
+
+    /**
+     * Allows to make this search a helper of a main search done at the same time on the same
+     * position with the same transposition table. To search other parts of the tree than the
+     * main search, a helper begins with another move of the root and the odd helpers begin one
+     * ply deeper, so they are one iteration ahead of the main search. The helpers don't tell the
+     * table that a new search begins.
+     *
+     * @param helper the number of the helper (0 for the main search)
+     */
+    void setHelper(int helper) {
+        if (helper >= 0) this.helper = helper;
+        else throw new IllegalArgumentException("Helper number error");
+    }
+
+    /**
+     * Allows to add noise to the evaluation of the positions, to make the search weaker.
+     *
+     * @param amplitude the highest noise (0 to remove the noise)
+     * @param seed      the seed of the noise (the same seed always gives the same noise to a position)
+     */
+    public void setNoise(int amplitude, long seed) {
+        this.evaluation.setNoise(amplitude, seed);
+    }
+
+    /**
+     * Allows to give the search a time manager, which is told the result of each iteration and
+     * decides whether a new one is started. Its maximal time should be given as time limit to run().
+     *
+     * @param timeManager the time manager, already started (or null to search until the limits)
+     */
+    public void setTimeManager(TimeManager timeManager) {
+        this.timeManager = timeManager;
+    }
+
+    /**
+     * Allows to stop the search from another thread, the best move found so far is kept. If the
+     * search has not begun yet, it returns as soon as run() is called.
+     */
+    public void stop() {
+        this.stopped = true;
+    }
+
+    /**
+     * @return the number of positions whose search stopped because a move was too good during the last search
+     */
+    public long getCutoffs() {
+        return this.ordering.getCutoffs();
+    }
+
+    /**
+     * @return the number of these positions whose search stopped at the first move
+     */
+    public long getFirstMoveCutoffs() {
+        return this.ordering.getFirstMoveCutoffs();
+    }
+
+    /**
+     * @return the number of nodes searched by the last search
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * @return the best move found by the last search
+     */
+    public int getBestMove() {
+        return this.bestMove;
+    }
+
+    /**
+     * @return the score of the best move found by the last search
+     */
+    public int getBestScore() {
+        return this.bestScore;
+    }
+
+    /**
+     * @return the last depth that was completely searched
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+}
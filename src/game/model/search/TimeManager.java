@@ -0,0 +1,164 @@
+package game.model.search;
+
+import game.model.rules.Move;
+
+/**
+ * Java class that allows to decide how long a search can last when a player has a clock for the
+ * whole game. Before the search, the time of the clock is shared between the moves that remain
+ * to play, which are estimated from the number of the move and from the number of pawns of the
+ * player (the fewer pawns, the sooner they can be connected). This gives an optimal time and a
+ * maximal time, which is never exceeded.
+ * After each iteration of the search, the optimal time is adapted : the search stops sooner when
+ * the best move stays the same from one iteration to another and lasts longer when the best move
+ * changes or when the score drops (the player is in danger and needs to think more). A new
+ * iteration isn't started when it would probably not be over before the optimal time.
+ */
+public class TimeManager {
+
+    /**
+     * The smallest number of moves that are expected to remain
+     */
+    private final static int MIN_MOVES_TO_GO = 8;
+    /**
+     * The number of moves expected to remain for each pawn of the player at the beginning of the game
+     */
+    private final static int MOVES_PER_PAWN = 4;
+    /**
+     * The part of the increment that is used for each move (in percents)
+     */
+    private final static int INCREMENT_PERCENT = 75;
+    /**
+     * The highest part of the remaining time that can be used for a move (in percents)
+     */
+    private final static int MAX_PERCENT = 25;
+    /**
+     * The maximal time as a multiple of the optimal time
+     */
+    private final static int MAX_RATIO = 4;
+    /**
+     * The time kept on the clock for the delays between the search and the clock (in milliseconds)
+     */
+    private final static long MARGIN = 20;
+    /**
+     * The drop of the score from one iteration to the next one that makes the search last longer
+     */
+    private final static int PANIC_DROP = 30;
+    /**
+     * The part of the optimal time after which a new iteration isn't started (in percents)
+     */
+    private final static int NEW_ITERATION_PERCENT = 60;
+
+    /**
+     * The optimal time of the search (in milliseconds)
+     */
+    private long optimum;
+    /**
+     * The maximal time of the search (in milliseconds)
+     */
+    private long maximum;
+    /**
+     * The value of System.nanoTime() at the beginning of the search
+     */
+    private long start;
+    /**
+     * The best move of the last iteration
+     */
+    private int lastMove;
+    /**
+     * The score of the last iteration
+     */
+    private int lastScore;
+    /**
+     * The number of iterations in a row that found the same best move
+     */
+    private int stableIterations;
+    /**
+     * True if the score dropped during the search
+     */
+    private boolean panic;
+
+    /**
+     * Allows to compute the optimal and maximal times of a search that begins now.
+     *
+     * @param remaining  the time remaining on the clock of the player (in milliseconds)
+     * @param increment  the time added to the clock after each move (in milliseconds)
+     * @param moveNumber the number of moves already played by the player
+     * @param pawns      the number of pawns of the player
+     */
+    public void start(long remaining, long increment, int moveNumber, int pawns) {
+        if (remaining < 0 || increment < 0 || moveNumber < 0 || pawns < 0) {
+            throw new IllegalArgumentException("Time manager error");
+        }
+        this.start = System.nanoTime();
+        long available = Math.max(1, remaining - MARGIN);
+        int movesToGo = Math.max(MIN_MOVES_TO_GO, MOVES_PER_PAWN * pawns - moveNumber / 2);
+        long maximum = Math.max(1, Math.min(available, available * MAX_PERCENT / 100 + increment));
+        this.optimum = Math.min(maximum, available / movesToGo + increment * INCREMENT_PERCENT / 100);
+        this.maximum = Math.min(maximum, Math.max(1, this.optimum * MAX_RATIO));
+        this.optimum = Math.max(1, this.optimum);
+        this.lastMove = Move.NONE;
+        this.lastScore = 0;
+        this.stableIterations = 0;
+        this.panic = false;
+    }
+
+    /**
+     * Allows to know whether the search should stop after an iteration.
+     *
+     * @param depth     the depth of the iteration
+     * @param bestMove  the best move found by the iteration
+     * @param bestScore the score of the best move
+     * @return true if the search should stop
+     */
+    public boolean iterationDone(int depth, int bestMove, int bestScore) {
+        if (this.lastMove != Move.NONE && Move.sameSquares(bestMove, this.lastMove)) this.stableIterations++;
+        else this.stableIterations = 0;
+        if (depth > 1 && bestScore <= this.lastScore - PANIC_DROP) this.panic = true;
+        this.lastMove = bestMove;
+        this.lastScore = bestScore;
+        return this.getElapsed() * 100 >= this.getTarget() * NEW_ITERATION_PERCENT;
+    }
+
+    /**
+     * Allows to get the time that the search should last according to what the iterations found :
+     * the optimal time is halved if the best move stayed the same during the last iterations and
+     * doubled if the score dropped.
+     *
+     * @return the time in milliseconds (at most the maximal time)
+     */
+    public long getTarget() {
+        long target = this.optimum;
+        if (this.stableIterations >= 3) target /= 2;
+        else if (this.stableIterations == 0) target = target * 3 / 2;
+        if (this.panic) target *= 2;
+        return Math.min(target, this.maximum);
+    }
+
+    /**
+     * @return the time spent since the beginning of the search (in milliseconds)
+     */
+    public long getElapsed() {
+        return (System.nanoTime() - this.start) / 1000000;
+    }
+
+    /**
+     * @return the optimal time of the search (in milliseconds)
+     */
+    public long getOptimum() {
+        return this.optimum;
+    }
+
+    /**
+     * @return the maximal time of the search (in milliseconds), it is never exceeded
+     */
+    public long getMaximum() {
+        return this.maximum;
+    }
+
+    /**
+     * @return true if the score dropped during the search
+     */
+    public boolean isPanic() {
+        return this.panic;
+    }
+}
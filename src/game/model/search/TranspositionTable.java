@@ -0,0 +1,201 @@
+package game.model.search;
+
+import game.model.rules.Move;
+
+import java.util.Arrays;
+
+/**
+ * Java class that allows to remember the results of the positions already searched, identified
+ * by their Zobrist key. The table has a fixed size (a power of two of buckets) and is stored in a
+ * single array of longs so that it doesn't create any object once created. Each bucket contains
+ * two entries : the first one keeps the deepest result (it is only replaced by a result at least
+ * as deep or by a result of a newer search) and the second one is always replaced.
+ * An entry is written as two longs, the key xor the data and the data, so that an entry that is
+ * being written by another thread is not recognized : the table can be shared by several search
+ * threads without any lock.
+ * The data contains the best move (bits 0 to 15), the score (bits 16 to 39), the depth (bits 40
+ * to 46), the bound (bits 47 and 48) and the number of the search that wrote it (bits 49 to 56).
+ */
+public class TranspositionTable {
+
+    /**
+     * The bound of a score that is at most the real score (the search failed low)
+     */
+    public final static int UPPER = 1;
+    /**
+     * The bound of a score that is at least the real score (the search failed high)
+     */
+    public final static int LOWER = 2;
+    /**
+     * The bound of an exact score
+     */
+    public final static int EXACT = 3;
+    /**
+     * The number of bytes of a bucket (two entries of two longs)
+     */
+    private final static int BUCKET_BYTES = 4 * Long.BYTES;
+    /**
+     * The value written instead of the move when there is no move
+     */
+    private final static int NO_MOVE = 0xFFFF;
+    /**
+     * The value added to the scores so that they are written as positive numbers
+     */
+    private final static int SCORE_OFFSET = 1 << 23;
+
+    /**
+     * The entries of the table
+     */
+    private final long[] table;
+    /**
+     * The mask applied to the keys to get the index of their bucket
+     */
+    private final long mask;
+    /**
+     * The number of the current search, modulo 256
+     */
+    private volatile int age;
+
+    /**
+     * Allows to create a table that uses at most a size in megabytes. The number of
+     * buckets is the highest power of two that fits in this size.
+     *
+     * @param megabytes the size of the table in megabytes (at least 1)
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes >= 1 && megabytes <= 16384) {
+            long buckets = Long.highestOneBit(((long) megabytes << 20) / BUCKET_BYTES);
+            if (buckets * 4 > Integer.MAX_VALUE - 8) buckets >>= 1;
+            this.table = new long[(int) (buckets * 4)];
+            this.mask = buckets - 1;
+        } else {
+            throw new IllegalArgumentException("Transposition table size error");
+        }
+    }
+
+    /**
+     * Allows to find the data saved for a position.
+     *
+     * @param key the Zobrist key of the position
+     * @return the data of the position or 0 if the position is not in the table
+     */
+    public long probe(long key) {
+        int index = (int) (key & this.mask) << 2;
+        for (int i = index; i < index + 4; i += 2) {
+            long data = this.table[i + 1];
+            if ((this.table[i] ^ data) == key && data != 0) return data;
+        }
+        return 0;
+    }
+
+    /**
+     * Allows to save the result of the search of a position. The result replaces the first entry
+     * of the bucket if it is at least as deep as it, if the entry was written by an older search or
+     * if it is the same position, otherwise it replaces the second entry.
+     *
+     * @param key   the Zobrist key of the position
+     * @param move  the best move found (or Move.NONE)
+     * @param score the score of the position
+     * @param depth the depth of the search (from 0 to 127)
+     * @param bound UPPER, LOWER or EXACT
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int index = (int) (key & this.mask) << 2;
+        long data = (move == Move.NONE ? NO_MOVE : move & 0xFFFF)
+                | (long) (score + SCORE_OFFSET) << 16
+                | (long) depth << 40
+                | (long) bound << 47
+                | (long) this.age << 49;
+        long first = this.table[index + 1];
+        boolean sameKey = (this.table[index] ^ first) == key;
+        if (first == 0 || sameKey || depth >= depth(first) || age(first) != this.age) {
+            if (sameKey && move == Move.NONE && move(first) != Move.NONE) {
+                data = (data & ~0xFFFFL) | (first & 0xFFFF);
+            }
+            this.table[index] = key ^ data;
+            this.table[index + 1] = data;
+        } else {
+            this.table[index + 2] = key ^ data;
+            this.table[index + 3] = data;
+        }
+    }
+
+    /**
+     * Allows to tell the table that a new search begins, the entries of the previous searches
+     * will be replaced first.
+     */
+    public void newSearch() {
+        this.age = (this.age + 1) & 0xFF;
+    }
+
+    /**
+     * Allows to remove all the entries of the table.
+     */
+    public void clear() {
+        Arrays.fill(this.table, 0);
+        this.age = 0;
+    }
+
+    /**
+     * @return the number of entries of the table
+     */
+    public int getCapacity() {
+        return this.table.length / 2;
+    }
+
+    /**
+     * Allows to know how full the table is by looking at its first thousand entries.
+     *
+     * @return the number of entries of the current search per thousand entries
+     */
+    public int getUsage() {
+        int count = 0;
+        int entries = Math.min(1000, this.getCapacity());
+        for (int i = 0; i < entries; i++) {
+            long data = this.table[2 * i + 1];
+            if (data != 0 && age(data) == this.age) count++;
+        }
+        return count * 1000 / entries;
+    }
+
+    /**
+     * @param data the data of an entry
+     * @return the best move saved (or Move.NONE)
+     */
+    public static int move(long data) {
+        int move = (int) (data & 0xFFFF);
+        return move == NO_MOVE ? Move.NONE : move;
+    }
+
+    /**
+     * @param data the data of an entry
+     * @return the score saved
+     */
+    public static int score(long data) {
+        return (int) ((data >>> 16) & 0xFFFFFF) - SCORE_OFFSET;
+    }
+
+    /**
+     * @param data the data of an entry
+     * @return the depth of the search that found the score
+     */
+    public static int depth(long data) {
+        return (int) ((data >>> 40) & 0x7F);
+    }
+
+    /**
+     * @param data the data of an entry
+     * @return UPPER, LOWER or EXACT
+     */
+    public static int bound(long data) {
+        return (int) ((data >>> 47) & 3);
+    }
+
+    /**
+     * @param data the data of an entry
+     * @return the number of the search that wrote the entry, modulo 256
+     */
+    private static int age(long data) {
+        return (int) ((data >>> 49) & 0xFF);
+    }
+}
@@ -0,0 +1,90 @@
+package game.view;
+
+import game.model.ChineseSymbol;
+import game.model.Element;
+import game.model.Pawn;
+import utilities.GameColor;
+
+import java.awt.*;
+
+/**
+ * Java class that allows to paint the elements of the board in the graphic view. The elements
+ * of the model don't use AWT, so the colors of the squares and the drawing of the pawns and of
+ * the chinese symbols are kept in this class.
+ */
+public class BoardPainter {
+
+    /**The color of all impair squares*/
+    private static Color impairColor = Color.white;
+    /**The color of all pair squares*/
+    private static Color pairColor = Color.black;
+
+    /**
+     * Allows to paint an element : fills the square of the element on the board, then draws
+     * the pawn or the chinese symbol if the element is one. The x and y values of the element
+     * are updated so that it knows where it is painted.
+     * @param element the element to paint
+     * @param g the graphics to draw on
+     */
+    public static void paint(Element element, Graphics g) {
+        element.updateCoordinates();
+        if ((element.getLineIndex() + element.getColumnIndex()) % 2 == 1) {
+            g.setColor(impairColor);
+        } else {
+            g.setColor(pairColor);
+        }
+        g.fillRect(element.getX(), element.getY(), Element.getSizeUnity(), Element.getSizeUnity());
+        if (element instanceof Pawn) {
+            paintPawn((Pawn) element, g);
+        } else if (element instanceof ChineseSymbol) {
+            Image image = ((ChineseSymbol) element).getIcon().getScaledInstance(Element.getSizeUnity(),
+                    Element.getSizeUnity(), Image.SCALE_DEFAULT);
+            g.drawImage(image, element.getX(), element.getY(), null);
+        }
+    }
+
+    /**
+     * Allows to draw and fill a circle with the color of the pawn and to
+     * display its string representation on the circle.
+     * @param pawn the pawn to paint
+     * @param g the graphics to draw on
+     */
+    private static void paintPawn(Pawn pawn, Graphics g) {
+        int size = Element.getSizeUnity();
+        int x = (int) ((pawn.getColumnIndex() + 1) * size + 1 / 8d * size);
+        int y = (int) ((pawn.getLineIndex() + 1) * size + 1 / 8d * size);
+        g.setColor(BoardPainter.toColor(pawn.getColor()));
+        g.fillOval(x, y, Pawn.getDiameter(), Pawn.getDiameter());
+        g.setColor(Color.black);
+        g.drawOval(x, y, Pawn.getDiameter(), Pawn.getDiameter());
+        g.drawString(pawn.toString(), (int) ((pawn.getColumnIndex() + 1.4) * size),
+                (int) ((pawn.getLineIndex() + 1.6) * size));
+    }
+
+    /**
+     * Allows to get the AWT color that corresponds to a color of the game.
+     * @param color the color of the game
+     * @return the AWT color with the same rgb value
+     */
+    public static Color toColor(GameColor color) {
+        return new Color(color.getRGB());
+    }
+
+    /**
+     * Allows to set the color of all squares that the sum
+     * of both line and column indexes is impair.
+     * @param impairColor the color for impair squares
+     */
+    public static void setImpairColor(GameColor impairColor) {
+        BoardPainter.impairColor = BoardPainter.toColor(impairColor);
+    }
+
+    /**
+     * Allows to set the color of all squares that the sum
+     * of both line and column indexes is pair.
+     * @param pairColor the color for pair squares
+     */
+    public static void setPairColor(GameColor pairColor) {
+        BoardPainter.pairColor = BoardPainter.toColor(pairColor);
+    }
+}
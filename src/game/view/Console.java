@@ -2,12 +2,12 @@ package game.view;
 
 import game.controller.Game;
 import game.model.Element;
+import game.model.GameBoard;
 import game.model.Level;
 import game.model.Pawn;
 import game.model.Player;
 import utilities.InputUtilities;
 import utilities.Language;
-import utilities.MatrixUtilities;
 
 /**
  * Allows to create a view to play in console. A game must have a view (that implements GameMode) to be
@@ -132,39 +132,40 @@ public class Console implements GameMode {
         } else {
             System.out.println(Language.getText("assisted displacement question"));
             String s = InputUtilities.getInputRegex(null, "^[nsew]$|^[ns][ew]$", Language.getText("character input error"), this.game);
-            Pawn p = player.getPawns().get(coordinates[0]);
+            Pawn p = this.game.getGameBoard().getPawn(player, coordinates[0]);
+            GameBoard gameBoard = this.game.getGameBoard();
             coordinates[1] = p.getLineIndex();
             coordinates[2] = p.getColumnIndex();
             switch (s) {
                 case "e":
-                    coordinates[2] = p.getColumnIndex() + MatrixUtilities.countObjectLine(board, p.getLineIndex());
+                    coordinates[2] = p.getColumnIndex() + gameBoard.countLine(p.getLineIndex());
                     break;
                 case "w":
-                    coordinates[2] = p.getColumnIndex() - MatrixUtilities.countObjectLine(board, p.getLineIndex());
+                    coordinates[2] = p.getColumnIndex() - gameBoard.countLine(p.getLineIndex());
                     break;
                 case "n":
-                    coordinates[1] = p.getLineIndex() - MatrixUtilities.countObjectColumn(board, p.getColumnIndex());
+                    coordinates[1] = p.getLineIndex() - gameBoard.countColumn(p.getColumnIndex());
                     break;
                 case "s":
-                    coordinates[1] = p.getLineIndex() + MatrixUtilities.countObjectColumn(board, p.getColumnIndex());
+                    coordinates[1] = p.getLineIndex() + gameBoard.countColumn(p.getColumnIndex());
                     break;
                 case "ne":
-                    int i = MatrixUtilities.countObjectDiagAsc(board, p.getLineIndex(), p.getColumnIndex());
+                    int i = gameBoard.countDiagAsc(p.getLineIndex(), p.getColumnIndex());
                     coordinates[1] = p.getLineIndex() - i;
                     coordinates[2] = p.getColumnIndex() + i;
                     break;
                 case "nw":
-                    i = MatrixUtilities.countObjectDiagDesc(board, p.getLineIndex(), p.getColumnIndex());
+                    i = gameBoard.countDiagDesc(p.getLineIndex(), p.getColumnIndex());
                     coordinates[1] = p.getLineIndex() - i;
                     coordinates[2] = p.getColumnIndex() - i;
                     break;
                 case "se":
-                    i = MatrixUtilities.countObjectDiagDesc(board, p.getLineIndex(), p.getColumnIndex());
+                    i = gameBoard.countDiagDesc(p.getLineIndex(), p.getColumnIndex());
                     coordinates[1] = p.getLineIndex() + i;
                     coordinates[2] = p.getColumnIndex() + i;
                     break;
                 case "sw":
-                    i = MatrixUtilities.countObjectDiagAsc(board, p.getLineIndex(), p.getColumnIndex());
+                    i = gameBoard.countDiagAsc(p.getLineIndex(), p.getColumnIndex());
                     coordinates[1] = p.getLineIndex() + i;
                     coordinates[2] = p.getColumnIndex() - i;
                     break;
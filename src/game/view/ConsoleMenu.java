@@ -4,7 +4,9 @@ import game.model.*;
 import game.controller.*;
 import game.model.artificialPlayers.ArtificialPlayer;
 import game.model.artificialPlayers.FirstLevel;
+import game.model.artificialPlayers.FourthLevel;
 import game.model.artificialPlayers.SecondLevel;
+import game.model.artificialPlayers.ThirdLevel;
 import utilities.GameColor;
 import utilities.InputUtilities;
 import utilities.Language;
@@ -110,15 +112,22 @@ public class ConsoleMenu {
      */
     private static ArtificialPlayer playerChooser() {
         System.out.println(Language.getText("adverse question"));
-        System.out.println("1 - " + Language.getText("level1") + "\n2 - " + Language.getText("level2"));
+        System.out.println("1 - " + Language.getText("level1") + "\n2 - " + Language.getText("level2")
+                + "\n3 - " + Language.getText("level3") + "\n4 - " + Language.getText("level4"));
         ArtificialPlayer player = null;
-        String choice = InputUtilities.getInputRegex(null, "^[12]$", Language.getText("number input error"), null);
+        String choice = InputUtilities.getInputRegex(null, "^[1234]$", Language.getText("number input error"), null);
         switch (choice) {
             case "1":
                 player = new FirstLevel();
                 break;
             case "2":
                 player = new SecondLevel();
+                break;
+            case "3":
+                player = new ThirdLevel();
+                break;
+            case "4":
+                player = new FourthLevel();
         }
         return player;
     }
@@ -50,8 +50,8 @@ public class Graphic implements GameMode {
     @Override
     public void setGame(Game game) {
         this.game = game;
-        Element.setPairColor(game.getFirstPlayer().getColor());
-        Element.setImpairColor(game.getSecondPlayer().getColor());
+        BoardPainter.setPairColor(game.getFirstPlayer().getColor());
+        BoardPainter.setImpairColor(game.getSecondPlayer().getColor());
     }
 
     /**
@@ -73,8 +73,8 @@ public class Graphic implements GameMode {
     @Override
     public void restartGame(Game game, Element[][] board) {
         this.game = game;
-        Element.setPairColor(game.getFirstPlayer().getColor());
-        Element.setImpairColor(game.getSecondPlayer().getColor());
+        BoardPainter.setPairColor(game.getFirstPlayer().getColor());
+        BoardPainter.setImpairColor(game.getSecondPlayer().getColor());
         this.anInterface = new GraphicalInterface(game, this.level, board, game.createSymbols());
         this.anInterface.setVisible(true);
         game.play();
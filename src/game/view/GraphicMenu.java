@@ -5,7 +5,9 @@ import game.controller.MenuListeners;
 import game.model.Element;
 import game.model.artificialPlayers.ArtificialPlayer;
 import game.model.artificialPlayers.FirstLevel;
+import game.model.artificialPlayers.FourthLevel;
 import game.model.artificialPlayers.SecondLevel;
+import game.model.artificialPlayers.ThirdLevel;
 import utilities.*;
 
 import javax.swing.*;
@@ -249,7 +251,7 @@ public class GraphicMenu extends JFrame {
         JCheckBoxMenuItem graphicBox = new JCheckBoxMenuItem(Language.getText("graphic"), true);
         JCheckBoxMenuItem consoleBox = new JCheckBoxMenuItem(Language.getText("console"), false);
         JCheckBox level = new JCheckBox(Language.getText("displacement help"));
-        DefaultComboBoxModel<ArtificialPlayer> playersModel = new DefaultComboBoxModel<>(new ArtificialPlayer[]{new FirstLevel(), new SecondLevel()});
+        DefaultComboBoxModel<ArtificialPlayer> playersModel = new DefaultComboBoxModel<>(new ArtificialPlayer[]{new FirstLevel(), new SecondLevel(), new ThirdLevel(), new FourthLevel()});
         JComboBox<ArtificialPlayer> playerJComboBox = new JComboBox<>(playersModel);
 
         JLabel player1 = new JLabel(Language.getText("player1"));
@@ -26,6 +26,10 @@ import java.util.Objects;
  */
 public class GraphicalInterface extends JFrame {
 
+    /**
+     * The game displayed in the frame
+     */
+    private final Game game;
     /**
      * The current player
      */
@@ -88,6 +92,7 @@ public class GraphicalInterface extends JFrame {
     public GraphicalInterface(Game game, Level level, Element[][] board, ChineseSymbol[][] symbols) {
         Scheme.switchScheme(Scheme.Schemes.LIGHT);
         if (game != null && level != null) {
+            this.game = game;
             this.coordinates = new int[3];
             this.listeners = new MenuBarListeners(this, game, board, symbols, level);
             this.addWindowListener(this.boardListeners.windowListener(game));
@@ -188,7 +193,7 @@ public class GraphicalInterface extends JFrame {
      * @param column the JTextField containing column index in HARD mode (can be null)
      */
     public void sendCoordinates(Level level, JTextField line, JTextField column) {
-        if ((coordinates[0] < Player.getPAWNS_NUMBER() && coordinates[0] >= 0 || coordinates[0] == -1) && player.getPawn(coordinates[0]) != null
+        if ((coordinates[0] < Player.getPAWNS_NUMBER() && coordinates[0] >= 0 || coordinates[0] == -1) && this.getPlayerPawn(coordinates[0]) != null
                 && coordinates[1] < GameBoard.getDIMENSION() && coordinates[1] >= 0 && coordinates[2] < GameBoard.getDIMENSION() && coordinates[2] >= 0) {
             synchronized (getCoordinates()) {
                 getCoordinates().notify();
@@ -238,11 +243,11 @@ public class GraphicalInterface extends JFrame {
                 for (int i = 0; i < board.length; i++) {
                     for (int j = 0; j < board[i].length; j++) {
                         if (board[i][j] instanceof Pawn) {
-                            board[i][j].paint(g);
+                            BoardPainter.paint(board[i][j], g);
                         } else if (symbols[i][j] != null) {
-                            symbols[i][j].paint(g);
+                            BoardPainter.paint(symbols[i][j], g);
                         } else {
-                            board[i][j].paint(g);
+                            BoardPainter.paint(board[i][j], g);
                         }
                     }
                 }
@@ -383,11 +388,11 @@ public class GraphicalInterface extends JFrame {
             @Override
             public void paintComponent(Graphics g) {
                 if (this.getIcon().getIconHeight() - 1 != (int) (Element.getSizeUnity() * 0.75))
-                    this.setIcon(getPawnIcon(player.getColor(), player.getName().substring(0, 1)));
+                    this.setIcon(getPawnIcon(BoardPainter.toColor(player.getColor()), player.getName().substring(0, 1)));
                 super.paintComponent(g);
             }
         };
-        playerPawn.setIcon(getPawnIcon(player.getColor(), player.getName().substring(0, 1)));
+        playerPawn.setIcon(getPawnIcon(BoardPainter.toColor(player.getColor()), player.getName().substring(0, 1)));
         ViewUtilities.addAll(playerPanel, Box.createHorizontalBox(), playerIcon, Box.createHorizontalGlue());
         ViewUtilities.addAllCentered(subPanel, false, new JLabel(player.getName()), playerPawn);
         playerPanel.add(subPanel);
@@ -664,6 +669,17 @@ public class GraphicalInterface extends JFrame {
         return this.player;
     }
 
+    /**
+     * Allows to get a pawn of the current player from its number, with the index of the pawns
+     * of the game board instead of the list of pawns of the player.
+     *
+     * @param number the number of the pawn (-1 for the Zen)
+     * @return the pawn or null if the player has no such pawn on the board
+     */
+    public Pawn getPlayerPawn(int number) {
+        return this.game.getGameBoard().getPawn(this.player, number);
+    }
+
     /**
      * @return the move coordinates in format [pawn, line, column]
      */
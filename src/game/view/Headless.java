@@ -0,0 +1,106 @@
+package game.view;
+
+import game.controller.Game;
+import game.model.Element;
+import game.model.Player;
+
+/**
+ * Allows to create a view that displays nothing, for the games played between artificial players
+ * without any user (tournaments, tests ...). There is no user to ask a move to, so the players of
+ * a game displayed in this view must all be artificial players.
+ */
+public class Headless implements GameMode {
+
+    /**
+     * Nothing is displayed so the game isn't kept.
+     *
+     * @param game the game
+     */
+    @Override
+    public void setGame(Game game) {
+    }
+
+    /**
+     * Allows to restart a game without displaying it : game.play() is called at once.
+     *
+     * @param game  the game to restart
+     * @param board the board of the game
+     */
+    @Override
+    public void restartGame(Game game, Element[][] board) {
+        game.play();
+    }
+
+    /**
+     * Nothing is displayed at the end of the game.
+     *
+     * @param winner   the winner of the game
+     * @param looser   the looser of the game
+     * @param equality true if both players won
+     */
+    @Override
+    public void endGame(Player winner, Player looser, boolean equality) {
+    }
+
+    /**
+     * Nothing is displayed when a pawn is moved.
+     *
+     * @param player the player that moved his pawn
+     * @param move   the move made
+     * @param board  the actualized board
+     */
+    @Override
+    public void movePawn(Player player, int[] move, Element[][] board) {
+    }
+
+    /**
+     * There is no user to ask a move to.
+     *
+     * @param player the player that should play
+     * @param board  the board of Element objects on which the game is taking place
+     * @return never returns
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public int[] play(Player player, Element[][] board) {
+        throw new UnsupportedOperationException("A game without view can only be played by artificial players");
+    }
+
+    /**
+     * Nothing is displayed when a move is incorrect.
+     */
+    @Override
+    public void cannotMove() {
+    }
+
+    /**
+     * Nothing is displayed when the Zen can't go back to its last square.
+     */
+    @Override
+    public void zenAlreadyPlaced() {
+    }
+
+    /**
+     * A game without view is never saved.
+     *
+     * @return null
+     */
+    @Override
+    public String saveAs() {
+        return null;
+    }
+
+    /**
+     * Nothing is displayed when a save fails.
+     */
+    @Override
+    public void saveAsFailure() {
+    }
+
+    /**
+     * There is nothing to save before quitting.
+     */
+    @Override
+    public void quit() {
+    }
+}
@@ -5,8 +5,6 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
-import java.awt.*;
-
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -50,46 +48,50 @@ public class ElementTest {
     }
 
     /**
-     * Allows to test the setX() method by checking its calls to the
-     * updateRectangle() private method. To do this, the put value is compared
-     * to the x rectangle value. Also checks if an exception is thrown when
-     * a wrong value is given.
+     * Allows to test the setX() method by comparing the put value to the value
+     * given by getX(). Also checks if an exception is thrown when a wrong value
+     * is given.
      */
     @Test
     public void setX() {
         this.element.setX(5);
-        assertEquals(5, this.element.getRectangle().x);
+        assertEquals(5, this.element.getX());
         this.element.setX(0);
-        assertEquals(0, this.element.getRectangle().x);
+        assertEquals(0, this.element.getX());
         assertThrows(IllegalArgumentException.class, () -> this.element.setX(-2));
     }
 
     /**
-     * Allows to test the setY() method by checking its calls to the
-     * updateRectangle() private method. To do this, the put value is compared
-     * to the y rectangle value. Also checks if an exception is thrown when
-     * a wrong value is given.
+     * Allows to test the setY() method by comparing the put value to the value
+     * given by getY(). Also checks if an exception is thrown when a wrong value
+     * is given.
      */
     @Test
     public void setY() {
         this.element.setY(5);
-        assertEquals(5, this.element.getRectangle().y);
+        assertEquals(5, this.element.getY());
         this.element.setY(0);
-        assertEquals(0, this.element.getRectangle().y);
+        assertEquals(0, this.element.getY());
         assertThrows(IllegalArgumentException.class, () -> this.element.setY(-1));
     }
 
     /**
-     * Checks that the getRectangle() method by setting the size unity of the Element class
-     * and creating a new rectangle corresponding to the rectangle that we should obtain
-     * for the element at line 1 and column 2.
+     * Checks the contains() method by setting the size unity of the Element class
+     * and testing points inside and outside the square of the element at line 1
+     * and column 2, which goes from (15, 10) to (20, 15) excluded. Also checks that
+     * an element without position in graphic mode contains no point.
      */
     @Test
-    public void getRectangle() {
-        Rectangle r = new Rectangle(15, 10, 5, 5);
+    public void contains() {
         Element.setSizeUnity(5);
         Element e = new Element(1, 2);
-        assertEquals(r, e.getRectangle());
+        assertTrue(e.contains(15, 10));
+        assertTrue(e.contains(19, 14));
+        assertFalse(e.contains(20, 12));
+        assertFalse(e.contains(17, 15));
+        assertFalse(e.contains(14, 10));
+        assertFalse(new Element().contains(0, 0));
+        Element.setSizeUnity(50);
     }
 
     /**
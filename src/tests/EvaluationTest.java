@@ -0,0 +1,91 @@
+package tests;
+
+import game.model.rules.Position;
+import game.model.search.Evaluation;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allows to test the Evaluation class and the sums of coordinates maintained by the Position class.
+ */
+public class EvaluationTest {
+
+    /**
+     * Allows to check that the evaluation of a side is the opposite of the evaluation of the
+     * other side and that grouped pawns are better than scattered pawns.
+     */
+    @Test
+    public void evaluate() {
+        Evaluation evaluation = new Evaluation();
+        Position start = Position.start();
+        assertEquals(-evaluation.evaluate(start, Position.SECOND), evaluation.evaluate(start, Position.FIRST));
+        Position position = new Position();
+        for (int column = 3; column < 7; column++) position.place(Position.FIRST, Position.square(5, column));
+        position.place(Position.SECOND, Position.square(0, 0));
+        position.place(Position.SECOND, Position.square(0, 10));
+        position.place(Position.SECOND, Position.square(10, 0));
+        position.place(Position.SECOND, Position.square(10, 10));
+        assertTrue(evaluation.evaluate(position, Position.FIRST) > 0);
+        assertEquals(-evaluation.evaluate(position, Position.SECOND), evaluation.evaluate(position, Position.FIRST));
+    }
+
+    /**
+     * Allows to check that the sums of coordinates are still right after moves done and undone,
+     * and that an evaluation that keeps the groups of the last positions gives the same results
+     * as a new one.
+     */
+    @Test
+    public void incremental() {
+        Random random = new Random(2020);
+        Position position = Position.start();
+        Evaluation evaluation = new Evaluation();
+        int[] moves = new int[Position.MAX_MOVES];
+        for (int ply = 0; ply < 60; ply++) {
+            int side = ply % 2;
+            int count = position.generateMoves(side, moves);
+            if (count == 0 || position.isConnected(Position.FIRST) || position.isConnected(Position.SECOND)) break;
+            int move = moves[random.nextInt(count)];
+            position.makeMove(move);
+            if (random.nextInt(4) == 0) {
+                position.unmakeMove();
+                position.makeMove(move);
+            }
+            for (int owner = Position.FIRST; owner <= Position.ZEN; owner++) {
+                int lines = 0, columns = 0, squares = 0;
+                for (int square = 0; square < Position.SQUARES; square++) {
+                    if (position.getOwner(square) == owner) {
+                        lines += Position.line(square);
+                        columns += Position.column(square);
+                        squares += Position.line(square) * Position.line(square) + Position.column(square) * Position.column(square);
+                    }
+                }
+                assertEquals(lines, position.getLineSum(owner));
+                assertEquals(columns, position.getColumnSum(owner));
+                assertEquals(squares, position.getSquareSum(owner));
+            }
+            assertEquals(new Evaluation().evaluate(position, side), evaluation.evaluate(position, side));
+        }
+    }
+
+    /**
+     * Allows to check that the noise is the opposite for the other side, that it is limited by its
+     * amplitude and that it is always the same for the same position and the same seed.
+     */
+    @Test
+    public void noise() {
+        Position position = Position.start();
+        Evaluation exact = new Evaluation();
+        Evaluation noisy = new Evaluation();
+        noisy.setNoise(50, 3);
+        int score = noisy.evaluate(position, Position.FIRST);
+        assertEquals(-score, noisy.evaluate(position, Position.SECOND));
+        assertTrue(Math.abs(score - exact.evaluate(position, Position.FIRST)) <= 50);
+        Evaluation same = new Evaluation();
+        same.setNoise(50, 3);
+        assertEquals(score, same.evaluate(position, Position.FIRST));
+        assertThrows(IllegalArgumentException.class, () -> noisy.setNoise(-1, 0));
+    }
+}
@@ -74,4 +74,21 @@ public class FirstLevelTest {
         assertTrue(play[1] >=0 && play[1] < GameBoard.getDIMENSION());
         assertTrue(play[2] >=0 && play[2] < GameBoard.getDIMENSION());
     }
-}
\ No newline at end of file
+
+    /**
+     * Allows to check that the player returns its move at once (the game is the one that waits
+     * before showing it) and that the display delay of the game can't be negative.
+     */
+    @Test
+    public void noDelay(){
+        ArtificialPlayer player = new FirstLevel();
+        Player adverse = new Player("Guillaume", GameColor.GREEN);
+        Game game  = new Game(new Console(Level.EASY), player, adverse, Level.EASY);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) player.playMove(game.getGameBoard().getBoard(), adverse, game);
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        game.setDisplayDelay(0);
+        assertEquals(0, game.getDisplayDelay());
+        assertThrows(IllegalArgumentException.class, () -> game.setDisplayDelay(-1));
+    }
+}
@@ -0,0 +1,109 @@
+package tests;
+
+import game.controller.Game;
+import game.model.GameBoard;
+import game.model.Level;
+import game.model.Player;
+import game.model.artificialPlayers.ArtificialPlayer;
+import game.model.artificialPlayers.FourthLevel;
+import game.model.rules.Position;
+import game.view.Console;
+import org.junit.Test;
+import utilities.GameColor;
+import utilities.Language;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allows to test the FourthLevel class.
+ */
+public class FourthLevelTest {
+
+    /**
+     * Allows to make sure that the default name for an artificial player is "ord"
+     * and to check that it is possible to change this name by using the appropriate
+     * constructor.
+     */
+    @Test
+    public void getName() {
+        ArtificialPlayer player = new FourthLevel().createPlayer(GameColor.WHITE);
+        assertEquals(player.getName(), "ord");
+        ArtificialPlayer player1 = new FourthLevel("James", GameColor.WHITE);
+        assertEquals(player1.getName(), "James");
+    }
+
+    /**
+     * Allows to test the createPlayer method by checking it returns a FourthLevel object
+     * and it sets the artificialPlayer boolean in Player class to true. Also checks that
+     * if the already chose color is white, the color of the artificial player created will
+     * be different and that if the already chose color is different than white, the artificial
+     * player created will use white.
+     */
+    @Test
+    public void createPlayer() {
+        ArtificialPlayer player = new FourthLevel().createPlayer(GameColor.WHITE);
+        assertTrue(player instanceof FourthLevel);
+        assertTrue(player.isArtificialPlayer());
+        assertNotSame(player.getColor(), GameColor.WHITE);
+        ArtificialPlayer player1 = new FourthLevel().createPlayer(GameColor.BLUE);
+        assertSame(player1.getColor(), GameColor.WHITE);
+    }
+
+    /**
+     * Allows ot heck that the to string method returns first player if the language is english
+     * and premier niveau if the language is french.
+     */
+    @Test
+    public void testToString() {
+        Language.setLanguage(Language.Languages.ENGLISH);
+        assertEquals("Monte Carlo level", new FourthLevel().toString());
+        Language.setLanguage(Language.Languages.FRENCH);
+        assertEquals("niveau Monte Carlo", new FourthLevel().toString());
+    }
+
+    /**
+     * Allows to check that the length of the array brought back by the play method is 3
+     * and that the number of the pawn, the line and the column are valid when the search
+     * is limited by a number of quick games. Also checks that incorrect limits are refused.
+     */
+    @Test
+    public void play(){
+        FourthLevel player = new FourthLevel();
+        player.setLimits(0, 500);
+        player.setSeed(3);
+        Player adverse = new Player("Guillaume", GameColor.GREEN);
+        Game game  = new Game(new Console(Level.HARD), player, adverse, Level.HARD);
+        assertEquals(3, player.play(game.getGameBoard().getBoard(), adverse, game).length);
+        int[] play = player.play(game.getGameBoard().getBoard(), adverse, game);
+        assertTrue(play[1] >=0 && play[1] < GameBoard.getDIMENSION());
+        assertTrue(play[2] >=0 && play[2] < GameBoard.getDIMENSION());
+        assertTrue(play[0] >= -1 && play[0] < Player.getPAWNS_NUMBER());
+        assertThrows(IllegalArgumentException.class, () -> player.setLimits(0, 0));
+    }
+
+    /**
+     * Allows to check that the player computes during the turn of its adverse, that it stops
+     * at once when asked and that it then finds a correct move after the move of the adverse.
+     */
+    @Test
+    public void ponder() throws InterruptedException {
+        Player adverse = new Player("Guillaume", GameColor.GREEN);
+        Game game  = new Game(new Console(Level.HARD), adverse, new FourthLevel(), Level.HARD);
+        FourthLevel computer = (FourthLevel) game.getSecondPlayer();
+        computer.setLimits(0, 200);
+        assertTrue(computer.isPondering());
+        computer.startPondering(game);
+        Thread.sleep(200);
+        int[] moves = new int[Position.MAX_MOVES];
+        game.getGameBoard().generateMoves(adverse, moves);
+        long start = System.currentTimeMillis();
+        computer.stopPondering();
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        game.getGameBoard().makeMove(moves[0]);
+        int move = computer.playMove(game.getGameBoard().getBoard(), adverse, game);
+        assertTrue(game.checkMove(computer, move, adverse));
+        computer.setPondering(false);
+        computer.startPondering(game);
+        computer.stopPondering();
+    }
+}
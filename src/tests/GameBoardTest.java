@@ -4,15 +4,19 @@ import game.model.ChineseSymbol;
 import game.model.GameBoard;
 import game.model.Pawn;
 import game.model.Player;
+import game.model.rules.Move;
+import game.model.rules.Position;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import utilities.GameColor;
+import utilities.MatrixUtilities;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -132,4 +136,119 @@ public class GameBoardTest {
         this.gameBoard.createChineseSymbols();
         assertNotNull(this.gameBoard.getSymbols()[0][5]);
     }
-}
\ No newline at end of file
+
+    /**
+     * Allows to check that the counters of pawns of the lines, columns and diagonals
+     * maintained by the board are the same as the values computed by scanning the
+     * board of Element objects, at the beginning of the game and after a move and an eating.
+     */
+    @Test
+    public void counters() {
+        this.gameBoard.movePawn(0, 0, 0, 3);
+        this.gameBoard.movePawn(5, 0, 5, 5);
+        for (int i = 0; i < GameBoard.getDIMENSION(); i++) {
+            assertEquals(MatrixUtilities.countObjectLine(this.gameBoard.getBoard(), i), this.gameBoard.countLine(i));
+            assertEquals(MatrixUtilities.countObjectColumn(this.gameBoard.getBoard(), i), this.gameBoard.countColumn(i));
+            for (int j = 0; j < GameBoard.getDIMENSION(); j++) {
+                assertEquals(MatrixUtilities.countObjectDiagAsc(this.gameBoard.getBoard(), i, j), this.gameBoard.countDiagAsc(i, j));
+                assertEquals(MatrixUtilities.countObjectDiagDesc(this.gameBoard.getBoard(), i, j), this.gameBoard.countDiagDesc(i, j));
+            }
+        }
+        assertEquals(3, this.gameBoard.countLine(0));
+    }
+
+    /**
+     * Allows to test the generateMoves() method by checking that all the moves written are
+     * correct, that no correct move of a pawn is forgotten and that the Zen, that has no
+     * neighbour at the beginning of the game, can't be moved.
+     */
+    @Test
+    public void generateMoves() {
+        Player player = new Player("first", GameColor.BLUE);
+        GameBoard gameBoard = new GameBoard(player.getPawns(), new Player("second", GameColor.RED).getPawns());
+        int[] moves = new int[Position.MAX_MOVES];
+        int count = gameBoard.generateMoves(player, moves);
+        assertTrue(count > 0);
+        int correct = 0;
+        for (int square = 0; square < Position.SQUARES; square++) {
+            if (gameBoard.getPosition().getOwner(square) == Position.FIRST) {
+                for (int to = 0; to < Position.SQUARES; to++) {
+                    if (gameBoard.getPosition().isLegal(Position.FIRST, square, to)) correct++;
+                }
+            }
+        }
+        assertEquals(correct, count);
+        assertEquals(Position.start().getHash(), gameBoard.getHash());
+        for (int i = 0; i < count; i++) {
+            assertTrue(gameBoard.getPosition().isLegal(Position.FIRST, Move.from(moves[i]), Move.to(moves[i])));
+            assertNotEquals(-1, gameBoard.getCoordinates(moves[i])[0]);
+        }
+    }
+
+    /**
+     * Allows to check that undoing random moves (with captures) gives back the same position,
+     * the same lists of pawns in the same order and the same board of Element objects.
+     */
+    @Test
+    public void unmakeMove() {
+        Player first = new Player("first", GameColor.BLUE);
+        Player second = new Player("second", GameColor.RED);
+        GameBoard gameBoard = new GameBoard(first.getPawns(), second.getPawns());
+        gameBoard.getBoard();
+        ArrayList<Pawn> firstPawns = new ArrayList<>(first.getPawns());
+        ArrayList<Pawn> secondPawns = new ArrayList<>(second.getPawns());
+        long hash = gameBoard.getHash();
+        Random random = new Random(7);
+        int[] moves = new int[Position.MAX_MOVES];
+        int played = 0;
+        for (int i = 0; i < 40; i++) {
+            Player player = (i % 2 == 0) ? first : second;
+            int count = gameBoard.generateMoves(player, moves);
+            if (count == 0) break;
+            gameBoard.makeMove(moves[random.nextInt(count)]);
+            played++;
+        }
+        assertTrue(first.getPawns().size() + second.getPawns().size() < firstPawns.size() + secondPawns.size());
+        for (int i = 0; i < played; i++) gameBoard.unmakeMove();
+        assertThrows(IllegalStateException.class, gameBoard::unmakeMove);
+        assertEquals(hash, gameBoard.getHash());
+        assertEquals(firstPawns, first.getPawns());
+        assertEquals(secondPawns, second.getPawns());
+        for (Pawn pawn : firstPawns) {
+            assertSame(pawn, gameBoard.getPawn(pawn.getLineIndex(), pawn.getColumnIndex()));
+            assertSame(pawn, gameBoard.getBoard()[pawn.getLineIndex()][pawn.getColumnIndex()]);
+        }
+    }
+
+    /**
+     * Allows to check that the pawns of a player are found from their number, that an eaten
+     * pawn is not found anymore (the last pawn of the list takes its place) and that it is found
+     * again at the same place when the move is undone.
+     */
+    @Test
+    public void getPawnByNumber() {
+        Player first = new Player("first", GameColor.BLUE);
+        Player second = new Player("second", GameColor.RED);
+        GameBoard gameBoard = new GameBoard(first.getPawns(), second.getPawns());
+        for (int i = 0; i < Player.getPAWNS_NUMBER(); i++) {
+            assertSame(first.getPawn(i), gameBoard.getPawn(first, i));
+            assertSame(second.getPawn(i), gameBoard.getPawn(second, i));
+        }
+        assertSame(first.getPawn(-1), gameBoard.getPawn(second, -1));
+        assertNull(gameBoard.getPawn(first, Player.getPAWNS_NUMBER()));
+        Pawn pawn = second.getPawn(3);
+        Pawn eater = first.getPawn(5);
+        gameBoard.makeMove(Move.of(Position.square(eater.getLineIndex(), eater.getColumnIndex()),
+                Position.square(pawn.getLineIndex(), pawn.getColumnIndex())));
+        assertNull(gameBoard.getPawn(second, 3));
+        assertFalse(second.getPawns().contains(pawn));
+        assertSame(gameBoard.getPawn(second, -1), second.getPawns().get(3));
+        assertSame(eater, gameBoard.getPawn(first, 5));
+        assertEquals(Position.FIRST, gameBoard.getPosition().getOwner(Position.square(pawn.getLineIndex(), pawn.getColumnIndex())));
+        gameBoard.unmakeMove();
+        assertSame(pawn, gameBoard.getPawn(second, 3));
+        assertSame(pawn, second.getPawns().get(3));
+        assertSame(gameBoard.getPawn(second, -1), second.getPawns().get(Player.getPAWNS_NUMBER()));
+        assertEquals(Position.SECOND, gameBoard.getPosition().getOwner(Position.square(pawn.getLineIndex(), pawn.getColumnIndex())));
+    }
+}
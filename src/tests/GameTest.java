@@ -81,13 +81,14 @@ public class GameTest {
      * Allows to test the getGameBoard() method by checking that the length of the board obtained
      * with a game board initialized with the two players defined in attributes is the same that the
      * one obtained with the getGameBoard() method on the game object of the class. Then compares the
-     * rectangles of the first element in both arrays.
+     * positions in graphic mode of the first element in both arrays.
      */
     @Test
     public void getGameBoard() {
         GameBoard g = new GameBoard(player1.getPawns(), player2.getPawns());
         assertEquals(g.getBoard().length, game.getGameBoard().getBoard().length);
-        assertEquals(g.getBoard()[0][0].getRectangle(), game.getGameBoard().getBoard()[0][0].getRectangle());
+        assertEquals(g.getBoard()[0][0].getX(), game.getGameBoard().getBoard()[0][0].getX());
+        assertEquals(g.getBoard()[0][0].getY(), game.getGameBoard().getBoard()[0][0].getY());
     }
 
     /**
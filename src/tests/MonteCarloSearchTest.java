@@ -0,0 +1,100 @@
+package tests;
+
+import game.model.rules.Move;
+import game.model.rules.Position;
+import game.model.search.MonteCarloSearch;
+import game.model.search.MonteCarloTree;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allows to test the MonteCarloTree and MonteCarloSearch classes.
+ */
+public class MonteCarloSearchTest {
+
+    /**
+     * Allows to check that the search plays the move that connects all the pawns of the side
+     * when there is one.
+     */
+    @Test
+    public void findsWin() {
+        Position position = new Position();
+        position.place(Position.FIRST, Position.square(0, 0));
+        position.place(Position.FIRST, Position.square(0, 1));
+        position.place(Position.FIRST, Position.square(3, 1));
+        position.place(Position.SECOND, Position.square(10, 0));
+        position.place(Position.SECOND, Position.square(10, 10));
+        MonteCarloSearch search = new MonteCarloSearch(2, 1);
+        int move = search.run(position, Position.FIRST, 0, 2000);
+        search.close();
+        position.makeMove(move);
+        assertTrue(position.isConnected(Position.FIRST));
+        assertTrue(search.getWinRate() > 0.5);
+    }
+
+    /**
+     * Allows to check that the number of playouts is shared between the threads, that the move
+     * found is a correct move and that the position given is not modified.
+     */
+    @Test
+    public void playoutLimit() {
+        Position position = Position.start();
+        MonteCarloSearch search = new MonteCarloSearch(3, 5);
+        int move = search.run(position, Position.SECOND, 0, 1000);
+        search.close();
+        assertEquals(1000, search.getPlayouts());
+        assertTrue(search.getBestVisits() > 0);
+        assertTrue(position.isLegal(Position.SECOND, Move.from(move), Move.to(move)));
+        assertEquals(Position.start().getHash(), position.getHash());
+        assertThrows(IllegalArgumentException.class, () -> search.run(position, Position.FIRST, 0, 0));
+    }
+
+    /**
+     * Allows to check that the tree is kept when the next position searched is one of its first
+     * two plies and that the same seed gives the same move.
+     */
+    @Test
+    public void reuse() {
+        Position position = Position.start();
+        MonteCarloTree tree = new MonteCarloTree(9, 100000);
+        int move = tree.run(position, Position.FIRST, 3000, 0);
+        assertEquals(move, new MonteCarloTree(9, 100000).run(position, Position.FIRST, 3000, 0));
+        position.makeMove(move);
+        int[] moves = new int[Position.MAX_MOVES];
+        position.generateMoves(Position.SECOND, moves);
+        position.makeMove(moves[0]);
+        tree.run(position, Position.FIRST, 1000, 0);
+        assertEquals(1000, tree.getPlayouts());
+        assertTrue(tree.getVisits() > 1000);
+        tree.clear();
+        tree.run(position, Position.FIRST, 1000, 0);
+        assertEquals(1000, tree.getVisits());
+    }
+
+    /**
+     * Allows to check that a tree stopped before its search begins returns at once and searches
+     * again once it is resumed, and that a search without limit ends when it is stopped.
+     */
+    @Test
+    public void stop() throws InterruptedException {
+        Position position = Position.start();
+        MonteCarloTree tree = new MonteCarloTree(3, 1000);
+        tree.stop();
+        tree.run(position, Position.FIRST, 0, 0);
+        assertEquals(0, tree.getPlayouts());
+        tree.resume();
+        tree.run(position, Position.FIRST, 100, 0);
+        assertEquals(100, tree.getPlayouts());
+        for (int i = 0; i < 10; i++) {
+            MonteCarloSearch search = new MonteCarloSearch(4, i);
+            Thread thread = new Thread(() -> search.ponder(position, Position.SECOND));
+            thread.start();
+            Thread.sleep(20);
+            search.stop();
+            thread.join(5000);
+            assertFalse(thread.isAlive());
+            search.close();
+        }
+    }
+}
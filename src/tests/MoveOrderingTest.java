@@ -0,0 +1,61 @@
+package tests;
+
+import game.model.rules.Move;
+import game.model.rules.Position;
+import game.model.search.MoveOrdering;
+import game.model.search.Search;
+import game.model.search.TranspositionTable;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allows to test the MoveOrdering class.
+ */
+public class MoveOrderingTest {
+
+    /**
+     * Allows to check that the move of the transposition table comes first, then the moves that
+     * eat a pawn, then the killer moves and then the moves with the best history. Also checks
+     * that the killer moves are forgotten when a new search begins.
+     */
+    @Test
+    public void order() {
+        MoveOrdering ordering = new MoveOrdering();
+        int quiet = Move.of(0, 1);
+        int killer = Move.of(2, 3);
+        int history = Move.of(4, 5);
+        int capture = Move.of(6, 7, true, false);
+        int table = Move.of(8, 9);
+        int[] cutoff = {killer};
+        ordering.cutoff(cutoff, 0, 1, 3, Position.FIRST);
+        int[] previous = {quiet, history};
+        ordering.cutoff(previous, 1, 4, 5, Position.FIRST);
+        assertTrue(ordering.getHistory(Position.FIRST, history) > 0);
+        assertTrue(ordering.getHistory(Position.FIRST, quiet) < 0);
+        assertEquals(0, ordering.getHistory(Position.SECOND, history));
+        int[] moves = {quiet, killer, history, capture, table};
+        ordering.score(moves, moves.length, 3, Position.FIRST, table);
+        int[] expected = {table, capture, killer, history, quiet};
+        for (int i = 0; i < moves.length; i++) assertEquals(expected[i], ordering.next(moves, i, moves.length, 3));
+        assertEquals(2, ordering.getCutoffs());
+        assertEquals(1, ordering.getFirstMoveCutoffs());
+        ordering.newSearch();
+        assertEquals(0, ordering.getCutoffs());
+        moves = new int[]{killer, history};
+        ordering.score(moves, moves.length, 3, Position.FIRST, Move.NONE);
+        assertEquals(history, ordering.next(moves, 0, moves.length, 3));
+    }
+
+    /**
+     * Allows to check that the search counts its cutoffs and that most of them happen at the first move.
+     */
+    @Test
+    public void firstMoveCutoffs() {
+        Search search = new Search(Position.start(), Position.FIRST, new TranspositionTable(1));
+        search.run(5, 0, 0);
+        assertTrue(search.getCutoffs() > 0);
+        assertTrue(search.getFirstMoveCutoffs() <= search.getCutoffs());
+        assertTrue(search.getFirstMoveCutoffs() * 2 > search.getCutoffs());
+    }
+}
@@ -0,0 +1,56 @@
+package tests;
+
+import game.model.rules.Move;
+import game.model.rules.Position;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allows to test the Move class.
+ */
+public class MoveTest {
+
+    /**
+     * Allows to check that the squares and the flags of a move can be found back
+     * for squares at both ends of the board.
+     */
+    @Test
+    public void of() {
+        int move = Move.of(0, Position.SQUARES - 1, true, false);
+        assertEquals(0, Move.from(move));
+        assertEquals(Position.SQUARES - 1, Move.to(move));
+        assertTrue(Move.isCapture(move));
+        assertFalse(Move.isZen(move));
+        move = Move.of(Position.SQUARES - 1, 60, false, true);
+        assertEquals(Position.SQUARES - 1, Move.from(move));
+        assertEquals(60, Move.to(move));
+        assertFalse(Move.isCapture(move));
+        assertTrue(Move.isZen(move));
+        assertTrue(Move.sameSquares(move, Move.of(Position.SQUARES - 1, 60)));
+        assertNotEquals(Move.NONE, Move.of(0, 0, true, true));
+    }
+
+    /**
+     * Allows to check that the moves written by a position have their flags set : the moves
+     * of the Zen have the Zen flag and the moves that end on a pawn have the capture flag.
+     */
+    @Test
+    public void flags() {
+        Position position = new Position();
+        position.place(Position.FIRST, Position.square(5, 4));
+        position.place(Position.ZEN, Position.square(5, 5));
+        position.place(Position.SECOND, Position.square(5, 7));
+        int[] moves = new int[Position.MAX_MOVES];
+        int count = position.generateMoves(Position.FIRST, moves);
+        boolean capture = false;
+        for (int i = 0; i < count; i++) {
+            assertEquals(Move.from(moves[i]) == Position.square(5, 5), Move.isZen(moves[i]));
+            assertEquals(position.isOccupied(Move.to(moves[i])), Move.isCapture(moves[i]));
+            capture |= Move.isCapture(moves[i]);
+        }
+        assertTrue(capture);
+        assertEquals("F5-H5", Move.toString(Move.of(Position.square(5, 5), Position.square(5, 7))));
+        assertEquals("F5xH5", Move.toString(position.createMove(Position.square(5, 5), Position.square(5, 7))));
+    }
+}
@@ -0,0 +1,73 @@
+package tests;
+
+import game.model.rules.Move;
+import game.model.rules.Position;
+import game.model.search.OpeningBook;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allows to test the OpeningBook class.
+ */
+public class OpeningBookTest {
+
+    /**
+     * Allows to check that a book written in a file is found again once mapped, that the wrong
+     * moves are ignored, that the moves are chosen according to their weights and that a file
+     * that is not a book is refused.
+     */
+    @Test
+    public void writeAndOpen() throws IOException {
+        Position position = Position.start();
+        int[] moves = new int[Position.MAX_MOVES];
+        int count = position.generateMoves(Position.FIRST, moves);
+        assertTrue(count >= 2);
+        long start = OpeningBook.key(position, Position.FIRST);
+        long other = OpeningBook.key(position, Position.SECOND);
+        Path file = Files.createTempFile("test", ".book");
+        try {
+            OpeningBook.write(file, new long[]{other, start, start, start},
+                    new int[]{moves[0], moves[0], Move.of(0, 120), moves[1]}, new int[]{5, 1, 7, 9}, 4);
+            OpeningBook book = OpeningBook.open(file);
+            assertEquals(4, book.size());
+            int[] found = new int[Position.MAX_MOVES];
+            int[] weights = new int[Position.MAX_MOVES];
+            assertEquals(2, book.getMoves(position, Position.FIRST, found, weights));
+            assertEquals(moves[0], found[0]);
+            assertEquals(1, weights[0]);
+            assertEquals(moves[1], found[1]);
+            assertEquals(9, weights[1]);
+            Random random = new Random(1);
+            int first = 0;
+            for (int i = 0; i < 1000; i++) {
+                if (book.choose(position, Position.FIRST, random) == moves[0]) first++;
+            }
+            assertTrue(first > 50 && first < 150);
+            position.makeMove(moves[0]);
+            assertEquals(Move.NONE, book.choose(position, Position.SECOND, random));
+            Files.write(file, new byte[24]);
+            assertThrows(IOException.class, () -> OpeningBook.open(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Allows to check that the book of the resources contains correct moves for the starting position.
+     */
+    @Test
+    public void defaultBook() {
+        OpeningBook book = OpeningBook.getDefault();
+        assertTrue(book.size() > 0);
+        Position position = Position.start();
+        int move = book.choose(position, Position.FIRST, new Random(1));
+        assertNotEquals(Move.NONE, move);
+        assertTrue(position.isLegal(Position.FIRST, Move.from(move), Move.to(move)));
+    }
+}
@@ -0,0 +1,101 @@
+package tests;
+
+import game.model.rules.Move;
+import game.model.rules.Position;
+import game.model.search.MoveOrdering;
+import game.model.search.ParallelSearch;
+import game.model.search.Search;
+import game.model.search.TranspositionTable;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allows to test the ParallelSearch class.
+ */
+public class ParallelSearchTest {
+
+    /**
+     * Allows to check that several threads find the move that connects all the pawns of the side.
+     */
+    @Test
+    public void findsWin() {
+        Position position = new Position();
+        position.place(Position.FIRST, Position.square(0, 0));
+        position.place(Position.FIRST, Position.square(0, 1));
+        position.place(Position.FIRST, Position.square(3, 1));
+        position.place(Position.SECOND, Position.square(10, 0));
+        position.place(Position.SECOND, Position.square(10, 10));
+        ParallelSearch search = new ParallelSearch(4, new TranspositionTable(1));
+        int move = search.run(position, Position.FIRST, 4, 0, 0);
+        search.close();
+        assertEquals(Search.WIN - 1, search.getBestScore());
+        position.makeMove(move);
+        assertTrue(position.isConnected(Position.FIRST));
+    }
+
+    /**
+     * Allows to check that the nodes allowed are shared between the threads, that the move found
+     * is a correct move and that the position given is not modified.
+     */
+    @Test
+    public void nodeLimit() {
+        Position position = Position.start();
+        ParallelSearch search = new ParallelSearch(4, new TranspositionTable(1));
+        for (int i = 0; i < 3; i++) {
+            int move = search.run(position, Position.SECOND, Search.MAX_PLY, 0, 20000);
+            assertTrue(search.getNodes() <= 20000);
+            assertTrue(search.getDepth() >= 1);
+            assertTrue(position.isLegal(Position.SECOND, Move.from(move), Move.to(move)));
+        }
+        search.close();
+        assertEquals(Position.start().getHash(), position.getHash());
+        assertEquals(4, search.getThreads());
+    }
+
+    /**
+     * Allows to check that a search without limit (as when the player ponders) ends when it is
+     * stopped from another thread once it has begun, even if the helpers had not begun yet.
+     */
+    @Test
+    public void stop() throws InterruptedException {
+        for (int i = 0; i < 20; i++) {
+            ParallelSearch search = new ParallelSearch(4, new TranspositionTable(1));
+            Thread thread = new Thread(() -> search.ponder(Position.start(), Position.FIRST));
+            thread.start();
+            while (search.getNodes() == 0) Thread.sleep(0, 100000);
+            Thread.sleep(i % 4);
+            search.stop();
+            thread.join(5000);
+            assertFalse(thread.isAlive());
+            search.close();
+        }
+    }
+
+    /**
+     * Allows to check that the history scores of a thread are kept from one search to the next one :
+     * after a search of the first side, a search of the second side only one move deep doesn't change
+     * the scores of the first side, so they are only halved.
+     */
+    @Test
+    public void historyKept() {
+        Position position = Position.start();
+        ParallelSearch search = new ParallelSearch(1, new TranspositionTable(1));
+        search.run(position, Position.FIRST, 5, 0, 0);
+        MoveOrdering ordering = search.getOrdering(0);
+        int[] moves = new int[Position.MAX_MOVES];
+        int count = position.generateMoves(Position.FIRST, moves);
+        int[] history = new int[count];
+        boolean learned = false;
+        for (int i = 0; i < count; i++) {
+            history[i] = ordering.getHistory(Position.FIRST, moves[i]);
+            if (history[i] != 0) learned = true;
+        }
+        assertTrue(learned);
+        search.run(position, Position.SECOND, 1, 0, 0);
+        search.close();
+        assertSame(ordering, search.getOrdering(0));
+        for (int i = 0; i < count; i++) assertEquals(history[i] / 2, ordering.getHistory(Position.FIRST, moves[i]));
+        assertThrows(IllegalArgumentException.class, () -> search.getOrdering(1));
+    }
+}
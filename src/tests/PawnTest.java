@@ -6,6 +6,8 @@ import org.junit.Before;
 import org.junit.Test;
 import utilities.GameColor;
 
+import java.io.*;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -68,4 +70,22 @@ public class PawnTest {
         Pawn pawn = new Pawn(GameColor.BLUE, -1);
         assertEquals(GameColor.BLUE.ANSI_CODE, pawn.getANSIColor());
     }
-}
\ No newline at end of file
+
+    /**
+     * Allows to test that the getColor() method returns the color of the pawn and that
+     * a saved pawn is read again with the same GameColor instance (so that colors can
+     * still be compared with ==) and the same rgb value.
+     */
+    @Test
+    public void getColor() throws IOException, ClassNotFoundException {
+        assertSame(GameColor.RED, this.p.getColor());
+        assertEquals(0xFFFF0000, GameColor.RED.getRGB());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(this.p);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertSame(GameColor.RED, ((Pawn) in.readObject()).getColor());
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package tests;
+
+import game.model.rules.Move;
+import game.model.rules.Position;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allows to test the Position class.
+ */
+public class PositionTest {
+
+    /**
+     * The position used to do the tests
+     */
+    private Position position;
+
+    /**
+     * Allows to reset the position before each test
+     */
+    @Before
+    public void setUp() {
+        this.position = new Position();
+    }
+
+    /**
+     * Allows to delete the position of the class
+     */
+    @After
+    public void tearDown() {
+        this.position = null;
+    }
+
+    /**
+     * Allows to check that the index of a square is computed line by line
+     * and that the line and the column can be found back from the index.
+     */
+    @Test
+    public void square() {
+        assertEquals(0, Position.square(0, 0));
+        assertEquals(60, Position.square(5, 5));
+        assertEquals(120, Position.square(10, 10));
+        assertEquals(7, Position.line(Position.square(7, 3)));
+        assertEquals(3, Position.column(Position.square(7, 3)));
+        assertFalse(Position.isOnBoard(-1, 0));
+        assertFalse(Position.isOnBoard(0, 11));
+        assertTrue(Position.isOnBoard(10, 10));
+    }
+
+    /**
+     * Allows to test the place() and remove() methods on squares stored in both longs
+     * and with the Zen pawn.
+     */
+    @Test
+    public void placeAndRemove() {
+        this.position.place(Position.FIRST, 3);
+        this.position.place(Position.SECOND, 100);
+        this.position.place(Position.ZEN, 60);
+        assertEquals(Position.FIRST, this.position.getOwner(3));
+        assertEquals(Position.SECOND, this.position.getOwner(100));
+        assertEquals(Position.ZEN, this.position.getOwner(60));
+        assertEquals(Position.EMPTY, this.position.getOwner(64));
+        assertEquals(1, this.position.countPawns(Position.FIRST));
+        this.position.place(Position.FIRST, 100);
+        assertEquals(Position.FIRST, this.position.getOwner(100));
+        assertEquals(0, this.position.countPawns(Position.SECOND));
+        assertEquals(Position.ZEN, this.position.remove(60));
+        assertEquals(Position.EMPTY, this.position.getZenSquare());
+        assertFalse(this.position.isOccupied(60));
+    }
+
+    /**
+     * Allows to test the move() method by moving a pawn on an empty square and then
+     * on a square where there's a pawn of the other side. Also checks that the copy
+     * of a position is not modified by the moves of the original.
+     */
+    @Test
+    public void move() {
+        this.position.place(Position.FIRST, 10);
+        this.position.place(Position.SECOND, 70);
+        Position copy = this.position.copy();
+        assertEquals(Position.EMPTY, this.position.move(10, 60));
+        assertEquals(Position.SECOND, this.position.move(60, 70));
+        assertEquals(Position.FIRST, this.position.getOwner(70));
+        assertEquals(Position.EMPTY, this.position.getOwner(10));
+        assertEquals(0, this.position.countPawns(Position.SECOND));
+        assertEquals(Position.FIRST, copy.getOwner(10));
+        assertEquals(Position.SECOND, copy.getOwner(70));
+    }
+
+    /**
+     * Allows to test the isConnected() method with pawns in contact diagonally, pawns on both
+     * sides of the limit between the two longs, pawns at the end of a line and at the beginning
+     * of the next one (that are not in contact) and with the Zen that connects both sides.
+     */
+    @Test
+    public void isConnected() {
+        assertTrue(this.position.isConnected(Position.FIRST));
+        this.position.place(Position.FIRST, Position.square(5, 8));
+        this.position.place(Position.FIRST, Position.square(5, 9));
+        this.position.place(Position.FIRST, Position.square(6, 10));
+        assertTrue(this.position.isConnected(Position.FIRST));
+        this.position.place(Position.FIRST, Position.square(7, 0));
+        assertFalse(this.position.isConnected(Position.FIRST));
+        this.position.move(Position.square(7, 0), Position.square(4, 7));
+        assertTrue(this.position.isConnected(Position.FIRST));
+        this.position.place(Position.SECOND, Position.square(0, 0));
+        this.position.place(Position.SECOND, Position.square(2, 2));
+        assertFalse(this.position.isConnected(Position.SECOND));
+        this.position.place(Position.ZEN, Position.square(1, 1));
+        assertTrue(this.position.isConnected(Position.SECOND));
+        assertFalse(this.position.isConnected(Position.FIRST));
+        this.position.remove(Position.square(1, 1));
+        assertTrue(this.position.isConnected(Position.FIRST));
+    }
+
+    /**
+     * Allows to check that the key of the position maintained at each modification is the same
+     * as the key computed from nothing, that two different orders of moves leading to the same
+     * position give the same key and that the key depends on the side to move and on the square
+     * where the Zen can't be moved back.
+     */
+    @Test
+    public void getHash() {
+        this.position.place(Position.FIRST, 0);
+        this.position.place(Position.FIRST, 2);
+        this.position.place(Position.SECOND, 100);
+        this.position.place(Position.SECOND, 110);
+        this.position.place(Position.ZEN, 60);
+        Position other = this.position.copy();
+        assertEquals(this.position.computeHash(), this.position.getHash());
+        this.position.move(0, 1);
+        this.position.move(100, 101);
+        this.position.move(2, 3);
+        this.position.move(110, 111);
+        other.move(2, 3);
+        other.move(110, 111);
+        other.move(0, 1);
+        other.move(100, 101);
+        assertEquals(this.position.computeHash(), this.position.getHash());
+        assertEquals(other.getHash(), this.position.getHash());
+        this.position.setSideToMove(Position.SECOND);
+        assertNotEquals(other.getHash(), this.position.getHash());
+        this.position.setSideToMove(Position.FIRST);
+        this.position.move(60, 61);
+        other.move(60, 61);
+        other.move(1, 0);
+        other.move(101, 100);
+        other.move(0, 1);
+        other.move(100, 101);
+        assertEquals(Position.EMPTY, other.getForbiddenZen());
+        assertEquals(60, this.position.getForbiddenZen());
+        assertNotEquals(other.getHash(), this.position.getHash());
+        assertEquals(this.position.computeHash(), this.position.getHash());
+    }
+
+    /**
+     * Allows to check that makeMove() and unmakeMove() give back the same position (pawns,
+     * counters, key, Zen state, side to move and connections) after a capture of the Zen.
+     */
+    @Test
+    public void makeMove() {
+        this.position.place(Position.FIRST, Position.square(5, 4));
+        this.position.place(Position.FIRST, Position.square(0, 0));
+        this.position.place(Position.SECOND, Position.square(6, 6));
+        this.position.place(Position.ZEN, Position.square(5, 5));
+        Position copy = this.position.copy();
+        boolean connected = this.position.isConnected(Position.FIRST);
+        assertEquals(Position.EMPTY, this.position.makeMove(Move.of(Position.square(5, 5), Position.square(5, 6))));
+        assertEquals(Position.square(5, 5), this.position.getForbiddenZen());
+        assertEquals(Position.ZEN, this.position.makeMove(Move.of(Position.square(6, 6), Position.square(5, 6))));
+        assertEquals(2, this.position.getPly());
+        assertEquals(Position.ZEN, this.position.getLastEaten());
+        this.position.unmakeMove();
+        this.position.unmakeMove();
+        assertEquals(0, this.position.getPly());
+        assertThrows(IllegalStateException.class, () -> this.position.unmakeMove());
+        assertEquals(copy.getHash(), this.position.getHash());
+        assertEquals(Position.square(5, 5), this.position.getZenSquare());
+        assertEquals(Position.EMPTY, this.position.getForbiddenZen());
+        assertEquals(copy.getSideToMove(), this.position.getSideToMove());
+        assertEquals(copy.countLine(5), this.position.countLine(5));
+        assertEquals(copy.countDescending(5, 5), this.position.countDescending(5, 5));
+        assertEquals(connected, this.position.isConnected(Position.FIRST));
+        assertEquals(this.position.computeHash(), this.position.getHash());
+    }
+
+    /**
+     * Allows to check the starting position : twelve pawns for each side (the pawns of the second
+     * side are the pawns of the first side turned by a quarter of a turn),
+     * the Zen at the center and no side connected.
+     */
+    @Test
+    public void start() {
+        Position start = Position.start();
+        assertEquals(Position.PAWNS, start.countPawns(Position.FIRST));
+        assertEquals(Position.PAWNS, start.countPawns(Position.SECOND));
+        assertEquals(Position.square(5, 5), start.getZenSquare());
+        assertEquals(Position.square(0, 10), Position.getStartSquare(Position.FIRST, 0));
+        for (int square = 0; square < Position.SQUARES; square++) {
+            int owner = start.getOwner(square);
+            int mirror = Position.square(Position.DIMENSION - 1 - Position.column(square), Position.line(square));
+            if (owner == Position.FIRST) assertEquals(Position.SECOND, start.getOwner(mirror));
+        }
+        assertFalse(start.isConnected(Position.FIRST));
+        assertFalse(start.isConnected(Position.SECOND));
+        assertEquals(start.computeHash(), start.getHash());
+    }
+
+    /**
+     * Allows to check that the positions reached again are counted until the last capture.
+     */
+    @Test
+    public void getRepetitions() {
+        this.position.place(Position.FIRST, Position.square(0, 0));
+        this.position.place(Position.FIRST, Position.square(10, 10));
+        this.position.place(Position.SECOND, Position.square(5, 4));
+        this.position.place(Position.SECOND, Position.square(5, 6));
+        int[] moves = {Move.of(Position.square(0, 0), Position.square(1, 0)), Move.of(Position.square(5, 4), Position.square(4, 4)),
+                Move.of(Position.square(1, 0), Position.square(0, 0)), Move.of(Position.square(4, 4), Position.square(5, 4))};
+        assertEquals(0, this.position.getRepetitions());
+        for (int i = 0; i < 2 * moves.length; i++) {
+            assertEquals(i >= moves.length, this.position.isRepetition());
+            this.position.makeMove(moves[i % moves.length]);
+        }
+        assertEquals(2, this.position.getRepetitions());
+        assertTrue(this.position.isRepetition());
+        this.position.unmakeMove();
+        assertEquals(1, this.position.getRepetitions());
+        this.position.makeMove(Move.of(Position.square(4, 4), Position.square(5, 4)));
+        this.position.makeMove(Move.of(Position.square(0, 0), Position.square(1, 0)));
+        this.position.makeMove(Move.of(Position.square(5, 6), Position.square(6, 6)));
+        this.position.makeMove(Move.of(Position.square(10, 10), Position.square(6, 6)));
+        assertEquals(0, this.position.getRepetitions());
+        assertFalse(this.position.isRepetition());
+    }
+}
@@ -0,0 +1,50 @@
+package tests;
+
+import game.model.rules.Position;
+import game.model.rules.Rays;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allows to test the Rays class.
+ */
+public class RaysTest {
+
+    /**
+     * Allows to check the squares between two squares on a line, on a diagonal that crosses
+     * the limit between both longs and between squares that are not aligned.
+     */
+    @Test
+    public void between() {
+        int from = Position.square(0, 0);
+        int to = Position.square(0, 3);
+        assertEquals(1L << 1 | 1L << 2, Rays.betweenLow(from, to));
+        assertEquals(0, Rays.betweenHigh(from, to));
+        assertEquals(Rays.betweenLow(from, to), Rays.betweenLow(to, from));
+        to = Position.square(10, 10);
+        assertEquals(9, Long.bitCount(Rays.betweenLow(from, to)) + Long.bitCount(Rays.betweenHigh(from, to)));
+        assertTrue((Rays.betweenHigh(from, to) & 1L << (Position.square(7, 7) - 64)) != 0);
+        assertEquals(0, Rays.betweenLow(from, Position.square(1, 2)));
+        assertEquals(0, Rays.betweenLow(from, Position.square(1, 1)));
+    }
+
+    /**
+     * Allows to check that the direction between two squares is found and that the rays of
+     * a square contain all the squares of its line, column and diagonals.
+     */
+    @Test
+    public void direction() {
+        int center = Position.square(5, 5);
+        assertEquals(-1, Rays.direction(center, Position.square(6, 7)));
+        assertEquals(-1, Rays.direction(center, center));
+        int count = 0;
+        for (int direction = 0; direction < Rays.DIRECTIONS; direction++) {
+            int next = Position.square(5 + Rays.lineStep(direction), 5 + Rays.columnStep(direction));
+            assertEquals(direction, Rays.direction(center, next));
+            count += Long.bitCount(Rays.rayLow(center, direction)) + Long.bitCount(Rays.rayHigh(center, direction));
+        }
+        assertEquals(4 * (Position.DIMENSION - 1), count);
+        assertEquals(0, Rays.rayLow(0, 1) | Rays.rayHigh(0, 1));
+    }
+}
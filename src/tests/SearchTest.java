@@ -0,0 +1,103 @@
+package tests;
+
+import game.model.rules.Move;
+import game.model.rules.Position;
+import game.model.search.Search;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allows to test the Search class.
+ */
+public class SearchTest {
+
+    /**
+     * Allows to check that the search finds a move that connects all the pawns of the side
+     * when there is one and that the score of this move is the score of a win.
+     */
+    @Test
+    public void findsWin() {
+        Position position = new Position();
+        position.place(Position.FIRST, Position.square(0, 0));
+        position.place(Position.FIRST, Position.square(0, 1));
+        position.place(Position.FIRST, Position.square(3, 1));
+        position.place(Position.SECOND, Position.square(10, 0));
+        position.place(Position.SECOND, Position.square(10, 10));
+        Search search = new Search(position, Position.FIRST);
+        int move = search.run(4, 0, 0);
+        assertEquals(Search.WIN - 1, search.getBestScore());
+        position.makeMove(move);
+        assertTrue(position.isConnected(Position.FIRST));
+    }
+
+    /**
+     * Allows to check that the search stops when the number of nodes allowed is reached and
+     * that the move found is still a correct move.
+     */
+    @Test
+    public void nodeLimit() {
+        Position position = Position.start();
+        Search search = new Search(position, Position.SECOND);
+        int move = search.run(Search.MAX_PLY, 0, 5000);
+        assertTrue(search.getNodes() <= 5000);
+        assertTrue(search.getDepth() < Search.MAX_PLY);
+        assertTrue(position.isLegal(Position.SECOND, Move.from(move), Move.to(move)));
+        assertEquals(Position.start().getHash(), position.getHash());
+    }
+
+    /**
+     * Allows to check that the search stops at the time limit (with a margin) and returns
+     * a correct move.
+     */
+    @Test
+    public void timeLimit() {
+        Position position = Position.start();
+        Search search = new Search(position, Position.FIRST);
+        long start = System.currentTimeMillis();
+        int move = search.run(Search.MAX_PLY, 200, 0);
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        assertTrue(search.getDepth() >= 1);
+        assertTrue(position.isLegal(Position.FIRST, Move.from(move), Move.to(move)));
+    }
+
+    /**
+     * Allows to check that a side that is losing goes back to a position already reached, which
+     * is a draw.
+     */
+    @Test
+    public void repetition() {
+        Position position = new Position();
+        position.place(Position.FIRST, Position.square(0, 0));
+        position.place(Position.FIRST, Position.square(0, 10));
+        position.place(Position.FIRST, Position.square(10, 0));
+        position.place(Position.FIRST, Position.square(10, 10));
+        position.place(Position.SECOND, Position.square(5, 4));
+        position.place(Position.SECOND, Position.square(5, 6));
+        Search search = new Search(position, Position.FIRST);
+        search.run(1, 0, 0);
+        assertTrue(search.getBestScore() < Search.DRAW);
+        int move = Move.of(Position.square(0, 0), Position.square(0, 2));
+        position.makeMove(move);
+        position.makeMove(Move.of(Position.square(5, 4), Position.square(4, 4)));
+        position.makeMove(Move.of(Position.square(0, 2), Position.square(0, 0)));
+        position.makeMove(Move.of(Position.square(4, 4), Position.square(5, 4)));
+        search = new Search(position, Position.FIRST);
+        assertTrue(Move.sameSquares(move, search.run(1, 0, 0)));
+        assertEquals(Search.DRAW, search.getBestScore());
+    }
+
+    /**
+     * Allows to check that a search stopped before it begins returns at once with a correct move.
+     */
+    @Test
+    public void stopBeforeRun() {
+        Position position = Position.start();
+        Search search = new Search(position, Position.FIRST);
+        search.stop();
+        int move = search.run(Search.MAX_PLY, 0, 0);
+        assertEquals(0, search.getDepth());
+        assertEquals(0, search.getNodes());
+        assertTrue(position.isLegal(Position.FIRST, Move.from(move), Move.to(move)));
+    }
+}
@@ -0,0 +1,57 @@
+package tests;
+
+import game.controller.Sprt;
+import game.controller.Tournament;
+import game.model.rules.Position;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allows to test the Sprt class.
+ */
+public class SprtTest {
+
+    /**
+     * Allows to check the bounds of the test and the sign of the log-likelihood ratio.
+     */
+    @Test
+    public void llr() {
+        Sprt sprt = new Sprt(0, 10, 0.05, 0.05);
+        assertEquals(Math.log(0.05 / 0.95), sprt.getLowerBound(), 1e-9);
+        assertEquals(Math.log(0.95 / 0.05), sprt.getUpperBound(), 1e-9);
+        assertEquals(0, sprt.llr(0, 0, 0));
+        assertTrue(sprt.llr(10, 0, 0) > 0);
+        assertTrue(sprt.llr(0, 0, 10) < 0);
+        assertTrue(sprt.llr(60, 10, 30) > 0);
+        assertTrue(sprt.llr(30, 10, 60) < 0);
+        assertTrue(sprt.llr(600, 100, 300) > sprt.llr(60, 10, 30));
+        assertThrows(IllegalArgumentException.class, () -> new Sprt(10, 0, 0.05, 0.05));
+        assertThrows(IllegalArgumentException.class, () -> new Sprt(0, 10, 0, 0.05));
+    }
+
+    /**
+     * Allows to check that the test goes on until the results are clear enough.
+     */
+    @Test
+    public void status() {
+        Sprt sprt = new Sprt(0, 50, 0.05, 0.05);
+        Tournament.Match match = new Tournament.Match("a", "b");
+        match.add(false, Position.FIRST);
+        match.add(false, Position.SECOND);
+        assertEquals(Sprt.CONTINUE, sprt.status(match));
+        for (int i = 0; i < 100; i++) {
+            match.add(false, Position.FIRST);
+            match.add(false, Position.FIRST);
+            match.add(false, Position.SECOND);
+        }
+        assertEquals(Sprt.H1, sprt.status(match));
+        Tournament.Match lost = new Tournament.Match("a", "b");
+        for (int i = 0; i < 100; i++) {
+            lost.add(false, Position.SECOND);
+            lost.add(false, Position.EMPTY);
+            lost.add(false, Position.FIRST);
+        }
+        assertEquals(Sprt.H0, sprt.status(lost));
+    }
+}
@@ -0,0 +1,227 @@
+package tests;
+
+import game.controller.Game;
+import game.model.GameBoard;
+import game.model.Level;
+import game.model.Player;
+import game.model.artificialPlayers.ArtificialPlayer;
+import game.model.artificialPlayers.ThirdLevel;
+import game.model.rules.Position;
+import game.model.search.OpeningBook;
+import game.model.search.Search;
+import game.view.Console;
+import org.junit.Test;
+import utilities.GameColor;
+import utilities.Language;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allows to test the ThirdLevel class.
+ */
+public class ThirdLevelTest {
+
+    /**
+     * Allows to make sure that the default name for an artificial player is "ord"
+     * and to check that it is possible to change this name by using the appropriate
+     * constructor.
+     */
+    @Test
+    public void getName() {
+        ArtificialPlayer player = new ThirdLevel().createPlayer(GameColor.WHITE);
+        assertEquals(player.getName(), "ord");
+        ArtificialPlayer player1 = new ThirdLevel("James", GameColor.WHITE);
+        assertEquals(player1.getName(), "James");
+    }
+
+    /**
+     * Allows to test the createPlayer method by checking it returns a ThirdLevel object
+     * and it sets the artificialPlayer boolean in Player class to true. Also checks that
+     * if the already chose color is white, the color of the artificial player created will
+     * be different and that if the already chose color is different than white, the artificial
+     * player created will use white.
+     */
+    @Test
+    public void createPlayer() {
+        ArtificialPlayer player = new ThirdLevel().createPlayer(GameColor.WHITE);
+        assertTrue(player instanceof ThirdLevel);
+        assertTrue(player.isArtificialPlayer());
+        assertNotSame(player.getColor(), GameColor.WHITE);
+        ArtificialPlayer player1 = new ThirdLevel().createPlayer(GameColor.BLUE);
+        assertSame(player1.getColor(), GameColor.WHITE);
+    }
+
+    /**
+     * Allows ot heck that the to string method returns first player if the language is english
+     * and premier niveau if the language is french.
+     */
+    @Test
+    public void testToString() {
+        Language.setLanguage(Language.Languages.ENGLISH);
+        assertEquals("third level", new ThirdLevel().toString());
+        Language.setLanguage(Language.Languages.FRENCH);
+        assertEquals("troisième niveau", new ThirdLevel().toString());
+    }
+
+    /**
+     * Allows to check that the length of the array brought back by the play method is 3
+     * and that the number of the pawn, the line and the column are valid when the search
+     * is limited by a number of nodes. Also checks that incorrect limits are refused.
+     */
+    @Test
+    public void play(){
+        ThirdLevel player = new ThirdLevel();
+        player.setLimits(0, 2000, Search.MAX_PLY);
+        Player adverse = new Player("Guillaume", GameColor.GREEN);
+        Game game  = new Game(new Console(Level.HARD), player, adverse, Level.HARD);
+        assertEquals(3, player.play(game.getGameBoard().getBoard(), adverse, game).length);
+        int[] play = player.play(game.getGameBoard().getBoard(), adverse, game);
+        assertTrue(play[1] >=0 && play[1] < GameBoard.getDIMENSION());
+        assertTrue(play[2] >=0 && play[2] < GameBoard.getDIMENSION());
+        assertTrue(play[0] >= -1 && play[0] < Player.getPAWNS_NUMBER());
+        assertThrows(IllegalArgumentException.class, () -> player.setLimits(0, 0, 5));
+    }
+
+    /**
+     * Allows to check that a move computed on the shared threads is given when the deadline is
+     * reached even if the search has no other limit, and that a cancelled move stops the search.
+     */
+    @Test
+    public void playAsync() {
+        Player adverse = new Player("Guillaume", GameColor.GREEN);
+        Game game  = new Game(new Console(Level.HARD), adverse, new ThirdLevel(), Level.HARD);
+        ThirdLevel computer = (ThirdLevel) game.getSecondPlayer();
+        computer.setLimits(0, Long.MAX_VALUE, Search.MAX_PLY);
+        long start = System.currentTimeMillis();
+        int move = computer.playAsync(game.getGameBoard().getBoard(), adverse, game, 200).join();
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertTrue(game.checkMove(computer, move, adverse));
+        CompletableFuture<Integer> future = computer.playAsync(game.getGameBoard().getBoard(), adverse, game);
+        assertTrue(future.cancel(true));
+        assertTrue(future.isCancelled());
+        start = System.currentTimeMillis();
+        move = computer.playAsync(game.getGameBoard().getBoard(), adverse, game, 100).join();
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertTrue(game.checkMove(computer, move, adverse));
+    }
+
+    /**
+     * Allows to check that the players that compute during the turn of their adverse, even more
+     * numerous than the processors, don't keep the move of another player waiting.
+     */
+    @Test
+    public void ponderWithManyPlayers() throws Exception {
+        int count = 3 * Runtime.getRuntime().availableProcessors() + 6;
+        ThirdLevel[] players = new ThirdLevel[count];
+        for (int i = 0; i < count; i++) {
+            players[i] = new ThirdLevel("ponder", GameColor.WHITE);
+            players[i].setHashSize(1);
+            players[i].startPondering(new Game(players[i], new ThirdLevel("adverse", GameColor.WHITE)));
+        }
+        ThirdLevel computer = new ThirdLevel("computer", GameColor.WHITE);
+        computer.setUsingBook(false);
+        computer.setLimits(0, 2000, Search.MAX_PLY);
+        computer.setHashSize(1);
+        ThirdLevel adverse = new ThirdLevel("adverse", GameColor.WHITE);
+        Game game = new Game(computer, adverse);
+        int move = computer.playAsync(game.getGameBoard().getBoard(), adverse, game).get(5, TimeUnit.SECONDS);
+        assertTrue(game.checkMove(computer, move, adverse));
+        for (ThirdLevel player : players) player.stopPondering();
+    }
+
+    /**
+     * Allows to check that the player computes during the turn of its adverse, that it stops
+     * at once when asked and that it then finds a correct move after the move of the adverse.
+     */
+    @Test
+    public void ponder() throws InterruptedException {
+        Player adverse = new Player("Guillaume", GameColor.GREEN);
+        Game game  = new Game(new Console(Level.HARD), adverse, new ThirdLevel(), Level.HARD);
+        ThirdLevel computer = (ThirdLevel) game.getSecondPlayer();
+        computer.setLimits(0, 2000, Search.MAX_PLY);
+        assertTrue(computer.isPondering());
+        computer.startPondering(game);
+        Thread.sleep(200);
+        int[] moves = new int[Position.MAX_MOVES];
+        game.getGameBoard().generateMoves(adverse, moves);
+        long start = System.currentTimeMillis();
+        computer.stopPondering();
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        game.getGameBoard().makeMove(moves[0]);
+        int move = computer.playMove(game.getGameBoard().getBoard(), adverse, game);
+        assertTrue(game.checkMove(computer, move, adverse));
+        computer.setPondering(false);
+        computer.startPondering(game);
+        computer.stopPondering();
+    }
+
+    /**
+     * Allows to check that a player with a low skill doesn't compute during the turn of its adverse,
+     * that two players with the same skill and the same seed play the same move and that the
+     * incorrect skills are refused.
+     */
+    @Test
+    public void skill() {
+        Player adverse = new Player("Guillaume", GameColor.GREEN);
+        Game game  = new Game(new Console(Level.HARD), adverse, new ThirdLevel(), Level.HARD);
+        ThirdLevel computer = (ThirdLevel) game.getSecondPlayer();
+        computer.setUsingBook(false);
+        computer.setSkill(2);
+        computer.setSeed(5);
+        assertEquals(2, computer.getSkill());
+        assertFalse(computer.isPondering());
+        int move = computer.playMove(game.getGameBoard().getBoard(), adverse, game);
+        assertTrue(game.checkMove(computer, move, adverse));
+        computer.setSeed(5);
+        assertEquals(move, computer.playMove(game.getGameBoard().getBoard(), adverse, game));
+        computer.setSkill(ThirdLevel.MAX_SKILL);
+        assertTrue(computer.isPondering());
+        assertThrows(IllegalArgumentException.class, () -> computer.setSkill(ThirdLevel.MAX_SKILL + 1));
+        assertThrows(IllegalArgumentException.class, () -> computer.setSkill(-1));
+    }
+
+    /**
+     * Allows to check that the moves of the opening book are chosen with the seed of the player,
+     * so that two players with the same seed play the same move.
+     */
+    @Test
+    public void bookMoveSeed() {
+        assertTrue(OpeningBook.getDefault().getMoves(Position.start(), Position.FIRST, new int[Position.MAX_MOVES], new int[Position.MAX_MOVES]) > 0);
+        for (long seed = 0; seed < 10; seed++) {
+            int[] moves = new int[2];
+            for (int i = 0; i < 2; i++) {
+                ThirdLevel computer = new ThirdLevel("computer", GameColor.WHITE);
+                computer.setSkill(0);
+                computer.setSeed(seed);
+                ThirdLevel adverse = new ThirdLevel("adverse", GameColor.WHITE);
+                Game game = new Game(computer, adverse);
+                moves[i] = computer.playMove(game.getGameBoard().getBoard(), adverse, game);
+                assertTrue(game.checkMove(computer, moves[i], adverse));
+            }
+            assertEquals(moves[0], moves[1]);
+        }
+    }
+
+    /**
+     * Allows to check that a player with a clock takes the time of its searches off the clock
+     * and never uses more than the maximal time of its time manager.
+     */
+    @Test
+    public void clock() {
+        Player adverse = new Player("Guillaume", GameColor.GREEN);
+        Game game  = new Game(new Console(Level.HARD), adverse, new ThirdLevel(), Level.HARD);
+        ThirdLevel computer = (ThirdLevel) game.getSecondPlayer();
+        computer.setUsingBook(false);
+        computer.setPondering(false);
+        computer.setClock(2000, 0);
+        int move = computer.playMove(game.getGameBoard().getBoard(), adverse, game);
+        assertTrue(game.checkMove(computer, move, adverse));
+        assertTrue(computer.getRemainingTime() < 2000);
+        assertTrue(computer.getRemainingTime() > 1400);
+        assertThrows(IllegalArgumentException.class, () -> computer.setClock(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> computer.setClock(1000, -1));
+    }
+}
@@ -0,0 +1,61 @@
+package tests;
+
+import game.model.rules.Move;
+import game.model.search.TimeManager;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allows to test the TimeManager class.
+ */
+public class TimeManagerTest {
+
+    /**
+     * Allows to check that the time of a move depends on the time left, the increment, the
+     * number of the move and the number of pawns, and that the maximal time is never more than
+     * a part of the time left.
+     */
+    @Test
+    public void start() {
+        TimeManager manager = new TimeManager();
+        manager.start(60000, 0, 0, 13);
+        long opening = manager.getOptimum();
+        assertTrue(opening > 0);
+        assertTrue(manager.getMaximum() >= opening);
+        assertTrue(manager.getMaximum() <= 15000);
+        manager.start(60000, 0, 0, 4);
+        assertTrue(manager.getOptimum() > opening);
+        manager.start(60000, 0, 40, 13);
+        assertTrue(manager.getOptimum() > opening);
+        manager.start(60000, 1000, 0, 13);
+        assertTrue(manager.getOptimum() > opening);
+        manager.start(30000, 0, 0, 13);
+        assertTrue(manager.getOptimum() < opening);
+        manager.start(0, 0, 0, 13);
+        assertTrue(manager.getMaximum() >= 1);
+        assertThrows(IllegalArgumentException.class, () -> manager.start(-1, 0, 0, 13));
+        assertThrows(IllegalArgumentException.class, () -> manager.start(1000, 0, 0, -1));
+    }
+
+    /**
+     * Allows to check that the search is given less time when the best move stays the same,
+     * more time when it changes and even more when the score drops.
+     */
+    @Test
+    public void iterationDone() {
+        TimeManager manager = new TimeManager();
+        manager.start(600000, 0, 0, 13);
+        int move = Move.of(12, 13), other = Move.of(12, 23);
+        assertFalse(manager.iterationDone(1, move, 10));
+        long changing = manager.getTarget();
+        for (int depth = 2; depth <= 5; depth++) assertFalse(manager.iterationDone(depth, move, 10));
+        long stable = manager.getTarget();
+        assertTrue(stable < changing);
+        assertFalse(manager.isPanic());
+        assertFalse(manager.iterationDone(6, other, -50));
+        assertTrue(manager.isPanic());
+        assertTrue(manager.getTarget() > changing);
+        assertTrue(manager.getTarget() <= manager.getMaximum());
+    }
+}
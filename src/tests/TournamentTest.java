@@ -0,0 +1,154 @@
+package tests;
+
+import game.controller.Game;
+import game.controller.Sprt;
+import game.controller.Tournament;
+import game.model.Level;
+import game.model.Player;
+import game.model.artificialPlayers.FirstLevel;
+import game.model.artificialPlayers.ThirdLevel;
+import game.model.rules.Move;
+import game.model.rules.Position;
+import game.model.search.Search;
+import game.view.Console;
+import org.junit.Test;
+import utilities.GameColor;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allows to test the Tournament class.
+ */
+public class TournamentTest {
+
+    /**
+     * Allows to check that a game without view keeps its players and plays at once.
+     */
+    @Test
+    public void headlessGame() {
+        ThirdLevel first = new ThirdLevel("first", GameColor.WHITE);
+        ThirdLevel second = new ThirdLevel("second", GameColor.WHITE);
+        Game game = new Game(first, second);
+        assertSame(first, game.getFirstPlayer());
+        assertSame(second, game.getSecondPlayer());
+        assertEquals(0, game.getDisplayDelay());
+    }
+
+    /**
+     * Allows to check that all the games of a tournament are played with several threads and
+     * that the strongest player wins most of them.
+     */
+    @Test
+    public void run() {
+        Tournament tournament = new Tournament(2);
+        tournament.addPlayer("random", () -> new FirstLevel("random", GameColor.WHITE));
+        tournament.addPlayer("search", () -> {
+            ThirdLevel player = new ThirdLevel("search", GameColor.WHITE);
+            player.setLimits(0, 2000, Search.MAX_PLY);
+            player.setHashSize(1);
+            return player;
+        });
+        List<Tournament.Match> matches = tournament.run(4);
+        assertEquals(1, matches.size());
+        Tournament.Match match = matches.get(0);
+        assertEquals("random", match.getPlayer());
+        assertEquals(4, match.getGames());
+        assertTrue(match.getLosses() >= 3);
+        assertTrue(match.getElo() < 0);
+        assertTrue(tournament.getGamesPerSecond() > 0);
+    }
+
+    /**
+     * Allows to check that a match with a sequential probability ratio test stops as soon as the
+     * strongest player is found and that the results are given after each game.
+     */
+    @Test
+    public void runSprt() {
+        Tournament tournament = new Tournament(2);
+        tournament.addPlayer("search", () -> {
+            ThirdLevel player = new ThirdLevel("search", GameColor.WHITE);
+            player.setLimits(0, 2000, Search.MAX_PLY);
+            player.setHashSize(1);
+            return player;
+        });
+        tournament.addPlayer("random", () -> new FirstLevel("random", GameColor.WHITE));
+        tournament.setOpenings(2, 7);
+        Sprt sprt = new Sprt(0, 200, 0.05, 0.05);
+        AtomicInteger updates = new AtomicInteger();
+        Tournament.Match match = tournament.runSprt(sprt, 100, results -> updates.incrementAndGet());
+        assertEquals(Sprt.H1, sprt.status(match));
+        assertEquals(match.getGames(), updates.get());
+        assertTrue(match.getGames() < 100);
+    }
+
+    /**
+     * Allows to check that the results are counted from the point of view of the first player of
+     * the match, whatever the side it played, and the Elo difference of a score.
+     */
+    @Test
+    public void match() {
+        Tournament.Match match = new Tournament.Match("a", "b");
+        match.add(false, Position.FIRST);
+        match.add(true, Position.FIRST);
+        match.add(true, Position.SECOND);
+        match.add(false, Position.EMPTY);
+        assertEquals(2, match.getWins());
+        assertEquals(1, match.getDraws());
+        assertEquals(1, match.getLosses());
+        assertEquals(0.625, match.getScore(), 1e-9);
+        assertEquals(88.7, match.getElo(), 0.1);
+        assertTrue(match.getEloError() > 0);
+    }
+
+    /**
+     * Allows to check that a game is a draw when the same position is reached as many times as
+     * the rule of the game says, and never when there's no rule (the default of the games that
+     * are displayed).
+     */
+    @Test
+    public void repetition() {
+        Game game = new Game(new FirstLevel("first", GameColor.WHITE), new FirstLevel("second", GameColor.WHITE));
+        Position position = game.getGameBoard().getPosition();
+        int[] moves = new int[4];
+        for (int i = 0; i < 2; i++) {
+            moves[i] = shuffle(position, i);
+            moves[i + 2] = Move.of(Move.to(moves[i]), Move.from(moves[i]));
+        }
+        assertEquals(3, game.getRepetitions());
+        for (int i = 0; i < 8; i++) {
+            assertFalse(game.isDrawByRepetition());
+            assertTrue(position.isLegal(i % 2, Move.from(moves[i % 4]), Move.to(moves[i % 4])));
+            game.getGameBoard().makeMove(moves[i % 4]);
+        }
+        assertTrue(game.isDrawByRepetition());
+        game.setRepetitions(0);
+        assertFalse(game.isDrawByRepetition());
+        assertThrows(IllegalArgumentException.class, () -> game.setRepetitions(1));
+        Game displayed = new Game(new Console(Level.HARD), new Player("Guillaume", GameColor.GREEN), new FirstLevel(), Level.HARD);
+        assertEquals(0, displayed.getRepetitions());
+    }
+
+    /**
+     * Allows to find a move of a side that doesn't eat any pawn and that can be played back.
+     *
+     * @param position the position
+     * @param side     the side that plays
+     * @return the move
+     */
+    private static int shuffle(Position position, int side) {
+        int[] moves = new int[Position.MAX_MOVES];
+        int count = position.generateMoves(side, moves);
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            if (!Move.isCapture(move) && !Move.isZen(move)) {
+                Position next = position.copy();
+                next.makeMove(move);
+                if (next.isLegal(side, Move.to(move), Move.from(move))) return move;
+            }
+        }
+        throw new IllegalStateException("No move can be played back");
+    }
+}
@@ -0,0 +1,113 @@
+package tests;
+
+import game.model.rules.Move;
+import game.model.rules.Position;
+import game.model.search.Search;
+import game.model.search.TranspositionTable;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allows to test the TranspositionTable class.
+ */
+public class TranspositionTableTest {
+
+    /**
+     * Allows to check that the size of the table is a power of two that fits in the size asked
+     * and that an incorrect size is refused.
+     */
+    @Test
+    public void capacity() {
+        TranspositionTable table = new TranspositionTable(1);
+        assertEquals(1 << 16, table.getCapacity());
+        assertEquals(Integer.bitCount(new TranspositionTable(3).getCapacity()), 1);
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+
+    /**
+     * Allows to check that the data saved is found back (including negative scores and the
+     * absence of move) and that an unknown key is not found.
+     */
+    @Test
+    public void storeAndProbe() {
+        TranspositionTable table = new TranspositionTable(1);
+        int move = Move.of(12, 100, true, true);
+        table.store(42L, move, -Search.WIN + 3, 17, TranspositionTable.LOWER);
+        long data = table.probe(42L);
+        assertEquals(move, TranspositionTable.move(data));
+        assertEquals(-Search.WIN + 3, TranspositionTable.score(data));
+        assertEquals(17, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+        assertEquals(0, table.probe(43L));
+        table.store(43L, Move.NONE, 5, 0, TranspositionTable.EXACT);
+        assertEquals(Move.NONE, TranspositionTable.move(table.probe(43L)));
+        table.clear();
+        assertEquals(0, table.probe(42L));
+    }
+
+    /**
+     * Allows to check the replacement policy : a deep result is kept when a less deep result of
+     * another position of the same bucket is saved, the less deep result goes in the second
+     * entry, and a result of a newer search replaces the deep one.
+     */
+    @Test
+    public void replacement() {
+        TranspositionTable table = new TranspositionTable(1);
+        long other = 1L << 40;
+        table.store(1L, Move.NONE, 10, 9, TranspositionTable.EXACT);
+        table.store(1L + other, Move.NONE, 20, 2, TranspositionTable.EXACT);
+        table.store(1L + 2 * other, Move.NONE, 30, 1, TranspositionTable.EXACT);
+        assertEquals(10, TranspositionTable.score(table.probe(1L)));
+        assertEquals(0, table.probe(1L + other));
+        assertEquals(30, TranspositionTable.score(table.probe(1L + 2 * other)));
+        table.newSearch();
+        table.store(1L + other, Move.NONE, 20, 2, TranspositionTable.EXACT);
+        assertEquals(0, table.probe(1L));
+        assertEquals(20, TranspositionTable.score(table.probe(1L + other)));
+    }
+
+    /**
+     * Allows to check that entries written at the same time by several threads in the same
+     * buckets are never read with the data of another key.
+     */
+    @Test
+    public void concurrentAccess() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(1);
+        boolean[] wrong = new boolean[1];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 200000; i++) {
+                    long key = (long) ((i + offset) % 64) << 32 | (i & 7);
+                    table.store(key, Move.NONE, (int) (key >>> 32), 1, TranspositionTable.EXACT);
+                    long data = table.probe(key);
+                    if (data != 0 && TranspositionTable.score(data) != (int) (key >>> 32)) wrong[0] = true;
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+        assertFalse(wrong[0]);
+    }
+
+    /**
+     * Allows to check that a search with a transposition table finds the same result as
+     * a search without it on a position where a move connects the pawns.
+     */
+    @Test
+    public void search() {
+        Position position = new Position();
+        position.place(Position.FIRST, Position.square(0, 0));
+        position.place(Position.FIRST, Position.square(0, 1));
+        position.place(Position.FIRST, Position.square(3, 1));
+        position.place(Position.SECOND, Position.square(10, 0));
+        position.place(Position.SECOND, Position.square(10, 10));
+        Search search = new Search(position, Position.FIRST, new TranspositionTable(1));
+        int move = search.run(5, 0, 0);
+        assertEquals(Search.WIN - 1, search.getBestScore());
+        position.makeMove(move);
+        assertTrue(position.isConnected(Position.FIRST));
+    }
+}
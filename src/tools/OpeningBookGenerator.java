@@ -0,0 +1,181 @@
+package tools;
+
+import game.model.rules.Move;
+import game.model.rules.Position;
+import game.model.search.OpeningBook;
+import game.model.search.Search;
+import game.model.search.TranspositionTable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Allows to create the opening book used by the artificial players. From the starting position,
+ * every move is searched with a fixed number of nodes and the best moves (at most WIDTH moves whose
+ * score is not more than MARGIN points below the best one) are written in the book with a weight
+ * that decreases with their score. The positions obtained after these moves are then treated the
+ * same way until the number of plies of the book is reached. The same positions are always
+ * searched, so the same book is always created.
+ * Usage : java tools.OpeningBookGenerator [plies] [nodes per move] [file]
+ */
+public class OpeningBookGenerator {
+
+    /**
+     * The maximal number of moves kept for a position
+     */
+    private final static int WIDTH = 3;
+    /**
+     * The maximal difference between the score of a move kept and the score of the best move
+     */
+    private final static int MARGIN = 30;
+    /**
+     * The size of the transposition table of the searches (in megabytes)
+     */
+    private final static int HASH_SIZE = 64;
+
+    /**
+     * The keys of the entries of the book
+     */
+    private long[] keys = new long[1024];
+    /**
+     * The moves of the entries of the book
+     */
+    private int[] moves = new int[1024];
+    /**
+     * The weights of the entries of the book
+     */
+    private int[] weights = new int[1024];
+    /**
+     * The number of entries of the book
+     */
+    private int count;
+    /**
+     * The keys of the positions already treated
+     */
+    private final Set<Long> done = new HashSet<>();
+    /**
+     * The table shared by the searches
+     */
+    private final TranspositionTable table = new TranspositionTable(HASH_SIZE);
+    /**
+     * The number of plies of the book
+     */
+    private final int plies;
+    /**
+     * The number of nodes searched for each move
+     */
+    private final long nodes;
+
+    /**
+     * Allows to create a generator.
+     *
+     * @param plies the number of plies of the book
+     * @param nodes the number of nodes searched for each move
+     */
+    private OpeningBookGenerator(int plies, long nodes) {
+        this.plies = plies;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Allows to create the book.
+     *
+     * @param args the number of plies (default : 4), the number of nodes searched for each move
+     *             (default : 100000) and the file of the book (default : src/res/book/opening.book)
+     * @throws IOException if the book can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        int plies = (args.length > 0) ? Integer.parseInt(args[0]) : 4;
+        long nodes = (args.length > 1) ? Long.parseLong(args[1]) : 100000;
+        Path file = Paths.get((args.length > 2) ? args[2] : "src/res/book/opening.book");
+        OpeningBookGenerator generator = new OpeningBookGenerator(plies, nodes);
+        long start = System.nanoTime();
+        generator.expand(Position.start(), Position.FIRST, 0);
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        OpeningBook.write(file, generator.keys, generator.moves, generator.weights, generator.count);
+        System.out.printf("%d positions, %d entries written in %s in %.1f s%n", generator.done.size(),
+                generator.count, file, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Allows to search the moves of a position, to add the best ones to the book and to treat the
+     * positions obtained after them.
+     *
+     * @param position the position
+     * @param side     the side that has to play
+     * @param ply      the number of moves done since the starting position
+     */
+    private void expand(Position position, int side, int ply) {
+        if (ply >= this.plies || !this.done.add(OpeningBook.key(position, side))) return;
+        int[] all = new int[Position.MAX_MOVES];
+        int total = position.generateMoves(side, all);
+        int[] scores = new int[total];
+        Integer[] order = new Integer[total];
+        for (int i = 0; i < total; i++) {
+            order[i] = i;
+            scores[i] = this.score(position, side, all[i]);
+        }
+        Arrays.sort(order, (first, second) -> Integer.compare(scores[second], scores[first]));
+        int best = (total > 0) ? scores[order[0]] : 0;
+        int kept = 0;
+        while (kept < Math.min(WIDTH, total) && scores[order[kept]] >= best - MARGIN) kept++;
+        for (int i = 0; i < kept; i++) {
+            int move = all[order[i]];
+            this.add(OpeningBook.key(position, side), move, MARGIN + 1 - (best - scores[order[i]]));
+            position.makeMove(move);
+            boolean over = position.isConnected(Position.FIRST) || position.isConnected(Position.SECOND);
+            if (!over) this.expand(position, 1 - side, ply + 1);
+            position.unmakeMove();
+        }
+        System.out.printf("ply %d: %d moves, best %s (%d)%n", ply, kept, (kept > 0) ? Move.toString(all[order[0]]) : "-", best);
+    }
+
+    /**
+     * Allows to get the score of a move with a search of the position obtained after it.
+     *
+     * @param position the position
+     * @param side     the side that plays the move
+     * @param move     the move
+     * @return the score of the move for the side
+     */
+    private int score(Position position, int side, int move) {
+        position.makeMove(move);
+        int score;
+        boolean won = position.isConnected(side);
+        boolean lost = position.isConnected(1 - side);
+        if (won && lost) score = 0;
+        else if (won) score = Search.WIN;
+        else if (lost) score = -Search.WIN;
+        else {
+            Search search = new Search(position, 1 - side, this.table);
+            search.run(Search.MAX_PLY, 0, this.nodes);
+            score = -search.getBestScore();
+        }
+        position.unmakeMove();
+        return score;
+    }
+
+    /**
+     * Allows to add an entry to the book.
+     *
+     * @param key    the key of the position
+     * @param move   the move
+     * @param weight the weight of the move
+     */
+    private void add(long key, int move, int weight) {
+        if (this.count == this.keys.length) {
+            this.keys = Arrays.copyOf(this.keys, 2 * this.count);
+            this.moves = Arrays.copyOf(this.moves, 2 * this.count);
+            this.weights = Arrays.copyOf(this.weights, 2 * this.count);
+        }
+        this.keys[this.count] = key;
+        this.moves[this.count] = move;
+        this.weights[this.count] = weight;
+        this.count++;
+    }
+}
@@ -0,0 +1,50 @@
+package tools;
+
+import game.controller.Sprt;
+import game.controller.Tournament;
+
+/**
+ * Allows to play a match between two artificial players until a sequential probability ratio
+ * test tells whether the first one is stronger than the second one : H0 is "the Elo difference
+ * is elo0" and H1 is "the Elo difference is elo1". The results are printed after each game so
+ * that long matches can be followed. The players are written as in TournamentRunner (level3:nodes
+ * for example) and the openings are random moves chosen with the seed, so a match can be played
+ * again with the same openings.
+ * Usage : java tools.SprtRunner player adverse [elo0] [elo1] [alpha] [beta] [maximal games] [threads] [seed]
+ */
+public class SprtRunner {
+
+    /**
+     * Allows to run the match.
+     *
+     * @param args the tested player, the reference player, elo0 (default : 0), elo1 (default : 10),
+     *             alpha (default : 0.05), beta (default : 0.05), the maximal number of games
+     *             (default : 20000), the number of threads (default : number of processors) and
+     *             the seed of the openings (default : 0)
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage : java tools.SprtRunner player adverse [elo0] [elo1] [alpha] [beta] [maximal games] [threads] [seed]");
+            return;
+        }
+        double elo0 = (args.length > 2) ? Double.parseDouble(args[2]) : 0;
+        double elo1 = (args.length > 3) ? Double.parseDouble(args[3]) : 10;
+        double alpha = (args.length > 4) ? Double.parseDouble(args[4]) : 0.05;
+        double beta = (args.length > 5) ? Double.parseDouble(args[5]) : 0.05;
+        int maxGames = (args.length > 6) ? Integer.parseInt(args[6]) : 20000;
+        int threads = (args.length > 7) ? Integer.parseInt(args[7]) : Runtime.getRuntime().availableProcessors();
+        long seed = (args.length > 8) ? Long.parseLong(args[8]) : 0;
+        Sprt sprt = new Sprt(elo0, elo1, alpha, beta);
+        Tournament tournament = new Tournament(threads);
+        tournament.addPlayer(args[0], TournamentRunner.createFactory(args[0]));
+        tournament.addPlayer(args[1], TournamentRunner.createFactory(args[1]));
+        tournament.setOpenings(4, seed);
+        System.out.printf("H0 : elo = %.1f, H1 : elo = %.1f, bounds [%.2f, %.2f]%n", elo0, elo1,
+                sprt.getLowerBound(), sprt.getUpperBound());
+        Tournament.Match match = tournament.runSprt(sprt, maxGames, results -> System.out.printf("%s, LLR %.2f%n",
+                results, sprt.llr(results.getWins(), results.getDraws(), results.getLosses())));
+        int status = sprt.status(match);
+        System.out.println((status == Sprt.H1) ? "H1 accepted" : (status == Sprt.H0) ? "H0 accepted" : "No result");
+        System.out.printf("%.2f games/s with %d threads%n", tournament.getGamesPerSecond(), threads);
+    }
+}
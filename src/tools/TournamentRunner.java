@@ -0,0 +1,113 @@
+package tools;
+
+import game.controller.Tournament;
+import game.model.artificialPlayers.ArtificialPlayer;
+import game.model.artificialPlayers.FirstLevel;
+import game.model.artificialPlayers.FourthLevel;
+import game.model.artificialPlayers.SecondLevel;
+import game.model.artificialPlayers.ThirdLevel;
+import game.model.search.Search;
+import utilities.GameColor;
+
+import java.util.function.Supplier;
+
+/**
+ * Allows to play a tournament between artificial players without any view and to print the
+ * results of each pair of players (wins, draws, losses and Elo difference) and the number of
+ * games played per second. The players are written as level1, level2, level3:nodes (alpha-beta
+ * search with a number of nodes per move), skill:skill (alpha-beta search with a skill from 0 to
+ * ThirdLevel.MAX_SKILL), clock:time:increment (alpha-beta search with a clock for the whole game,
+ * in milliseconds) or level4:playouts (Monte Carlo search with a number of playouts per move).
+ * Except for the clock, the limits are numbers of nodes or playouts and not times, so the results
+ * don't depend on the number of games played at the same time.
+ * Usage : java tools.TournamentRunner [games per pair] [threads] [player] [player] ...
+ */
+public class TournamentRunner {
+
+    /**
+     * The default number of nodes searched per move by the level 3
+     */
+    private final static long DEFAULT_NODES = 20000;
+    /**
+     * The default time of the clock of a game of the level 3 (in milliseconds)
+     */
+    private final static long DEFAULT_CLOCK = 10000;
+    /**
+     * The default number of playouts per move of the level 4
+     */
+    private final static long DEFAULT_PLAYOUTS = 2000;
+    /**
+     * The size of the transposition table of each player of level 3 (in megabytes)
+     */
+    private final static int HASH_SIZE = 4;
+
+    /**
+     * Allows to run the tournament.
+     *
+     * @param args the number of games of each pair of players (default : 20), the number of threads
+     *             (default : number of processors) and the players (default : level3 and level4)
+     */
+    public static void main(String[] args) {
+        int games = (args.length > 0) ? Integer.parseInt(args[0]) : 20;
+        int threads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Tournament tournament = new Tournament(threads);
+        if (args.length > 3) {
+            for (int i = 2; i < args.length; i++) tournament.addPlayer(args[i], createFactory(args[i]));
+        } else {
+            tournament.addPlayer("level3", createFactory("level3"));
+            tournament.addPlayer("level4", createFactory("level4"));
+        }
+        for (Tournament.Match match : tournament.run(games)) System.out.println(match);
+        System.out.printf("%.2f games/s with %d threads%n", tournament.getGamesPerSecond(), threads);
+    }
+
+    /**
+     * Allows to create the factory of a player from its description.
+     *
+     * @param description the level of the player and its limit (level1, level2, level3:nodes, skill:skill,
+     *                    clock:time:increment or level4:playouts)
+     * @return the factory of the player
+     */
+    public static Supplier<ArtificialPlayer> createFactory(String description) {
+        String[] parts = description.split(":");
+        switch (parts[0]) {
+            case "level1":
+                return () -> new FirstLevel(description, GameColor.WHITE);
+            case "level2":
+                return () -> new SecondLevel(description, GameColor.WHITE);
+            case "level3":
+                long nodes = (parts.length > 1) ? Long.parseLong(parts[1]) : DEFAULT_NODES;
+                return () -> {
+                    ThirdLevel player = new ThirdLevel(description, GameColor.WHITE);
+                    player.setLimits(0, nodes, Search.MAX_PLY);
+                    player.setHashSize(HASH_SIZE);
+                    return player;
+                };
+            case "skill":
+                int skill = (parts.length > 1) ? Integer.parseInt(parts[1]) : ThirdLevel.MAX_SKILL;
+                return () -> {
+                    ThirdLevel player = new ThirdLevel(description, GameColor.WHITE);
+                    player.setSkill(skill);
+                    return player;
+                };
+            case "clock":
+                long clock = (parts.length > 1) ? Long.parseLong(parts[1]) : DEFAULT_CLOCK;
+                long increment = (parts.length > 2) ? Long.parseLong(parts[2]) : 0;
+                return () -> {
+                    ThirdLevel player = new ThirdLevel(description, GameColor.WHITE);
+                    player.setClock(clock, increment);
+                    player.setHashSize(HASH_SIZE);
+                    return player;
+                };
+            case "level4":
+                long playouts = (parts.length > 1) ? Long.parseLong(parts[1]) : DEFAULT_PLAYOUTS;
+                return () -> {
+                    FourthLevel player = new FourthLevel(description, GameColor.WHITE);
+                    player.setLimits(0, playouts);
+                    return player;
+                };
+            default:
+                throw new IllegalArgumentException("Unknown player : " + description);
+        }
+    }
+}
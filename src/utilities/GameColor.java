@@ -1,17 +1,18 @@
 package utilities;
 
-import java.awt.*;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 
 /**
- * class that allows to create personalized colors, it extends AWT Color object so can be used
- * as so but can also be used in a console with it's ANSI_CODE. It will also prints the name
- * of the color instead of the rgb values usually given by Color class.
+ * class that allows to create personalized colors, it keeps the rgb value of the color for the
+ * graphic views (which create the AWT Color from it, so the rules and the players don't need AWT)
+ * but can also be used in a console with it's ANSI_CODE. It will also prints the name of the color
+ * instead of its rgb values.
  * This class defines some static instances of itself that may be useful in preventing the
- * re-creation of similar objects.
+ * re-creation of similar objects, a saved color is read again as the instance of the same name.
  */
-public class GameColor extends Color {
+public class GameColor implements Serializable {
 
     public final static GameColor RED = new GameColor(255, 0, 0, "\u001B[31m", "red");
     public final static GameColor YELLOW = new GameColor(255, 250, 205, "\u001B[33m", "yellow");
@@ -26,6 +27,10 @@ public class GameColor extends Color {
     public final static GameColor BURGUNDY = new GameColor(178, 34, 34, "\033[38;5;160m", "burgundy");
     public final static GameColor TURQUOISE = new GameColor(102, 166, 180, "\033[38;5;87m", "turquoise");
 
+    /**
+     * the rgb value of the color (as given by getRGB() in the AWT Color class)
+     */
+    private final int RGB;
     /**
      * the ansi code to print a text in the color in a console
      */
@@ -36,8 +41,8 @@ public class GameColor extends Color {
     public final String NAME;
 
     /**
-     * Constructor of the class, initializes the object with the given values and creating the
-     * awt Color object with the given rgb values.
+     * Constructor of the class, initializes the object with the given values and computes
+     * the rgb value from the given coefficients.
      *
      * @param r    red coefficient
      * @param g    green coefficient
@@ -46,8 +51,8 @@ public class GameColor extends Color {
      * @param name the name of the color
      */
     private GameColor(int r, int g, int b, String code, String name) {
-        super(r, g, b);
-        if (code != null && name != null) {
+        if (code != null && name != null && (r | g | b) >= 0 && (r | g | b) <= 255) {
+            this.RGB = 0xFF000000 | (r << 16) | (g << 8) | b;
             this.ANSI_CODE = code;
             this.NAME = name;
         } else {
@@ -81,6 +86,30 @@ public class GameColor extends Color {
         return colors.get((int) (Math.random() * colors.size()));
     }
 
+    /**
+     * Allows to get the rgb value of the color, the graphic views create the AWT Color
+     * object with it.
+     *
+     * @return the rgb value (with an opaque alpha) as given by getRGB() in the AWT Color class
+     */
+    public int getRGB() {
+        return this.RGB;
+    }
+
+    /**
+     * Allows to replace a color read from a saved game by the instance of the class
+     * with the same name, so that the colors can still be compared with ==.
+     *
+     * @return the instance of the class with the same name (or this color if there's none)
+     */
+    private Object readResolve() {
+        for (GameColor color : new GameColor[]{RED, BLUE, BROWN, BURGUNDY, CYAN, GREEN, ORANGE, PINK,
+                PURPLE, TURQUOISE, WHITE, YELLOW}) {
+            if (color.NAME.equals(this.NAME)) return color;
+        }
+        return this;
+    }
+
     /**
      * toString method of the class that simply returns the NAME attribute of the
      * GameColor object
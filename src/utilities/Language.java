@@ -52,7 +52,7 @@ public class Language {
      * @return the corresponding text
      */
     public static String getText(String identifier) {
-        Scanner scanner = new Scanner(Language.class.getResourceAsStream(file));
+        Scanner scanner = new Scanner(Language.class.getResourceAsStream(file), "UTF-8");
         String s ="";
         String ret ="";
         while (scanner.hasNextLine() && !s.split("=")[0].trim().equals(identifier.trim())){